@@ -0,0 +1,32 @@
+package com.weatherapp;
+
+// Pollutant concentrations from /air_pollution, in μg/m³
+public final class AirQuality {
+    private final double co;
+    private final double no2;
+    private final double so2;
+    private final double pm25;
+
+    public AirQuality(double co, double no2, double so2, double pm25) {
+        this.co = co;
+        this.no2 = no2;
+        this.so2 = so2;
+        this.pm25 = pm25;
+    }
+
+    public double getCo() {
+        return co;
+    }
+
+    public double getNo2() {
+        return no2;
+    }
+
+    public double getSo2() {
+        return so2;
+    }
+
+    public double getPm25() {
+        return pm25;
+    }
+}
@@ -0,0 +1,479 @@
+package com.weatherapp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+// Authoritative in-memory copy of weather_data.json with a write-behind writer.
+// Mutations only touch memory and schedule a write; a background thread coalesces
+// everything that changed within writeDelay into one compact, atomically renamed file.
+// The new file is always fsynced before the rename, so the rename can never point at data
+// that is not on disk. The rename itself (the directory) is fsynced at most once per
+// fsyncInterval (0 fsyncs every write), at the latest one interval after the last write,
+// and always on close.
+//
+// In journal mode each mutation is appended to a log next to the snapshot instead, so its
+// cost does not grow with the number of items; appends are fsynced under the same interval.
+// Startup replays the log on top of the snapshot, and the log is folded into a new
+// snapshot once it holds compactThreshold records.
+// Every mutation carries a sequence number and the snapshot records the last one it
+// includes, so a crash between writing the snapshot and truncating the log is harmless.
+public class AppStateStore implements Closeable {
+    private final Path file;
+    private final long writeDelayMillis;
+    private final long fsyncIntervalNanos;
+    private final StateJournal journal;
+    private final int compactThreshold;
+    private final ScheduledExecutorService writer;
+    private final AtomicBoolean writeScheduled = new AtomicBoolean();
+    private final Queue<JSONObject> pendingRecords = new ConcurrentLinkedQueue<>();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder fsyncs = new LongAdder();
+    private final LongAdder journalAppends = new LongAdder();
+    private final LongAdder compactions = new LongAdder();
+    private final LatencyHistogram writeLatency = new LatencyHistogram();
+
+    // Guarded by this
+    private final List<String> todoItems = new ArrayList<>();
+    private final List<String> suggestions = new ArrayList<>();
+    private WeatherSnapshot weather;
+    private JSONObject legacyWeather;
+    private long version;
+    private long writtenVersion;
+    private boolean loaded;
+    private final List<JSONObject> earlyRecords = new ArrayList<>();
+
+    // Writer thread only
+    private long lastFsyncNanos;
+    private boolean unsynced;
+    private boolean syncScheduled;
+    private int journalRecords;
+
+    // Snapshot mode: journal is null
+    public AppStateStore(Path file, long writeDelayMillis, long fsyncIntervalMillis, StateJournal journal,
+                         int compactThreshold) {
+        this.file = file;
+        this.writeDelayMillis = writeDelayMillis;
+        this.fsyncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(fsyncIntervalMillis);
+        this.journal = journal;
+        this.compactThreshold = compactThreshold;
+        this.lastFsyncNanos = System.nanoTime();
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "weather-state-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public AppStateStore(Path file, long writeDelayMillis, long fsyncIntervalMillis) {
+        this(file, writeDelayMillis, fsyncIntervalMillis, null, 0);
+    }
+
+    public AppStateStore(WeatherConfig config) {
+        this(Path.of(config.getStateFile()), config.getStateWriteDelayMillis(), config.getStateFsyncIntervalMillis(),
+                config.isJournalPersistence() ? new StateJournal(Path.of(config.getStateFile() + ".journal")) : null,
+                config.getJournalCompactThreshold());
+    }
+
+    // Read the file once (plus the journal in journal mode), replacing the in-memory state;
+    // a missing or corrupt file gives empty state. Nothing is written before this has run,
+    // and mutations made while it was loading are re-applied on top of the loaded state.
+    public void load() {
+        JSONObject json = new JSONObject();
+        try {
+            if (Files.exists(file)) {
+                json = new JSONObject(Files.readString(file, StandardCharsets.UTF_8));
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            // Silent fail on loading - will create new data
+        }
+        List<JSONObject> records = journal != null ? journal.readRecords() : List.of();
+        boolean damaged = journal != null && journal.isDamaged();
+
+        synchronized (this) {
+            todoItems.clear();
+            suggestions.clear();
+            addStrings(json.optJSONArray("todoItems"), todoItems);
+            addStrings(json.optJSONArray("suggestions"), suggestions);
+
+            weather = null;
+            legacyWeather = null;
+            JSONObject weatherJson = json.optJSONObject("weather");
+            if (weatherJson != null) {
+                try {
+                    if (weatherJson.has("current")) {
+                        weather = WeatherSnapshot.fromJson(weatherJson);
+                    } else {
+                        legacyWeather = weatherJson;
+                    }
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }
+            version = json.optLong("version");
+            writtenVersion = version;
+
+            // Replay mutations the snapshot does not include yet, up to the first one that
+            // cannot be applied; it and everything after it are dropped like a torn tail
+            for (JSONObject record : records) {
+                try {
+                    long seq = record.getLong("seq");
+                    if (seq > version) {
+                        apply(record);
+                        version = seq;
+                    }
+                } catch (RuntimeException e) {
+                    System.err.println("Ignoring damaged journal record: " + e.getMessage());
+                    damaged = true;
+                    break;
+                }
+            }
+
+            // Mutations made before the load finished go on top, renumbered after the loaded ones
+            for (JSONObject record : earlyRecords) {
+                apply(record);
+                record.put("seq", ++version);
+            }
+            loaded = true;
+        }
+
+        int replayed = records.size();
+        boolean rewrite = damaged;
+        writer.execute(() -> {
+            journalRecords = replayed;
+            if (rewrite) {
+                compact(); // Fold the good records into a snapshot and cut the damage out of the log
+            }
+        });
+        if (!earlyRecords.isEmpty()) {
+            earlyRecords.clear();
+            scheduleWrite();
+        }
+    }
+
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    private static void addStrings(JSONArray array, List<String> target) {
+        if (array != null) {
+            for (int i = 0; i < array.length(); i++) {
+                target.add(array.getString(i));
+            }
+        }
+    }
+
+    public synchronized List<String> getTodoItems() {
+        return new ArrayList<>(todoItems);
+    }
+
+    public synchronized List<String> getSuggestions() {
+        return new ArrayList<>(suggestions);
+    }
+
+    // Last saved snapshot, or null when none (or only a legacy text entry) was stored
+    public synchronized WeatherSnapshot getWeather() {
+        return weather;
+    }
+
+    // Weather object in the text format written by older versions, or null
+    public synchronized JSONObject getLegacyWeather() {
+        return legacyWeather;
+    }
+
+    public void addTodoItem(String item) {
+        mutate(record("addTodo").put("item", item));
+    }
+
+    public void removeTodoItem(int index) {
+        mutate(record("removeTodo").put("index", index));
+    }
+
+    public void setSuggestions(List<String> items) {
+        mutate(record("setSuggestions").put("items", new JSONArray(items)));
+    }
+
+    public void removeSuggestion(int index) {
+        mutate(record("removeSuggestion").put("index", index));
+    }
+
+    public void setWeather(WeatherSnapshot snapshot) {
+        mutate(record("setWeather").put("weather", snapshot.toJson()));
+    }
+
+    private static JSONObject record(String op) {
+        return new JSONObject().put("op", op);
+    }
+
+    // Apply a mutation in memory and hand it to the writer
+    private void mutate(JSONObject record) {
+        synchronized (this) {
+            apply(record);
+            record.put("seq", ++version);
+            if (journal != null) {
+                pendingRecords.add(record);
+            }
+            if (!loaded) {
+                earlyRecords.add(record);
+            }
+        }
+        scheduleWrite();
+    }
+
+    // Shared by live mutations and journal replay so both produce the same state
+    private void apply(JSONObject record) {
+        switch (record.getString("op")) {
+            case "addTodo":
+                todoItems.add(record.getString("item"));
+                break;
+            case "removeTodo":
+                removeAt(todoItems, record.getInt("index"));
+                break;
+            case "setSuggestions":
+                List<String> items = new ArrayList<>();
+                addStrings(record.getJSONArray("items"), items); // Throws before anything changes
+                suggestions.clear();
+                suggestions.addAll(items);
+                break;
+            case "removeSuggestion":
+                removeAt(suggestions, record.getInt("index"));
+                break;
+            case "setWeather":
+                weather = WeatherSnapshot.fromJson(record.getJSONObject("weather"));
+                legacyWeather = null;
+                break;
+            default:
+                System.err.println("Ignoring unknown state mutation: " + record.getString("op"));
+        }
+    }
+
+    private static void removeAt(List<String> list, int index) {
+        if (index >= 0 && index < list.size()) {
+            list.remove(index);
+        }
+    }
+
+    // Number of snapshot files written and fsyncs issued so far
+    public long getWriteCount() {
+        return writes.sum();
+    }
+
+    public long getFsyncCount() {
+        return fsyncs.sum();
+    }
+
+    // Journal batches appended and compactions into a snapshot so far
+    public long getJournalAppendCount() {
+        return journalAppends.sum();
+    }
+
+    public long getCompactionCount() {
+        return compactions.sum();
+    }
+
+    // Duration of each snapshot write or journal append, serialisation and fsync included
+    public LatencyHistogram getWriteLatency() {
+        return writeLatency;
+    }
+
+    // Coalesce every mutation within writeDelay into one background write
+    private void scheduleWrite() {
+        if (writeScheduled.compareAndSet(false, true)) {
+            writer.schedule(() -> {
+                writeScheduled.set(false);
+                persist(false);
+            }, writeDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Write pending changes and fsync them; blocks until the data is on disk
+    public void flush() {
+        try {
+            writer.submit(() -> persist(true)).get();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void persist(boolean forceSync) {
+        if (!isLoaded()) {
+            return; // Writing now would overwrite state that has not been read yet
+        }
+        if (journal == null) {
+            writeSnapshot(forceSync);
+        } else {
+            appendJournal(forceSync);
+        }
+        scheduleTrailingSync();
+    }
+
+    // After a write that was not synced, sync once the interval has passed, so the last
+    // changes reach the disk even when nothing is written after them
+    private void scheduleTrailingSync() {
+        if (!unsynced || syncScheduled) {
+            return;
+        }
+        syncScheduled = true;
+        long delayNanos = Math.max(0, fsyncIntervalNanos - (System.nanoTime() - lastFsyncNanos));
+        writer.schedule(() -> {
+            syncScheduled = false;
+            if (unsynced) {
+                persist(true);
+            }
+        }, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void appendJournal(boolean forceSync) {
+        List<String> batch = new ArrayList<>();
+        JSONObject record;
+        while ((record = pendingRecords.poll()) != null) {
+            batch.add(record.toString());
+        }
+
+        long start = System.nanoTime();
+        try {
+            boolean sync = forceSync || System.nanoTime() - lastFsyncNanos >= fsyncIntervalNanos;
+            if (!batch.isEmpty()) {
+                journal.append(batch, sync);
+                journalAppends.increment();
+                journalRecords += batch.size();
+            } else if (sync && unsynced) {
+                journal.sync();
+            } else {
+                return;
+            }
+            if (sync) {
+                lastFsyncNanos = System.nanoTime();
+                fsyncs.increment();
+            }
+            unsynced = !sync;
+            writeLatency.recordNanos(System.nanoTime() - start);
+
+            // Fold the log into a snapshot once replaying it would cost more than reading one
+            if (journalRecords >= compactThreshold) {
+                compact();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void compact() {
+        if (!writeSnapshot(true)) {
+            return;
+        }
+        try {
+            journal.truncate();
+            journalRecords = 0;
+            compactions.increment();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // Returns false only when the write failed
+    private boolean writeSnapshot(boolean forceSync) {
+        JSONObject json = new JSONObject();
+        long snapshotVersion;
+        boolean unchanged;
+        synchronized (this) {
+            unchanged = journal == null && version == writtenVersion;
+            snapshotVersion = version;
+            if (!unchanged) {
+                json.put("version", version);
+                json.put("todoItems", new JSONArray(todoItems));
+                json.put("suggestions", new JSONArray(suggestions));
+                if (weather != null) {
+                    json.put("weather", weather.toJson());
+                } else if (legacyWeather != null) {
+                    json.put("weather", legacyWeather);
+                }
+            }
+        }
+        if (unchanged) {
+            if (forceSync && unsynced) {
+                syncDirectory(); // The file is on disk already; only its rename may not be
+            }
+            return true;
+        }
+
+        // Serialize outside the lock, then write and fsync a temp file and rename it, so a
+        // crash leaves either the old file or the new one, never a torn or empty one
+        long start = System.nanoTime();
+        byte[] content = json.toString().getBytes(StandardCharsets.UTF_8);
+        boolean sync = forceSync || System.nanoTime() - lastFsyncNanos >= fsyncIntervalNanos;
+        try {
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (journal != null) {
+                forceDirectory(); // The journal is truncated next, so the new snapshot must be durable
+            } else if (sync) {
+                syncDirectory();
+            } else {
+                unsynced = true; // Until the directory is synced a crash may bring back the previous file
+            }
+            synchronized (this) {
+                writtenVersion = snapshotVersion;
+            }
+            writes.increment();
+            writeLatency.recordNanos(System.nanoTime() - start);
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    // Make the last rename of the snapshot durable
+    private void syncDirectory() {
+        forceDirectory();
+        lastFsyncNanos = System.nanoTime();
+        fsyncs.increment();
+        unsynced = false;
+    }
+
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(file.toAbsolutePath().getParent(), StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Some platforms, e.g. Windows, cannot open a directory; the rename is as durable as it gets there
+        }
+    }
+
+    // Flush outstanding changes with an fsync and stop the writer thread
+    @Override
+    public void close() {
+        flush();
+        writer.shutdown();
+        if (journal != null) {
+            journal.close();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.weatherapp;
+
+import java.util.concurrent.TimeUnit;
+
+// Consecutive-failure circuit breaker. After failureThreshold failures in a row
+// it opens and sheds requests for openDuration, then lets one trial request
+// through (half-open); that trial closes the circuit again or re-opens it.
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+    private String lastFailure = "none";
+    private long shedCount;
+
+    public CircuitBreaker(int failureThreshold, long openDuration, TimeUnit unit) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = unit.toNanos(openDuration);
+    }
+
+    // Ask permission for a request; throws while the circuit is open
+    public synchronized void acquirePermission() throws CircuitOpenException {
+        if (state == State.OPEN) {
+            long elapsed = System.nanoTime() - openedAt;
+            if (elapsed < openNanos) {
+                shedCount++;
+                throw new CircuitOpenException(TimeUnit.NANOSECONDS.toMillis(openNanos - elapsed), lastFailure);
+            }
+            state = State.HALF_OPEN;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                shedCount++;
+                throw new CircuitOpenException(0, lastFailure);
+            }
+            trialInFlight = true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        if (state != State.CLOSED) {
+            state = State.CLOSED;
+        }
+    }
+
+    public synchronized void onFailure(String reason) {
+        lastFailure = reason;
+        consecutiveFailures++;
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            openedAt = System.nanoTime();
+            state = State.OPEN;
+        }
+    }
+
+    // Outcome that says nothing about upstream health, e.g. a cancelled request
+    public synchronized void onIgnored() {
+        trialInFlight = false;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized long getShedCount() {
+        return shedCount;
+    }
+
+    public synchronized String getLastFailure() {
+        return lastFailure;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return state + " failures=" + consecutiveFailures + " shed=" + shedCount;
+    }
+}
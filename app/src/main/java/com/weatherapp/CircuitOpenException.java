@@ -0,0 +1,18 @@
+package com.weatherapp;
+
+import java.io.IOException;
+
+// Request shed without touching the network because the circuit breaker is open
+public class CircuitOpenException extends IOException {
+    private final long retryInMillis;
+
+    public CircuitOpenException(long retryInMillis, String lastFailure) {
+        super("Circuit open: weather service unavailable, retrying in " + Math.max(1, retryInMillis / 1000) +
+                "s (last failure: " + lastFailure + ")");
+        this.retryInMillis = retryInMillis;
+    }
+
+    public long getRetryInMillis() {
+        return retryInMillis;
+    }
+}
@@ -0,0 +1,72 @@
+package com.weatherapp;
+
+// Fields of a /weather response that the app uses
+public final class CurrentConditions {
+    private final double temperature;
+    private final int humidity;
+    private final double windSpeed;
+    private final int conditionId;
+    private final String conditionMain;
+    private final String conditionDescription;
+    private final double lat;
+    private final double lon;
+    private final long observedAtMillis;
+
+    public CurrentConditions(double temperature, int humidity, double windSpeed, int conditionId,
+                             String conditionMain, String conditionDescription, double lat, double lon) {
+        this(temperature, humidity, windSpeed, conditionId, conditionMain, conditionDescription, lat, lon, 0);
+    }
+
+    public CurrentConditions(double temperature, int humidity, double windSpeed, int conditionId,
+                             String conditionMain, String conditionDescription, double lat, double lon,
+                             long observedAtMillis) {
+        this.temperature = temperature;
+        this.humidity = humidity;
+        this.windSpeed = windSpeed;
+        this.conditionId = conditionId;
+        this.conditionMain = conditionMain;
+        this.conditionDescription = conditionDescription;
+        this.lat = lat;
+        this.lon = lon;
+        this.observedAtMillis = observedAtMillis;
+    }
+
+    public double getTemperature() {
+        return temperature;
+    }
+
+    public int getHumidity() {
+        return humidity;
+    }
+
+    public double getWindSpeed() {
+        return windSpeed;
+    }
+
+    // OpenWeatherMap condition code, e.g. 500 for light rain
+    public int getConditionId() {
+        return conditionId;
+    }
+
+    public String getConditionMain() {
+        return conditionMain;
+    }
+
+    public String getConditionDescription() {
+        return conditionDescription;
+    }
+
+    public double getLat() {
+        return lat;
+    }
+
+    public double getLon() {
+        return lon;
+    }
+
+    // Time of the observation ("dt" in the response), or 0 when unknown. The same
+    // observation is served for several minutes, so this differs from the fetch time.
+    public long getObservedAtMillis() {
+        return observedAtMillis;
+    }
+}
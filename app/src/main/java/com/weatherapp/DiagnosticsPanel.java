@@ -0,0 +1,49 @@
+package com.weatherapp;
+
+import java.awt.BorderLayout;
+import java.awt.Font;
+
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextArea;
+import javax.swing.Timer;
+
+// Live view of WeatherDiagnostics.getReport(), refreshed every second while the panel is
+// showing; nothing is polled once it has been closed
+public class DiagnosticsPanel extends JPanel {
+    private static final int REFRESH_MILLIS = 1000;
+
+    private final WeatherDiagnostics diagnostics;
+    private final JTextArea report = new JTextArea(16, 90);
+    private final Timer refresh;
+
+    public DiagnosticsPanel(WeatherDiagnostics diagnostics) {
+        super(new BorderLayout());
+        this.diagnostics = diagnostics;
+        report.setEditable(false);
+        report.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 13));
+        add(new JScrollPane(report), BorderLayout.CENTER);
+        refresh = new Timer(REFRESH_MILLIS, e -> update());
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        update();
+        refresh.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        refresh.stop();
+        super.removeNotify();
+    }
+
+    private void update() {
+        String text = diagnostics.getReport();
+        if (!text.equals(report.getText())) {
+            report.setText(text);
+            report.setCaretPosition(0);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.weatherapp;
+
+// One forecast row: timestamp, temperature and condition
+public final class ForecastEntry {
+    private final String timestamp;
+    private final double temperature;
+    private final int conditionId;
+    private final String conditionMain;
+    private final String conditionDescription;
+
+    public ForecastEntry(String timestamp, double temperature, int conditionId,
+                         String conditionMain, String conditionDescription) {
+        this.timestamp = timestamp;
+        this.temperature = temperature;
+        this.conditionId = conditionId;
+        this.conditionMain = conditionMain;
+        this.conditionDescription = conditionDescription;
+    }
+
+    // Forecast time as reported in dt_txt, e.g. "2024-05-01 12:00:00"
+    public String getTimestamp() {
+        return timestamp;
+    }
+
+    public double getTemperature() {
+        return temperature;
+    }
+
+    public int getConditionId() {
+        return conditionId;
+    }
+
+    public String getConditionMain() {
+        return conditionMain;
+    }
+
+    public String getConditionDescription() {
+        return conditionDescription;
+    }
+}
@@ -0,0 +1,129 @@
+package com.weatherapp;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.json.JSONObject;
+
+// Persistent city -> coordinates index so /air_pollution never waits for a /weather lookup.
+// The file is loaded in the background on first use and rewritten whenever new cities appear.
+public class GeocodingCache {
+    private final Path file;
+    private final Executor ioExecutor;
+    private final Map<String, Coordinates> coordinates = new ConcurrentHashMap<>();
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
+    private volatile CompletableFuture<Void> loaded;
+
+    public GeocodingCache(Path file, Executor ioExecutor) {
+        this.file = file;
+        this.ioExecutor = ioExecutor;
+    }
+
+    // Start loading the index in the background; safe to call more than once
+    public synchronized CompletableFuture<Void> load() {
+        if (loaded == null) {
+            loaded = CompletableFuture.runAsync(this::readFile, ioExecutor);
+        }
+        return loaded;
+    }
+
+    // Known coordinates for a city, or null if it has never been looked up. Never blocks:
+    // until the file has been read only coordinates recorded since startup are known.
+    public Coordinates lookup(String city) {
+        load();
+        return coordinates.get(normalize(city));
+    }
+
+    // Remember the coordinates from a /weather response
+    public void record(String city, double lat, double lon) {
+        Coordinates previous = coordinates.put(normalize(city), new Coordinates(lat, lon));
+        if (previous == null || previous.getLat() != lat || previous.getLon() != lon) {
+            scheduleSave();
+        }
+    }
+
+    public int size() {
+        return coordinates.size();
+    }
+
+    private void readFile() {
+        try {
+            if (Files.exists(file)) {
+                JSONObject json = new JSONObject(Files.readString(file, StandardCharsets.UTF_8));
+                for (String city : json.keySet()) {
+                    JSONObject coord = json.getJSONObject(city);
+                    coordinates.putIfAbsent(city, new Coordinates(coord.getDouble("lat"), coord.getDouble("lon")));
+                }
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            // Silent fail - the index is rebuilt from future /weather responses
+        }
+    }
+
+    // Coalesce bursts of new cities into one background write
+    private void scheduleSave() {
+        if (saveScheduled.compareAndSet(false, true)) {
+            try {
+                load().thenRunAsync(() -> {
+                    saveScheduled.set(false);
+                    writeFile();
+                }, ioExecutor);
+            } catch (RejectedExecutionException e) {
+                saveScheduled.set(false); // Shutting down or saturated; the next record retries
+            }
+        }
+    }
+
+    private void writeFile() {
+        JSONObject json = new JSONObject();
+        for (Map.Entry<String, Coordinates> entry : coordinates.entrySet()) {
+            JSONObject coord = new JSONObject();
+            coord.put("lat", entry.getValue().getLat());
+            coord.put("lon", entry.getValue().getLon());
+            json.put(entry.getKey(), coord);
+        }
+
+        // Write to a temp file and rename so a crash never leaves a torn index
+        try {
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(temp, json.toString(), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static String normalize(String city) {
+        return city.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Latitude/longitude pair as reported in the /weather "coord" object
+    public static final class Coordinates {
+        private final double lat;
+        private final double lon;
+
+        public Coordinates(double lat, double lon) {
+            this.lat = lat;
+            this.lon = lon;
+        }
+
+        public double getLat() {
+            return lat;
+        }
+
+        public double getLon() {
+            return lon;
+        }
+    }
+}
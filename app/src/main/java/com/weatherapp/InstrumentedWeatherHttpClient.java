@@ -0,0 +1,103 @@
+package com.weatherapp;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+
+// Decorates a WeatherHttpClient with per-endpoint metrics: latency of every exchange,
+// time spent reading and parsing the body, body size, and errors by HTTP status.
+// Wrapped by ResilientWeatherHttpClient, so each retry attempt is measured on its own.
+public class InstrumentedWeatherHttpClient implements WeatherHttpClient {
+    private final WeatherHttpClient delegate;
+    private final WeatherMetrics metrics;
+
+    public InstrumentedWeatherHttpClient(WeatherHttpClient delegate, WeatherMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public <T> T get(URI uri, BodyReader<T> reader) throws IOException {
+        WeatherMetrics.EndpointMetrics endpoint = metrics.endpoint(endpointName(uri));
+        TimedBody<T> body = new TimedBody<>(reader);
+        long start = System.nanoTime();
+        try {
+            T result = delegate.get(uri, body);
+            endpoint.recordResponse(System.nanoTime() - start, body.readNanos, body.bytes);
+            return result;
+        } catch (WeatherApiException e) {
+            endpoint.recordError(System.nanoTime() - start);
+            metrics.recordError(e.getStatusCode());
+            throw e;
+        } catch (InterruptedIOException e) {
+            throw e; // Cancelled by the caller, not a failure of the API
+        } catch (IOException | RuntimeException e) {
+            endpoint.recordError(System.nanoTime() - start);
+            metrics.recordError(WeatherMetrics.NO_RESPONSE);
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    // Last path segment, e.g. "weather" for /data/2.5/weather
+    private static String endpointName(URI uri) {
+        String path = uri.getPath();
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        int end = path.endsWith("/") ? path.length() - 1 : path.length();
+        return path.substring(path.lastIndexOf('/', end - 1) + 1, end);
+    }
+
+    // Hands the body to the real reader, timing it and counting the bytes it consumes
+    private static final class TimedBody<T> implements BodyReader<T> {
+        private final BodyReader<T> reader;
+        long readNanos;
+        long bytes;
+
+        TimedBody(BodyReader<T> reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public T read(InputStream body) throws IOException {
+            long start = System.nanoTime();
+            try {
+                return reader.read(new FilterInputStream(body) {
+                    @Override
+                    public int read() throws IOException {
+                        int b = super.read();
+                        if (b >= 0) {
+                            bytes++;
+                        }
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] buffer, int offset, int length) throws IOException {
+                        int n = super.read(buffer, offset, length);
+                        if (n > 0) {
+                            bytes += n;
+                        }
+                        return n;
+                    }
+
+                    @Override
+                    public long skip(long n) throws IOException {
+                        long skipped = super.skip(n);
+                        bytes += skipped;
+                        return skipped;
+                    }
+                });
+            } finally {
+                readNanos = System.nanoTime() - start;
+            }
+        }
+    }
+}
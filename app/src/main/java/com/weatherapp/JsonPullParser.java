@@ -0,0 +1,397 @@
+package com.weatherapp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Minimal streaming JSON reader. It pulls tokens straight from the response stream
+// through one fixed buffer, so skipped subtrees are never materialised and field
+// names are matched in place without allocating Strings.
+public final class JsonPullParser {
+
+    // Kinds of token returned by peek()
+    public enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+
+    private static final int IN_ARRAY = 0;
+    private static final int IN_OBJECT_NAME = 1;
+    private static final int IN_OBJECT_VALUE = 2;
+
+    private final Reader in;
+    private final char[] buffer = new char[4096];
+    private int pos;
+    private int limit;
+
+    // Nesting stack of container states
+    private int[] stack = new int[16];
+    private int depth;
+
+    // Reusable storage for the current name, string or number
+    private char[] scratch = new char[64];
+    private int scratchLength;
+
+    public JsonPullParser(Reader in) {
+        this.in = in;
+    }
+
+    public JsonPullParser(InputStream in) {
+        this(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    // Type of the next token, without consuming it
+    public Token peek() throws IOException {
+        int c = nextSignificant();
+        switch (c) {
+            case -1:
+                return Token.END_DOCUMENT;
+            case '{':
+                return Token.BEGIN_OBJECT;
+            case '}':
+                return Token.END_OBJECT;
+            case '[':
+                return Token.BEGIN_ARRAY;
+            case ']':
+                return Token.END_ARRAY;
+            case '"':
+                return depth > 0 && stack[depth - 1] == IN_OBJECT_NAME ? Token.NAME : Token.STRING;
+            case 't':
+            case 'f':
+                return Token.BOOLEAN;
+            case 'n':
+                return Token.NULL;
+            default:
+                return Token.NUMBER;
+        }
+    }
+
+    // True while the current object or array has more members
+    public boolean hasNext() throws IOException {
+        Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    public void beginObject() throws IOException {
+        expect('{');
+        push(IN_OBJECT_NAME);
+    }
+
+    public void endObject() throws IOException {
+        expect('}');
+        pop();
+    }
+
+    public void beginArray() throws IOException {
+        expect('[');
+        push(IN_ARRAY);
+    }
+
+    public void endArray() throws IOException {
+        expect(']');
+        pop();
+    }
+
+    // Read the next member name and return its index in names, or -1 if it is not listed
+    public int nextName(String[] names) throws IOException {
+        if (peek() != Token.NAME) {
+            throw syntaxError("Expected a name");
+        }
+        pos++;
+        readStringIntoScratch();
+        skipColon();
+        stack[depth - 1] = IN_OBJECT_VALUE;
+        for (int i = 0; i < names.length; i++) {
+            if (scratchEquals(names[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public String nextString() throws IOException {
+        Token token = peek();
+        if (token == Token.NUMBER) {
+            readNumberIntoScratch();
+        } else if (token == Token.STRING) {
+            pos++;
+            readStringIntoScratch();
+        } else {
+            throw syntaxError("Expected a string but was " + token);
+        }
+        valueConsumed();
+        return new String(scratch, 0, scratchLength);
+    }
+
+    public double nextDouble() throws IOException {
+        Token token = peek();
+        if (token == Token.STRING) {
+            pos++;
+            readStringIntoScratch();
+        } else if (token == Token.NUMBER) {
+            readNumberIntoScratch();
+        } else {
+            throw syntaxError("Expected a number but was " + token);
+        }
+        valueConsumed();
+        return parseScratchAsDouble();
+    }
+
+    public int nextInt() throws IOException {
+        double value = nextDouble();
+        return (int) value;
+    }
+
+    // Skip the next value, including whole objects and arrays, without building it
+    public void skipValue() throws IOException {
+        Token token = peek();
+        switch (token) {
+            case BEGIN_OBJECT:
+            case BEGIN_ARRAY:
+                skipContainer();
+                break;
+            case STRING:
+                pos++;
+                skipString();
+                break;
+            case NAME:
+                throw syntaxError("Expected a value but was a name");
+            case END_OBJECT:
+            case END_ARRAY:
+            case END_DOCUMENT:
+                throw syntaxError("Expected a value but was " + token);
+            default:
+                skipLiteral();
+                break;
+        }
+        valueConsumed();
+    }
+
+    private void push(int state) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = state;
+    }
+
+    private void pop() {
+        depth--;
+        valueConsumed();
+    }
+
+    // After a value inside an object the next string is a name again
+    private void valueConsumed() {
+        if (depth > 0 && stack[depth - 1] == IN_OBJECT_VALUE) {
+            stack[depth - 1] = IN_OBJECT_NAME;
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        if (nextSignificant() != expected) {
+            throw syntaxError("Expected '" + expected + "'");
+        }
+        pos++;
+    }
+
+    private void skipColon() throws IOException {
+        int c = nextNonWhitespace();
+        if (c != ':') {
+            throw syntaxError("Expected ':'");
+        }
+        pos++;
+    }
+
+    // Next char that is not whitespace or a separating comma; does not consume it
+    private int nextSignificant() throws IOException {
+        while (true) {
+            int c = nextNonWhitespace();
+            if (c != ',') {
+                return c;
+            }
+            pos++;
+        }
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        while (true) {
+            if (pos == limit && !fill()) {
+                return -1;
+            }
+            char c = buffer[pos];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+            pos++;
+        }
+    }
+
+    private boolean fill() throws IOException {
+        int read = in.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        pos = 0;
+        limit = read;
+        return true;
+    }
+
+    private int read() throws IOException {
+        if (pos == limit && !fill()) {
+            throw syntaxError("Unexpected end of input");
+        }
+        return buffer[pos++];
+    }
+
+    // Read string contents after the opening quote, decoding escapes
+    private void readStringIntoScratch() throws IOException {
+        scratchLength = 0;
+        while (true) {
+            int c = read();
+            if (c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                c = readEscape();
+            }
+            appendScratch((char) c);
+        }
+    }
+
+    private int readEscape() throws IOException {
+        int c = read();
+        switch (c) {
+            case 'n':
+                return '\n';
+            case 't':
+                return '\t';
+            case 'r':
+                return '\r';
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throw syntaxError("Malformed unicode escape");
+                    }
+                    value = (value << 4) | digit;
+                }
+                return value;
+            default:
+                return c; // \" \\ \/
+        }
+    }
+
+    private void readNumberIntoScratch() throws IOException {
+        scratchLength = 0;
+        while (pos < limit || fill()) {
+            char c = buffer[pos];
+            if ((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E') {
+                appendScratch(c);
+                pos++;
+            } else {
+                break;
+            }
+        }
+        if (scratchLength == 0) {
+            throw syntaxError("Expected a number");
+        }
+    }
+
+    private void skipString() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                read();
+            }
+        }
+    }
+
+    private void skipLiteral() throws IOException {
+        while (pos < limit || fill()) {
+            char c = buffer[pos];
+            if (c == ',' || c == '}' || c == ']' || c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    // Scan past a whole object or array by counting brackets outside strings
+    private void skipContainer() throws IOException {
+        int nesting = 0;
+        do {
+            int c = read();
+            if (c == '{' || c == '[') {
+                nesting++;
+            } else if (c == '}' || c == ']') {
+                nesting--;
+            } else if (c == '"') {
+                skipString();
+            }
+        } while (nesting > 0);
+    }
+
+    private void appendScratch(char c) {
+        if (scratchLength == scratch.length) {
+            scratch = Arrays.copyOf(scratch, scratchLength * 2);
+        }
+        scratch[scratchLength++] = c;
+    }
+
+    private boolean scratchEquals(String name) {
+        if (name.length() != scratchLength) {
+            return false;
+        }
+        for (int i = 0; i < scratchLength; i++) {
+            if (scratch[i] != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Plain integers are parsed in place; anything with a fraction or exponent
+    // goes through Double.parseDouble so results match the org.json path exactly
+    private double parseScratchAsDouble() throws IOException {
+        boolean negative = scratchLength > 0 && scratch[0] == '-';
+        long value = 0;
+        int i = negative ? 1 : 0;
+        if (i < scratchLength && scratchLength - i <= 15) {
+            for (; i < scratchLength; i++) {
+                char c = scratch[i];
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                value = value * 10 + (c - '0');
+            }
+            if (i == scratchLength) {
+                return negative ? -(double) value : value;
+            }
+        }
+        try {
+            return Double.parseDouble(new String(scratch, 0, scratchLength));
+        } catch (NumberFormatException e) {
+            throw syntaxError("Malformed number");
+        }
+    }
+
+    private IOException syntaxError(String message) {
+        return new MalformedJsonException("JSON syntax error: " + message);
+    }
+
+    // Response body that is not valid JSON or lacks a required field
+    public static class MalformedJsonException extends IOException {
+        public MalformedJsonException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.weatherapp;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+// Aho–Corasick matcher that finds the best keyword in a text in one pass.
+// Matching is case-insensitive by folding each character as it is scanned, so the
+// text is never copied. When several keywords occur, the winner is chosen by:
+//   1. a match starting at a word boundary beats one inside a word ("go" in "go" vs "cargo"),
+//   2. then the longer keyword ("groceries" beats "go", "cloudy" beats "cloud"),
+//   3. then the earlier match in the text,
+//   4. then the keyword declared first in the map.
+public final class KeywordMatcher<V> {
+    private static final int ASCII = 128;
+
+    private final String[] keywords;
+    private final List<V> values;
+    private final int[] asciiGoto;      // Full transition table for ASCII input
+    private final char[][] otherChars;  // Sorted non-ASCII trie edges per node
+    private final int[][] otherTargets;
+    private final int[] failure;
+    private final int[][] outputs;      // Keyword indices ending at each node, including via failure links
+
+    private KeywordMatcher(String[] keywords, List<V> values, int[] asciiGoto, char[][] otherChars,
+                           int[][] otherTargets, int[] failure, int[][] outputs) {
+        this.keywords = keywords;
+        this.values = values;
+        this.asciiGoto = asciiGoto;
+        this.otherChars = otherChars;
+        this.otherTargets = otherTargets;
+        this.failure = failure;
+        this.outputs = outputs;
+    }
+
+    // Compile keywords once; iteration order of the map breaks ties between equal matches
+    public static <V> KeywordMatcher<V> compile(Map<String, V> keywordValues) {
+        String[] keywords = new String[keywordValues.size()];
+        List<V> values = new ArrayList<>(keywordValues.size());
+
+        // Build the trie over folded characters
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        children.add(new TreeMap<>());
+        ends.add(new ArrayList<>());
+        int index = 0;
+        for (Map.Entry<String, V> entry : keywordValues.entrySet()) {
+            String keyword = entry.getKey();
+            keywords[index] = keyword;
+            values.add(entry.getValue());
+            int node = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = fold(keyword.charAt(i));
+                Integer next = children.get(node).get(c);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    ends.add(new ArrayList<>());
+                    children.get(node).put(c, next);
+                }
+                node = next;
+            }
+            if (!keyword.isEmpty()) {
+                ends.get(node).add(index);
+            }
+            index++;
+        }
+
+        int nodes = children.size();
+        int[] failure = new int[nodes];
+        int[] asciiGoto = new int[nodes * ASCII];
+        char[][] otherChars = new char[nodes][];
+        int[][] otherTargets = new int[nodes][];
+        int[][] outputs = new int[nodes][];
+
+        // Breadth-first: a node's failure link and outputs depend only on shallower nodes
+        Queue<Integer> queue = new ArrayDeque<>();
+        queue.add(0);
+        while (!queue.isEmpty()) {
+            int node = queue.remove();
+            int fail = failure[node];
+
+            List<Integer> out = new ArrayList<>(ends.get(node));
+            if (node != 0) {
+                for (int inherited : outputs[fail]) {
+                    out.add(inherited);
+                }
+            }
+            outputs[node] = out.stream().mapToInt(Integer::intValue).toArray();
+
+            // ASCII transitions: trie edge if present, otherwise the failure node's transition
+            for (int c = 0; c < ASCII; c++) {
+                Integer child = children.get(node).get((char) c);
+                if (child != null) {
+                    failure[child] = node == 0 ? 0 : asciiGoto[fail * ASCII + c];
+                    asciiGoto[node * ASCII + c] = child;
+                    queue.add(child);
+                } else {
+                    asciiGoto[node * ASCII + c] = node == 0 ? 0 : asciiGoto[fail * ASCII + c];
+                }
+            }
+
+            // Non-ASCII edges are kept sparse and resolved through failure links while scanning
+            List<Map.Entry<Character, Integer>> other = new ArrayList<>(children.get(node).tailMap((char) ASCII).entrySet());
+            otherChars[node] = new char[other.size()];
+            otherTargets[node] = new int[other.size()];
+            for (int i = 0; i < other.size(); i++) {
+                char c = other.get(i).getKey();
+                int child = other.get(i).getValue();
+                otherChars[node][i] = c;
+                otherTargets[node][i] = child;
+                failure[child] = node == 0 ? 0 : nonAsciiStep(fail, c, otherChars, otherTargets, failure);
+                queue.add(child);
+            }
+        }
+
+        return new KeywordMatcher<>(keywords, values, asciiGoto, otherChars, otherTargets, failure, outputs);
+    }
+
+    // Value of the best keyword in text, or null when none occurs
+    public V findBest(CharSequence text) {
+        return findBest(text, 0, text.length());
+    }
+
+    // Value of the best keyword in text[start, end), treated as if it were the whole text
+    public V findBest(CharSequence text, int start, int end) {
+        int best = -1;
+        int bestRank = -1;
+        int bestStart = 0;
+        int state = 0;
+
+        for (int i = start; i < end; i++) {
+            char c = fold(text.charAt(i));
+            state = c < ASCII ? asciiGoto[state * ASCII + c] : nonAsciiStep(state, c, otherChars, otherTargets, failure);
+
+            for (int keyword : outputs[state]) {
+                int length = keywords[keyword].length();
+                int matchStart = i - length + 1;
+                // Word-start matches rank above all mid-word ones, then longer keywords rank higher
+                int rank = (isWordStart(text, start, matchStart) ? 1 << 20 : 0) + length;
+                if (rank > bestRank || (rank == bestRank && matchStart == bestStart && keyword < best)) {
+                    best = keyword;
+                    bestRank = rank;
+                    bestStart = matchStart;
+                }
+            }
+        }
+        return best < 0 ? null : values.get(best);
+    }
+
+    // Value of the best keyword in text, or fallback when none occurs
+    public V findBest(CharSequence text, V fallback) {
+        V value = findBest(text);
+        return value != null ? value : fallback;
+    }
+
+    // Bit i is set when the i-th declared keyword occurs anywhere in text (first 64 keywords only)
+    public long matchMask(CharSequence text) {
+        long mask = 0;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = fold(text.charAt(i));
+            state = c < ASCII ? asciiGoto[state * ASCII + c] : nonAsciiStep(state, c, otherChars, otherTargets, failure);
+            for (int keyword : outputs[state]) {
+                if (keyword < Long.SIZE) {
+                    mask |= 1L << keyword;
+                }
+            }
+        }
+        return mask;
+    }
+
+    private static int nonAsciiStep(int state, char c, char[][] otherChars, int[][] otherTargets, int[] failure) {
+        while (true) {
+            char[] edges = otherChars[state];
+            int found = edges == null ? -1 : Arrays.binarySearch(edges, c);
+            if (found >= 0) {
+                return otherTargets[state][found];
+            }
+            if (state == 0) {
+                return 0;
+            }
+            state = failure[state];
+        }
+    }
+
+    private static boolean isWordStart(CharSequence text, int regionStart, int start) {
+        return start == regionStart || !Character.isLetterOrDigit(text.charAt(start - 1));
+    }
+
+    private static char fold(char c) {
+        if (c < ASCII) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+}
@@ -0,0 +1,89 @@
+package com.weatherapp;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Lock-free latency histogram with fixed log-scale buckets, so memory stays
+// constant however many samples are recorded. Each power of two is split into
+// SUB_BUCKETS buckets, which bounds the percentile error to about 9%.
+public class LatencyHistogram {
+    private static final int SUB_BUCKETS = 8;
+    private static final int MAX_POWER = 40; // ~18 minutes in microseconds
+
+    private final AtomicLongArray buckets = new AtomicLongArray(MAX_POWER * SUB_BUCKETS + 1);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    // Record one sample measured with System.nanoTime()
+    public void recordNanos(long nanos) {
+        long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+        buckets.incrementAndGet(bucketFor(micros));
+        count.increment();
+        sumMicros.add(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getMeanMillis() {
+        long samples = count.sum();
+        return samples == 0 ? 0 : sumMicros.sum() / 1000.0 / samples;
+    }
+
+    public double getMaxMillis() {
+        return maxMicros.get() / 1000.0;
+    }
+
+    // Upper bound of the bucket holding the given percentile (0-100), in milliseconds
+    public double percentileMillis(double percentile) {
+        long samples = count.sum();
+        if (samples == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(samples * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBoundMicros(i), maxMicros.get()) / 1000.0;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.1fms p50=%.1fms p99=%.1fms max=%.1fms",
+                getCount(), getMeanMillis(), percentileMillis(50), percentileMillis(99), getMaxMillis());
+    }
+
+    private static int bucketFor(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int power = 63 - Long.numberOfLeadingZeros(micros);
+        if (power >= MAX_POWER) {
+            return MAX_POWER * SUB_BUCKETS;
+        }
+        // Next three bits below the leading one select the sub-bucket
+        int sub = (int) ((micros >>> (power - 3)) & (SUB_BUCKETS - 1));
+        return (power - 2) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBoundMicros(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int power = bucket / SUB_BUCKETS + 2;
+        int sub = bucket % SUB_BUCKETS;
+        if (power >= MAX_POWER + 2) {
+            return Long.MAX_VALUE;
+        }
+        return ((long) (SUB_BUCKETS + sub + 1) << (power - 3)) - 1;
+    }
+}
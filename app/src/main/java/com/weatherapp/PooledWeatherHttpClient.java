@@ -0,0 +1,275 @@
+package com.weatherapp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// WeatherHttpClient backed by one shared java.net.http.HttpClient.
+// The client keeps a keep-alive connection pool, negotiates HTTP/2 when the
+// server offers it and falls back to HTTP/1.1 otherwise. The request timeout bounds
+// the whole exchange: HttpClient times the wait for the response headers, and a
+// watchdog closes a body that is still being read when the rest of it has run out.
+public class PooledWeatherHttpClient implements WeatherHttpClient {
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final ScheduledThreadPoolExecutor watchdog;
+
+    public PooledWeatherHttpClient(Duration connectTimeout, Duration requestTimeout) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.requestTimeout = requestTimeout;
+        this.watchdog = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "weather-http-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watchdog.setRemoveOnCancelPolicy(true); // Most bodies finish long before their deadline
+    }
+
+    public PooledWeatherHttpClient(WeatherConfig config) {
+        this(config.getConnectTimeout(), config.getRequestTimeout());
+    }
+
+    @Override
+    public <T> T get(URI uri, BodyReader<T> reader) throws IOException {
+        long deadline = System.nanoTime() + requestTimeout.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        // Send asynchronously so an interrupted caller can abort the exchange
+        CompletableFuture<HttpResponse<Flow.Publisher<List<ByteBuffer>>>> pending =
+                client.sendAsync(request, HttpResponse.BodyHandlers.ofPublisher());
+        HttpResponse<Flow.Publisher<List<ByteBuffer>>> response;
+        try {
+            response = pending.get();
+        } catch (InterruptedException e) {
+            pending.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Request aborted: " + uri.getPath());
+        } catch (ExecutionException e) {
+            throw new IOException("Connection failed: " + e.getCause(), e.getCause());
+        }
+
+        // A body read to the end returns the connection to the pool; closing it early drops the connection
+        BodyStream body = new BodyStream();
+        response.body().subscribe(body);
+        try (body) {
+            if (response.statusCode() != 200) {
+                long retryAfter = response.headers().firstValue("Retry-After")
+                        .map(PooledWeatherHttpClient::parseRetryAfter).orElse(-1L);
+                throw new WeatherApiException(response.statusCode(), retryAfter);
+            }
+            return readBefore(deadline, uri, body, reader);
+        }
+    }
+
+    // Read the body, closing it if the deadline passes first; the blocked read then fails
+    private <T> T readBefore(long deadline, URI uri, InputStream body, BodyReader<T> reader) throws IOException {
+        AtomicBoolean expired = new AtomicBoolean();
+        ScheduledFuture<?> timeout = watchdog.schedule(() -> {
+            expired.set(true);
+            try {
+                body.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }, Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        try {
+            return reader.read(body);
+        } catch (IOException | RuntimeException e) {
+            // The DOM parser reports a failed read as a JSONException; the interrupt flag tells
+            if (!(e instanceof InterruptedIOException) && Thread.currentThread().isInterrupted()) {
+                InterruptedIOException cancelled = new InterruptedIOException("Request aborted: " + uri.getPath());
+                cancelled.initCause(e);
+                throw cancelled;
+            }
+            if (expired.get()) {
+                throw new HttpTimeoutException("Response body not received within " + requestTimeout.toMillis() +
+                        " ms: " + uri.getPath());
+            }
+            throw e;
+        } finally {
+            timeout.cancel(false);
+        }
+    }
+
+    // Response body as an InputStream. Unlike the stream of BodyHandlers.ofInputStream, which
+    // on JDK 17 swallows interrupts while it waits for data, a blocked read here ends with an
+    // InterruptedIOException and leaves the thread interrupted, so a cancelled fetch stops
+    // reading at once. Closing the stream cancels the exchange and wakes a blocked reader.
+    private static final class BodyStream extends InputStream implements Flow.Subscriber<List<ByteBuffer>> {
+        private static final List<ByteBuffer> END = new ArrayList<>(0);
+
+        private final BlockingQueue<List<ByteBuffer>> received = new LinkedBlockingQueue<>();
+        private volatile Flow.Subscription subscription;
+        private volatile Throwable failure;
+        private volatile boolean closed;
+
+        // Reading thread only
+        private Iterator<ByteBuffer> buffers = Collections.emptyIterator();
+        private ByteBuffer current;
+        private boolean finished;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (closed) {
+                subscription.cancel();
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            failure = throwable;
+            subscription = null;
+            received.add(END);
+        }
+
+        @Override
+        public void onComplete() {
+            subscription = null; // Nothing left to cancel; the connection goes back to the pool
+            received.add(END);
+        }
+
+        // Buffer with data left, waiting for the next one if needed; null at the end of the body
+        private ByteBuffer current() throws IOException {
+            while (current == null || !current.hasRemaining()) {
+                if (closed) {
+                    throw new IOException("closed");
+                }
+                if (buffers.hasNext()) {
+                    current = buffers.next();
+                    continue;
+                }
+                if (finished) {
+                    return null;
+                }
+
+                List<ByteBuffer> next;
+                try {
+                    next = received.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Body read interrupted");
+                }
+                if (next == END) {
+                    finished = true;
+                    if (failure != null && !closed) {
+                        throw new IOException(String.valueOf(failure.getMessage()), failure);
+                    }
+                } else {
+                    buffers = next.iterator();
+                    Flow.Subscription s = subscription;
+                    if (s != null) {
+                        s.request(1);
+                    }
+                }
+            }
+            return current;
+        }
+
+        @Override
+        public int read() throws IOException {
+            ByteBuffer buffer = current();
+            return buffer != null ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            Objects.checkFromIndexSize(offset, length, bytes.length);
+            if (length == 0) {
+                return 0;
+            }
+            ByteBuffer buffer = current();
+            if (buffer == null) {
+                return -1;
+            }
+            int n = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return current != null ? current.remaining() : 0;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            Flow.Subscription s = subscription;
+            if (s != null) {
+                s.cancel();
+            }
+            received.add(END);
+        }
+    }
+
+    // Retry-After is either delta-seconds or an HTTP date
+    private static long parseRetryAfter(String value) {
+        try {
+            return TimeUnit.SECONDS.toMillis(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime date = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(date.getZone()), date).toMillis());
+            } catch (DateTimeParseException ignored) {
+                return -1;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        watchdog.shutdownNow();
+        // HttpClient only became AutoCloseable in JDK 21; on older runtimes idle
+        // pooled connections are reaped once the client is unreachable
+        if (client instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) client).close();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
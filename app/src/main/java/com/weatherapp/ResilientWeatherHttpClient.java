@@ -0,0 +1,128 @@
+package com.weatherapp;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Decorates a WeatherHttpClient with the client-side protections the API plan needs:
+// every attempt passes the circuit breaker and takes a rate-limiter token, and
+// 429/5xx or connection failures are retried with jittered exponential backoff
+// that honours Retry-After.
+public class ResilientWeatherHttpClient implements WeatherHttpClient {
+    private final WeatherHttpClient delegate;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    public ResilientWeatherHttpClient(WeatherHttpClient delegate, TokenBucketRateLimiter rateLimiter,
+                                      CircuitBreaker circuitBreaker, int maxAttempts,
+                                      long baseDelayMillis, long maxDelayMillis) {
+        this.delegate = delegate;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    public ResilientWeatherHttpClient(WeatherHttpClient delegate, WeatherConfig config) {
+        this(delegate,
+                new TokenBucketRateLimiter(config.getRateLimitPerMinute(), config.getRateLimitBurst()),
+                new CircuitBreaker(config.getCircuitFailureThreshold(), config.getCircuitOpenSeconds(),
+                        TimeUnit.SECONDS),
+                config.getRetryMaxAttempts(), config.getRetryBaseDelayMillis(), config.getRetryMaxDelayMillis());
+    }
+
+    @Override
+    public <T> T get(URI uri, BodyReader<T> reader) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            circuitBreaker.acquirePermission();
+            try {
+                rateLimiter.acquire();
+            } catch (InterruptedIOException e) {
+                circuitBreaker.onIgnored();
+                throw e;
+            }
+
+            try {
+                T result = delegate.get(uri, reader);
+                circuitBreaker.onSuccess();
+                return result;
+            } catch (WeatherApiException e) {
+                if (!e.isRetryable()) {
+                    // 4xx means the upstream is healthy; the request itself is bad
+                    circuitBreaker.onSuccess();
+                    throw e;
+                }
+                circuitBreaker.onFailure("HTTP " + e.getStatusCode());
+                if (attempt >= maxAttempts || !sleepBeforeRetry(attempt, e.getRetryAfterMillis())) {
+                    throw e;
+                }
+            } catch (InterruptedIOException | JsonPullParser.MalformedJsonException e) {
+                circuitBreaker.onIgnored();
+                throw e;
+            } catch (IOException e) {
+                if (isCancellation(e)) {
+                    // Interrupted while reading the body; the stream reports that as a plain IOException
+                    circuitBreaker.onIgnored();
+                    InterruptedIOException cancelled = new InterruptedIOException("Request aborted: " + uri.getPath());
+                    cancelled.initCause(e);
+                    throw cancelled;
+                }
+                circuitBreaker.onFailure(String.valueOf(e.getMessage()));
+                if (attempt >= maxAttempts || !sleepBeforeRetry(attempt, -1)) {
+                    throw e;
+                }
+            } catch (RuntimeException e) {
+                // Parser failure on a response that did arrive
+                circuitBreaker.onIgnored();
+                throw e;
+            }
+        }
+    }
+
+    // True when an IOException is how a blocked read reported that its thread was interrupted
+    private static boolean isCancellation(IOException e) {
+        return Thread.currentThread().isInterrupted() || e.getCause() instanceof InterruptedException;
+    }
+
+    // Full-jitter exponential backoff, replaced by Retry-After when the server sent one.
+    // Returns false when the requested delay is longer than we are willing to wait.
+    private boolean sleepBeforeRetry(int attempt, long retryAfterMillis) throws InterruptedIOException {
+        long delay;
+        if (retryAfterMillis >= 0) {
+            if (retryAfterMillis > maxDelayMillis) {
+                return false;
+            }
+            delay = retryAfterMillis;
+        } else {
+            long ceiling = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 20));
+            delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        }
+
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted during retry backoff");
+        }
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public TokenBucketRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
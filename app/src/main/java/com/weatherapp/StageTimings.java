@@ -0,0 +1,70 @@
+package com.weatherapp;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ObjLongConsumer;
+
+// Thread-safe collection of named stage durations, measured from a common start
+public class StageTimings {
+    private final long startNanos;
+    private final Map<String, Long> durations = new ConcurrentHashMap<>();
+    private final CopyOnWriteArrayList<String> order = new CopyOnWriteArrayList<>();
+
+    public StageTimings() {
+        this.startNanos = System.nanoTime();
+    }
+
+    // Run a stage and record how long it took, even if it fails
+    public <T> T time(String stage, Callable<T> work) throws Exception {
+        long stageStart = System.nanoTime();
+        try {
+            return work.call();
+        } finally {
+            record(stage, System.nanoTime() - stageStart);
+        }
+    }
+
+    // Record a stage duration in nanoseconds
+    public void record(String stage, long nanos) {
+        durations.put(stage, nanos);
+        order.addIfAbsent(stage);
+    }
+
+    // Record a stage as the time elapsed since these timings were created
+    public void mark(String stage) {
+        record(stage, System.nanoTime() - startNanos);
+    }
+
+    // Duration of one stage in milliseconds, or -1 if it never ran
+    public long millis(String stage) {
+        Long nanos = durations.get(stage);
+        return nanos == null ? -1 : TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    // Pass each stage and its duration in nanoseconds, in the order the stages were first recorded
+    public void forEach(ObjLongConsumer<String> action) {
+        for (String stage : order) {
+            action.accept(stage, durations.get(stage));
+        }
+    }
+
+    // Time elapsed since these timings were created, in milliseconds
+    public long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder();
+        for (String stage : order) {
+            if (summary.length() > 0) {
+                summary.append(' ');
+            }
+            summary.append(stage).append('=').append(millis(stage)).append("ms");
+        }
+        return summary.toString();
+    }
+}
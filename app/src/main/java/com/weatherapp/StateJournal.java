@@ -0,0 +1,108 @@
+package com.weatherapp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+// Append-only log of state mutations, one compact JSON record per line.
+// Only the writer thread of AppStateStore touches it.
+public class StateJournal {
+    private final Path file;
+    private FileChannel channel;
+    private boolean damaged;
+
+    public StateJournal(Path file) {
+        this.file = file;
+    }
+
+    // All complete records in the file; a torn final line from a crash is dropped
+    public List<JSONObject> readRecords() {
+        damaged = false;
+        List<JSONObject> records = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                try {
+                    records.add(new JSONObject(line));
+                } catch (JSONException e) {
+                    System.err.println("Ignoring damaged journal record in " + file + ": " + e.getMessage());
+                    damaged = true;
+                    break;
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // No journal yet
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return records;
+    }
+
+    // True when the last readRecords stopped at a damaged line; the file must be truncated
+    // before anything is appended, or the new records would follow the damage and be lost
+    public boolean isDamaged() {
+        return damaged;
+    }
+
+    // Append records in order, forcing them to disk when sync is set
+    public void append(List<String> records, boolean sync) throws IOException {
+        StringBuilder batch = new StringBuilder();
+        for (String record : records) {
+            batch.append(record).append('\n');
+        }
+
+        FileChannel out = channel();
+        ByteBuffer buffer = ByteBuffer.wrap(batch.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        if (sync) {
+            out.force(false);
+        }
+    }
+
+    public void sync() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+        }
+    }
+
+    // Drop every record; called once a snapshot containing them is safely on disk
+    public void truncate() throws IOException {
+        channel().truncate(0);
+        channel.force(true);
+    }
+
+    public void close() {
+        try {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private FileChannel channel() throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+}
@@ -0,0 +1,226 @@
+package com.weatherapp;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+// A suggestion rule set compiled into flat arrays over typed weather fields.
+// Rules are evaluated in file order; every rule whose predicates all hold adds its
+// suggestions, except that within a named group only the first matching rule fires
+// (an if / else-if chain). Condition keywords of all rules share one KeywordMatcher,
+// so the condition text is scanned once per evaluation, and nothing but the output
+// list is allocated.
+//
+// Rule file format:
+//   {"rules": [
+//     {"group": "temperature",                       optional, first match wins
+//      "when": {"condition": ["rain", "shower"],     any keyword in main or description
+//               "temperature": {"gt": 25, "lte": 30}, also humidity, windSpeed, conditionId
+//              },                                     optional, all must hold
+//      "suggest": ["🏞️ Nice weather for outdoor activities"]}
+//   ]}
+public final class SuggestionRules {
+    private static final String[] FIELDS = {"temperature", "humidity", "windSpeed", "conditionId"};
+    private static final int TEMPERATURE = 0;
+    private static final int HUMIDITY = 1;
+    private static final int WIND_SPEED = 2;
+    private static final int CONDITION_ID = 3;
+
+    private final KeywordMatcher<Integer> keywords;
+    private final long[] ruleKeywords;   // Keyword bits of each rule; 0 when it has no condition predicate
+    private final int[] ruleGroups;      // Group index of each rule, or -1
+    private final int[] checkStart;      // Numeric checks of rule r are checkStart[r] until checkStart[r + 1]
+    private final int[] checkFields;
+    private final double[] checkLow;     // Inclusive bounds; strict bounds are stored as the adjacent double
+    private final double[] checkHigh;
+    private final String[][] ruleSuggestions;
+
+    private SuggestionRules(KeywordMatcher<Integer> keywords, long[] ruleKeywords, int[] ruleGroups,
+                            int[] checkStart, int[] checkFields, double[] checkLow, double[] checkHigh,
+                            String[][] ruleSuggestions) {
+        this.keywords = keywords;
+        this.ruleKeywords = ruleKeywords;
+        this.ruleGroups = ruleGroups;
+        this.checkStart = checkStart;
+        this.checkFields = checkFields;
+        this.checkLow = checkLow;
+        this.checkHigh = checkHigh;
+        this.ruleSuggestions = ruleSuggestions;
+    }
+
+    // Compile a rule file; fails on unknown fields or operators so a typo does not silently disable a rule
+    public static SuggestionRules compile(JSONObject ruleFile) {
+        JSONArray rules = ruleFile.getJSONArray("rules");
+        Map<String, Integer> keywordIds = new LinkedHashMap<>();
+        Map<String, Integer> groupIds = new LinkedHashMap<>();
+        long[] ruleKeywords = new long[rules.length()];
+        int[] ruleGroups = new int[rules.length()];
+        int[] checkStart = new int[rules.length() + 1];
+        List<Integer> fields = new ArrayList<>();
+        List<Double> lows = new ArrayList<>();
+        List<Double> highs = new ArrayList<>();
+        String[][] ruleSuggestions = new String[rules.length()][];
+
+        for (int r = 0; r < rules.length(); r++) {
+            JSONObject rule = rules.getJSONObject(r);
+            String group = rule.optString("group", null);
+            ruleGroups[r] = group == null ? -1 : groupIds.computeIfAbsent(group, g -> groupIds.size());
+            if (groupIds.size() > Long.SIZE) {
+                throw new JSONException("At most " + Long.SIZE + " rule groups are supported");
+            }
+
+            checkStart[r] = fields.size();
+            JSONObject when = rule.optJSONObject("when");
+            if (when != null) {
+                for (String key : when.keySet()) {
+                    if (key.equals("condition")) {
+                        JSONArray words = when.getJSONArray(key);
+                        for (int i = 0; i < words.length(); i++) {
+                            int id = keywordIds.computeIfAbsent(words.getString(i), w -> keywordIds.size());
+                            if (id >= Long.SIZE) {
+                                throw new JSONException("At most " + Long.SIZE + " condition keywords are supported");
+                            }
+                            ruleKeywords[r] |= 1L << id;
+                        }
+                        if (words.length() == 0) {
+                            throw new JSONException("Rule " + r + ": empty condition list");
+                        }
+                    } else {
+                        fields.add(fieldIndex(key, r));
+                        double[] bounds = bounds(when.getJSONObject(key), r);
+                        lows.add(bounds[0]);
+                        highs.add(bounds[1]);
+                    }
+                }
+            }
+
+            JSONArray suggest = rule.getJSONArray("suggest");
+            ruleSuggestions[r] = new String[suggest.length()];
+            for (int i = 0; i < suggest.length(); i++) {
+                ruleSuggestions[r][i] = suggest.getString(i);
+            }
+        }
+        checkStart[rules.length()] = fields.size();
+
+        int[] checkFields = new int[fields.size()];
+        double[] checkLow = new double[fields.size()];
+        double[] checkHigh = new double[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            checkFields[i] = fields.get(i);
+            checkLow[i] = lows.get(i);
+            checkHigh[i] = highs.get(i);
+        }
+        return new SuggestionRules(KeywordMatcher.compile(keywordIds), ruleKeywords, ruleGroups, checkStart,
+                checkFields, checkLow, checkHigh, ruleSuggestions);
+    }
+
+    // Append the suggestions for the given conditions, in rule order
+    public void evaluate(CurrentConditions current, List<String> out) {
+        long matched = 0;
+        if (current.getConditionMain() != null) {
+            matched |= keywords.matchMask(current.getConditionMain());
+        }
+        if (current.getConditionDescription() != null) {
+            matched |= keywords.matchMask(current.getConditionDescription());
+        }
+
+        long firedGroups = 0;
+        for (int r = 0; r < ruleSuggestions.length; r++) {
+            int group = ruleGroups[r];
+            if (group >= 0 && (firedGroups & (1L << group)) != 0) {
+                continue;
+            }
+            if (ruleKeywords[r] != 0 && (ruleKeywords[r] & matched) == 0) {
+                continue;
+            }
+            if (!checksHold(r, current)) {
+                continue;
+            }
+
+            if (group >= 0) {
+                firedGroups |= 1L << group;
+            }
+            for (String suggestion : ruleSuggestions[r]) {
+                out.add(suggestion);
+            }
+        }
+    }
+
+    public List<String> evaluate(CurrentConditions current) {
+        List<String> suggestions = new ArrayList<>();
+        evaluate(current, suggestions);
+        return suggestions;
+    }
+
+    public int size() {
+        return ruleSuggestions.length;
+    }
+
+    // NaN never satisfies a range, as with the comparison operators it replaces
+    private boolean checksHold(int rule, CurrentConditions current) {
+        for (int i = checkStart[rule]; i < checkStart[rule + 1]; i++) {
+            double value;
+            switch (checkFields[i]) {
+                case TEMPERATURE:
+                    value = current.getTemperature();
+                    break;
+                case HUMIDITY:
+                    value = current.getHumidity();
+                    break;
+                case WIND_SPEED:
+                    value = current.getWindSpeed();
+                    break;
+                default:
+                    value = current.getConditionId();
+                    break;
+            }
+            if (!(value >= checkLow[i] && value <= checkHigh[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int fieldIndex(String name, int rule) {
+        for (int i = 0; i < FIELDS.length; i++) {
+            if (FIELDS[i].equals(name)) {
+                return i;
+            }
+        }
+        throw new JSONException("Rule " + rule + ": unknown field '" + name + "'");
+    }
+
+    // {"gt": a, "gte": b, "lt": c, "lte": d} as an inclusive [low, high] range
+    private static double[] bounds(JSONObject range, int rule) {
+        double low = Double.NEGATIVE_INFINITY;
+        double high = Double.POSITIVE_INFINITY;
+        Iterator<String> operators = range.keys();
+        while (operators.hasNext()) {
+            String operator = operators.next();
+            double limit = range.getDouble(operator);
+            switch (operator) {
+                case "gt":
+                    low = Math.max(low, Math.nextUp(limit));
+                    break;
+                case "gte":
+                    low = Math.max(low, limit);
+                    break;
+                case "lt":
+                    high = Math.min(high, Math.nextDown(limit));
+                    break;
+                case "lte":
+                    high = Math.min(high, limit);
+                    break;
+                default:
+                    throw new JSONException("Rule " + rule + ": unknown operator '" + operator + "'");
+            }
+        }
+        return new double[]{low, high};
+    }
+}
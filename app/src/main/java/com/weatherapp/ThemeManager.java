@@ -0,0 +1,137 @@
+package com.weatherapp;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Applies the weather theme to the components registered with it. The palette for a
+// condition is resolved with one keyword scan, applying the palette already shown is a
+// no-op, and a colour is only set on a component whose colour differs, so a refresh
+// with unchanged weather repaints nothing. Used on the EDT only.
+public class ThemeManager {
+    // What a component takes from the palette
+    public enum Role {
+        SURFACE,    // background
+        TEXT,       // background and foreground
+        FIELD,      // brighter background and foreground
+        BUTTON      // accent background, black text
+    }
+
+    // Condition keywords in priority order: rain beats snow beats clear, and so on
+    private static final Map<String, ThemePalette> KEYWORD_PALETTES = new LinkedHashMap<>();
+    private static final ThemePalette[] PALETTE_BY_KEYWORD;
+    private static final KeywordMatcher<ThemePalette> MATCHER;
+
+    static {
+        KEYWORD_PALETTES.put("rain", ThemePalette.RAIN);
+        KEYWORD_PALETTES.put("shower", ThemePalette.RAIN);
+        KEYWORD_PALETTES.put("snow", ThemePalette.SNOW);
+        KEYWORD_PALETTES.put("clear", ThemePalette.CLEAR);
+        KEYWORD_PALETTES.put("sunny", ThemePalette.CLEAR);
+        KEYWORD_PALETTES.put("cloud", ThemePalette.CLOUD);
+        KEYWORD_PALETTES.put("fog", ThemePalette.FOG);
+        KEYWORD_PALETTES.put("mist", ThemePalette.FOG);
+        PALETTE_BY_KEYWORD = KEYWORD_PALETTES.values().toArray(new ThemePalette[0]);
+        MATCHER = KeywordMatcher.compile(KEYWORD_PALETTES);
+    }
+
+    private final List<Component> components = new ArrayList<>();
+    private final List<Role> roles = new ArrayList<>();
+    private ThemePalette current;
+    // Written on the EDT only; volatile so diagnostics can read them from any thread
+    private volatile long applies;
+    private volatile long skipped;
+    private volatile long colorChanges;
+
+    public void register(Component component, Role role) {
+        components.add(component);
+        roles.add(role);
+        if (current != null) {
+            applyTo(component, role, current);
+        }
+    }
+
+    // Palette for a weather condition; the highest-priority keyword present wins
+    public static ThemePalette paletteFor(String weatherCondition) {
+        long matched = MATCHER.matchMask(weatherCondition);
+        return matched == 0 ? ThemePalette.defaultPalette() : PALETTE_BY_KEYWORD[Long.numberOfTrailingZeros(matched)];
+    }
+
+    public void apply(String weatherCondition) {
+        apply(paletteFor(weatherCondition));
+    }
+
+    public void apply(ThemePalette palette) {
+        if (palette == current) {
+            skipped++;
+            return;
+        }
+        current = palette;
+        applies++;
+        for (int i = 0; i < components.size(); i++) {
+            applyTo(components.get(i), roles.get(i), palette);
+        }
+    }
+
+    public ThemePalette getCurrent() {
+        return current;
+    }
+
+    // Palettes applied to the components
+    public long getApplies() {
+        return applies;
+    }
+
+    // Requests for the palette already shown, which changed nothing
+    public long getSkipped() {
+        return skipped;
+    }
+
+    // Colour changes made; each one makes Swing repaint the component
+    public long getColorChanges() {
+        return colorChanges;
+    }
+
+    private void applyTo(Component component, Role role, ThemePalette palette) {
+        switch (role) {
+            case SURFACE:
+                setBackground(component, palette.getBackground());
+                break;
+            case TEXT:
+                setBackground(component, palette.getBackground());
+                setForeground(component, palette.getForeground());
+                break;
+            case FIELD:
+                setBackground(component, palette.getFieldBackground());
+                setForeground(component, palette.getForeground());
+                break;
+            case BUTTON:
+                setBackground(component, palette.getAccent());
+                setForeground(component, Color.BLACK);
+                break;
+        }
+    }
+
+    private void setBackground(Component component, Color color) {
+        if (!color.equals(component.getBackground())) {
+            component.setBackground(color);
+            colorChanges++;
+        }
+    }
+
+    private void setForeground(Component component, Color color) {
+        if (!color.equals(component.getForeground())) {
+            component.setForeground(color);
+            colorChanges++;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("theme=%s components=%d applies=%d skipped=%d colorChanges=%d",
+                current, components.size(), applies, skipped, colorChanges);
+    }
+}
@@ -0,0 +1,86 @@
+package com.weatherapp;
+
+import java.awt.Color;
+
+import javax.swing.UIManager;
+
+// Colours of one weather theme. Palettes are created once and shared, so an unchanged
+// theme can be recognised by identity.
+public final class ThemePalette {
+    public static final ThemePalette RAIN = new ThemePalette("rain",
+            new Color(220, 230, 240),   // Light blue-gray
+            new Color(40, 50, 60),      // Dark blue
+            new Color(30, 144, 255));   // Dodger blue
+    public static final ThemePalette SNOW = new ThemePalette("snow",
+            new Color(245, 245, 255),   // Very light blue
+            new Color(70, 70, 90),      // Dark slate
+            new Color(120, 150, 230));  // Periwinkle
+    public static final ThemePalette CLEAR = new ThemePalette("clear",
+            new Color(255, 250, 230),   // Light yellow
+            new Color(23, 22, 21),      // Dark brown
+            new Color(253, 227, 5));    // Gold
+    public static final ThemePalette CLOUD = new ThemePalette("cloud",
+            new Color(240, 240, 245),   // Light gray
+            new Color(60, 60, 70),      // Dark gray
+            new Color(140, 160, 190));  // Steel blue
+    public static final ThemePalette FOG = new ThemePalette("fog",
+            new Color(230, 230, 230),   // Lighter gray
+            new Color(80, 80, 80),      // Medium gray
+            new Color(180, 180, 190));  // Silver
+
+    private static ThemePalette defaultPalette;
+
+    private final String name;
+    private final Color background;
+    private final Color foreground;
+    private final Color accent;
+    private final Color fieldBackground;
+
+    private ThemePalette(String name, Color background, Color foreground, Color accent) {
+        this.name = name;
+        this.background = background;
+        this.foreground = foreground;
+        this.accent = accent;
+        this.fieldBackground = background.brighter();
+    }
+
+    // Look-and-feel colours with the default blue accent; resolved on first use, after the
+    // look and feel has been installed
+    public static synchronized ThemePalette defaultPalette() {
+        if (defaultPalette == null) {
+            Color background = UIManager.getColor("Panel.background");
+            Color foreground = UIManager.getColor("Label.foreground");
+            defaultPalette = new ThemePalette("default",
+                    background != null ? background : new Color(238, 238, 238),
+                    foreground != null ? foreground : Color.BLACK,
+                    new Color(0, 120, 215));
+        }
+        return defaultPalette;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Color getBackground() {
+        return background;
+    }
+
+    public Color getForeground() {
+        return foreground;
+    }
+
+    public Color getAccent() {
+        return accent;
+    }
+
+    // Background of text fields, a little brighter than the panels around them
+    public Color getFieldBackground() {
+        return fieldBackground;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
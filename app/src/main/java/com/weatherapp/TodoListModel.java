@@ -0,0 +1,255 @@
+package com.weatherapp;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.swing.AbstractListModel;
+
+// To-do items for a JList, kept as plain text in one array. Each row's symbol is looked up
+// the first time the row is rendered and remembered, so loading a large list does no
+// keyword matching, and a bulk load or clear fires a single range event. With a fixed
+// cell size on the JList only visible rows are ever asked for.
+//
+// Every item gets an id that never changes. A search index over the item text is built on
+// the first search, so loading the list at startup does not pay for it, and is updated in
+// place as items come and go from then on. While a filter is set the list shows only the
+// matching items; rows are then positions in that filtered view, and getItemIndex maps a
+// row back to the item's position in the whole list. Used on the EDT only.
+public class TodoListModel extends AbstractListModel<String> {
+    private static final String[] EMPTY = new String[0];
+
+    private final Function<String, String> symbols;
+    private TodoSearchIndex index;      // null until the first search
+    private String[] items = EMPTY;
+    private String[] shown = EMPTY;     // Rendered text, null until first asked for
+    private int[] ids = new int[0];     // Increasing, so an id's position is found by binary search
+    private int size;
+    private int nextId;
+    private long symbolLookups;
+
+    // Filtered view: item positions in list order, or null when no filter is set
+    private String filter;
+    private int[] view;
+    private int viewSize;
+
+    // symbols gives the symbol for an item's text, or null to show the text as it is
+    public TodoListModel(Function<String, String> symbols) {
+        this.symbols = symbols;
+    }
+
+    @Override
+    public int getSize() {
+        return view == null ? size : viewSize;
+    }
+
+    // Item text with its symbol in front
+    @Override
+    public String getElementAt(int row) {
+        int position = getItemIndex(row);
+        String text = shown[position];
+        if (text == null) {
+            String symbol = symbols.apply(items[position]);
+            symbolLookups++;
+            text = symbol == null ? items[position] : symbol + " " + items[position];
+            shown[position] = text;
+        }
+        return text;
+    }
+
+    // Position in the whole list of the item shown at row
+    public int getItemIndex(int row) {
+        if (view == null) {
+            checkIndex(row, size);
+            return row;
+        }
+        checkIndex(row, viewSize);
+        return view[row];
+    }
+
+    // Item text as added, without the symbol
+    public String getItem(int position) {
+        checkIndex(position, size);
+        return items[position];
+    }
+
+    public int getItemCount() {
+        return size;
+    }
+
+    public void add(String item) {
+        ensureCapacity(size + 1);
+        append(item);
+        if (view != null && TodoSearchIndex.matches(item, filter)) {
+            ensureViewCapacity(viewSize + 1);
+            view[viewSize++] = size - 1;
+            fireIntervalAdded(this, viewSize - 1, viewSize - 1);
+        } else if (view == null) {
+            fireIntervalAdded(this, size - 1, size - 1);
+        }
+    }
+
+    // Append all items with one event
+    public void addAll(Collection<String> newItems) {
+        if (newItems.isEmpty()) {
+            return;
+        }
+        int first = size;
+        ensureCapacity(size + newItems.size());
+        for (String item : newItems) {
+            append(item);
+        }
+        if (view != null) {
+            int firstRow = viewSize;
+            ensureViewCapacity(viewSize + newItems.size());
+            for (int position = first; position < size; position++) {
+                if (TodoSearchIndex.matches(items[position], filter)) {
+                    view[viewSize++] = position;
+                }
+            }
+            if (viewSize > firstRow) {
+                fireIntervalAdded(this, firstRow, viewSize - 1);
+            }
+        } else {
+            fireIntervalAdded(this, first, size - 1);
+        }
+    }
+
+    // Replace the contents with one removal and one addition event
+    public void setAll(List<String> newItems) {
+        clear();
+        addAll(newItems);
+    }
+
+    // Remove the item at a position in the whole list
+    public void removeItem(int position) {
+        checkIndex(position, size);
+        if (index != null) {
+            index.remove(ids[position]);
+        }
+        int moved = size - position - 1;
+        System.arraycopy(items, position + 1, items, position, moved);
+        System.arraycopy(shown, position + 1, shown, position, moved);
+        System.arraycopy(ids, position + 1, ids, position, moved);
+        size--;
+        items[size] = null;
+        shown[size] = null;
+
+        if (view == null) {
+            fireIntervalRemoved(this, position, position);
+            return;
+        }
+        // Later items move up by one; drop the row if the item was shown
+        int removedRow = -1;
+        int kept = 0;
+        for (int row = 0; row < viewSize; row++) {
+            int shownPosition = view[row];
+            if (shownPosition == position) {
+                removedRow = row;
+            } else {
+                view[kept++] = shownPosition > position ? shownPosition - 1 : shownPosition;
+            }
+        }
+        viewSize = kept;
+        if (removedRow >= 0) {
+            fireIntervalRemoved(this, removedRow, removedRow);
+        }
+    }
+
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        int lastRow = getSize() - 1;
+        Arrays.fill(items, 0, size, null);
+        Arrays.fill(shown, 0, size, null);
+        size = 0;
+        viewSize = 0;
+        if (index != null) {
+            index.clear();
+        }
+        if (lastRow >= 0) {
+            fireIntervalRemoved(this, 0, lastRow);
+        }
+    }
+
+    // Show only items matching query, as TodoSearchIndex matches them; a blank query shows all
+    public void setFilter(String query) {
+        String newFilter = query == null || query.isBlank() ? null : query;
+        if (newFilter == null ? filter == null : newFilter.equals(filter)) {
+            return;
+        }
+
+        int oldSize = getSize();
+        filter = newFilter;
+        if (filter == null) {
+            view = null;
+            viewSize = 0;
+        } else {
+            if (index == null) {
+                index = new TodoSearchIndex();
+                for (int position = 0; position < size; position++) {
+                    index.add(ids[position], items[position]);
+                }
+            }
+            int[] matched = index.search(filter);
+            view = new int[Math.max(matched.length, 16)];
+            viewSize = 0;
+            for (int id : matched) {
+                view[viewSize++] = Arrays.binarySearch(ids, 0, size, id);
+            }
+        }
+        if (oldSize > 0) {
+            fireIntervalRemoved(this, 0, oldSize - 1);
+        }
+        if (getSize() > 0) {
+            fireIntervalAdded(this, 0, getSize() - 1);
+        }
+    }
+
+    public String getFilter() {
+        return filter;
+    }
+
+    // Rows whose symbol has been looked up; stays near the number of rows shown
+    public long getSymbolLookups() {
+        return symbolLookups;
+    }
+
+    private void append(String item) {
+        items[size] = item;
+        ids[size] = nextId;
+        if (index != null) {
+            index.add(nextId, item);
+        }
+        nextId++;
+        size++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > items.length) {
+            int newLength = Math.max(capacity, Math.max(16, items.length + (items.length >> 1)));
+            items = Arrays.copyOf(items, newLength);
+            shown = Arrays.copyOf(shown, newLength);
+            ids = Arrays.copyOf(ids, newLength);
+        }
+    }
+
+    private void ensureViewCapacity(int capacity) {
+        if (capacity > view.length) {
+            view = Arrays.copyOf(view, Math.max(capacity, view.length + (view.length >> 1)));
+        }
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new ArrayIndexOutOfBoundsException(index + " >= " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "todos=" + size + " shown=" + getSize() + " symbolLookups=" + symbolLookups;
+    }
+}
@@ -0,0 +1,270 @@
+package com.weatherapp;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+// Inverted index over item text, keyed by stable item ids that only ever grow. Every
+// three-character sequence of an item's lower-cased text maps to the sorted ids of the
+// items containing it, and so do the first one and two characters of each word. A query
+// of three or more characters matches items containing it anywhere; a shorter one matches
+// items with a word starting with it. Adding or removing an item touches only the posting
+// lists of its own grams. Not thread-safe.
+public class TodoSearchIndex {
+    private static final long WORD_START = 1L << 48;
+    private static final int MIN_SUBSTRING = 3;
+
+    private final GramTable postings = new GramTable();
+    private String[] texts = new String[16];    // Folded text by id, null when removed
+    private int lastId = -1;
+    private int size;
+
+    // ids must be added in increasing order
+    public void add(int id, String text) {
+        if (id <= lastId) {
+            throw new IllegalArgumentException("id " + id + " is not after " + lastId);
+        }
+        String folded = fold(text);
+        if (id >= texts.length) {
+            texts = Arrays.copyOf(texts, Math.max(id + 1, texts.length * 2));
+        }
+        texts[id] = folded;
+        lastId = id;
+        size++;
+        for (long gram : grams(folded)) {
+            postings.getOrAdd(gram).add(id);
+        }
+    }
+
+    public void remove(int id) {
+        String folded = id < texts.length ? texts[id] : null;
+        if (folded == null) {
+            return;
+        }
+        texts[id] = null;
+        size--;
+        for (long gram : grams(folded)) {
+            Postings list = postings.get(gram);
+            if (list != null) {
+                list.remove(id);
+            }
+        }
+    }
+
+    public void clear() {
+        postings.clear();
+        Arrays.fill(texts, null);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Ids of the items matching query, in increasing order; every item for an empty query
+    public int[] search(String query) {
+        String folded = fold(query);
+        if (folded.isEmpty()) {
+            return allIds();
+        }
+
+        long[] grams = queryGrams(folded);
+        Postings shortest = null;
+        for (long gram : grams) {
+            Postings list = postings.get(gram);
+            if (list == null || list.size == 0) {
+                return new int[0];
+            }
+            if (shortest == null || list.size < shortest.size) {
+                shortest = list;
+            }
+        }
+        if (grams.length == 1) {
+            return Arrays.copyOf(shortest.ids, shortest.size); // The gram is the whole query
+        }
+
+        // Candidates from the rarest gram, checked against their text; that is cheaper than
+        // intersecting lists, and having every trigram does not mean having them in sequence
+        int[] found = new int[shortest.size];
+        int count = 0;
+        for (int i = 0; i < shortest.size; i++) {
+            int id = shortest.ids[i];
+            if (texts[id].contains(folded)) {
+                found[count++] = id;
+            }
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    // Whether text would be found by query, without looking at the index
+    public static boolean matches(String text, String query) {
+        return matchesFolded(fold(text), fold(query));
+    }
+
+    private static boolean matchesFolded(String text, String query) {
+        if (query.isEmpty()) {
+            return true;
+        }
+        if (query.length() >= MIN_SUBSTRING) {
+            return text.contains(query);
+        }
+        for (int i = text.indexOf(query); i >= 0; i = text.indexOf(query, i + 1)) {
+            if (isWordStart(text, i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int[] allIds() {
+        int[] ids = new int[size];
+        int count = 0;
+        for (int id = 0; id <= lastId && count < size; id++) {
+            if (texts[id] != null) {
+                ids[count++] = id;
+            }
+        }
+        return ids;
+    }
+
+    private static String fold(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Distinct grams of an item's folded text
+    private static long[] grams(String text) {
+        int length = text.length();
+        long[] grams = new long[Math.max(0, length - MIN_SUBSTRING + 1) + 2 * length];
+        int count = 0;
+        for (int i = 0; i + MIN_SUBSTRING <= length; i++) {
+            grams[count++] = trigram(text, i);
+        }
+        for (int i = 0; i < length; i++) {
+            if (isWordStart(text, i)) {
+                grams[count++] = WORD_START | text.charAt(i);
+                if (i + 1 < length) {
+                    grams[count++] = wordStart(text.charAt(i), text.charAt(i + 1));
+                }
+            }
+        }
+        Arrays.sort(grams, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || grams[i] != grams[distinct - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    // Grams an item must have to match a folded, non-empty query
+    private static long[] queryGrams(String query) {
+        if (query.length() == 1) {
+            return new long[]{WORD_START | query.charAt(0)};
+        }
+        if (query.length() == 2) {
+            return new long[]{wordStart(query.charAt(0), query.charAt(1))};
+        }
+        long[] grams = new long[query.length() - MIN_SUBSTRING + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = trigram(query, i);
+        }
+        return grams;
+    }
+
+    private static long trigram(String text, int i) {
+        return ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+    }
+
+    // Two-character word start; the high bit keeps it apart from one-character word starts
+    private static long wordStart(char first, char second) {
+        return WORD_START | (1L << 47) | ((long) first << 16) | second;
+    }
+
+    private static boolean isWordStart(String text, int i) {
+        return i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1));
+    }
+
+    // Sorted, growable list of ids
+    private static final class Postings {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        void remove(int id) {
+            int i = Arrays.binarySearch(ids, 0, size, id);
+            if (i >= 0) {
+                System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+                size--;
+            }
+        }
+    }
+
+    // Open-addressing map from gram to postings, without boxing the keys. Emptied lists
+    // are kept, so entries are never removed.
+    private static final class GramTable {
+        private long[] keys = new long[1024];
+        private Postings[] values = new Postings[1024];
+        private int count;
+
+        Postings get(long gram) {
+            int mask = keys.length - 1;
+            for (int i = slot(gram, mask); values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == gram) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        Postings getOrAdd(long gram) {
+            int mask = keys.length - 1;
+            int i = slot(gram, mask);
+            for (; values[i] != null; i = (i + 1) & mask) {
+                if (keys[i] == gram) {
+                    return values[i];
+                }
+            }
+            Postings list = new Postings();
+            keys[i] = gram;
+            values[i] = list;
+            if (++count * 2 > keys.length) {
+                grow();
+            }
+            return list;
+        }
+
+        void clear() {
+            Arrays.fill(values, null);
+            count = 0;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            Postings[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new Postings[oldValues.length * 2];
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldValues[j] != null) {
+                    int i = slot(oldKeys[j], mask);
+                    while (values[i] != null) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = oldKeys[j];
+                    values[i] = oldValues[j];
+                }
+            }
+        }
+
+        private static int slot(long gram, int mask) {
+            long h = gram * 0x9E3779B97F4A7C15L;
+            return (int) (h >>> 40) & mask;
+        }
+    }
+}
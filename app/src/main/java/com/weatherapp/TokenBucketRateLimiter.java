@@ -0,0 +1,53 @@
+package com.weatherapp;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+// Token bucket sized to the API plan: permitsPerMinute tokens per minute with
+// bursts of up to burst tokens. Callers block until a token is available.
+public class TokenBucketRateLimiter {
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucketRateLimiter(int permitsPerMinute, int burst) {
+        this.capacity = Math.max(1, burst);
+        this.tokensPerNano = permitsPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    // Take one token, waiting as long as needed; interruption aborts the wait
+    public void acquire() throws InterruptedIOException {
+        while (true) {
+            long waitNanos;
+            synchronized (this) {
+                refill();
+                if (tokens >= 1) {
+                    tokens -= 1;
+                    return;
+                }
+                waitNanos = (long) Math.ceil((1 - tokens) / tokensPerNano);
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for rate limiter");
+            }
+        }
+    }
+
+    // Tokens currently available, for diagnostics
+    public synchronized double availableTokens() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+}
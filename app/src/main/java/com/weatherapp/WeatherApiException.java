@@ -0,0 +1,33 @@
+package com.weatherapp;
+
+import java.io.IOException;
+
+// Non-200 response from the weather API, carrying the HTTP status code
+public class WeatherApiException extends IOException {
+    private final int statusCode;
+    private final long retryAfterMillis;
+
+    public WeatherApiException(int statusCode) {
+        this(statusCode, -1);
+    }
+
+    public WeatherApiException(int statusCode, long retryAfterMillis) {
+        super("API request failed with response code: " + statusCode);
+        this.statusCode = statusCode;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    // Delay requested by a Retry-After header, or -1 if the server sent none
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+
+    // 429 and 5xx are worth retrying; other statuses will not change on their own
+    public boolean isRetryable() {
+        return statusCode == 429 || statusCode >= 500;
+    }
+}
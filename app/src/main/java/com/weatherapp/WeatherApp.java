@@ -0,0 +1,632 @@
+package com.weatherapp;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONObject;
+
+public class WeatherApp {
+    // API and configuration constants
+    private static final WeatherConfig CONFIG = WeatherConfig.load();
+
+    // Bounded (or virtual-thread) executor for background tasks
+    private final WeatherExecutor executorService = WeatherExecutor.create(CONFIG);
+
+    // Per-endpoint HTTP, error and EDT measurements
+    private final WeatherMetrics metrics = new WeatherMetrics();
+
+    // Shared keep-alive HTTP client and concurrent fetch of all weather endpoints
+    private final ResilientWeatherHttpClient httpClient = new ResilientWeatherHttpClient(
+            new InstrumentedWeatherHttpClient(new PooledWeatherHttpClient(CONFIG), metrics), CONFIG);
+    private final WeatherResponseCache responseCache = new WeatherResponseCache(CONFIG, executorService);
+    private final GeocodingCache geocodingCache = new GeocodingCache(Path.of(CONFIG.getGeocodingFile()), executorService);
+    private final WeatherFetchPipeline fetchPipeline =
+            new WeatherFetchPipeline(CONFIG, httpClient, responseCache, geocodingCache, executorService, metrics);
+
+    // In-memory to-do items, suggestions and last weather, written to disk in the background
+    private final AppStateStore stateStore = new AppStateStore(CONFIG);
+
+    // Every fetched observation, per city, for trends and post-mortems
+    private final WeatherHistoryStore historyStore = new WeatherHistoryStore(Path.of(CONFIG.getHistoryDirectory()));
+
+    // All metrics in one place, over JMX and in the diagnostics window
+    private final WeatherDiagnostics diagnostics = new WeatherDiagnostics(metrics, responseCache,
+            httpClient.getCircuitBreaker(), stateStore, executorService);
+
+    // Preferred width of a to-do row; rows are as wide as the list
+    private static final int TODO_CELL_WIDTH = 320;
+
+    // Weather icons, rendered in the background on first use
+    private static final int WEATHER_ICON_SIZE = 128;
+    private final WeatherIconCache iconCache = new WeatherIconCache(executorService, CONFIG.getIconCacheBytes());
+    private final WeatherSuggestions weatherSuggestions = new WeatherSuggestions(CONFIG);
+
+    // Weather colours for the registered components, reapplied only when the palette changes
+    private final ThemeManager themeManager = new ThemeManager();
+
+    // Swing components
+    private JFrame frame;
+    private JTextField cityField;
+    private WeatherView weatherView;
+    private DefaultListModel<String> suggestionsListModel;
+    private JList<String> suggestionsList;
+
+    // To-Do List components
+    private TodoListModel todoListModel;
+    private JList<String> todoList;
+    private JTextField todoInputField;
+    private JTextField todoSearchField;
+
+    // Weather icon component
+    private JLabel weatherIconLabel;
+    private JProgressBar progressBar;
+    private JDialog diagnosticsDialog;
+
+    // Latest weather request; only its generation may update the UI (EDT only)
+    private int requestGeneration;
+    private CompletableFuture<WeatherReport> activeFetch;
+
+    // Startup phases measured from main(); printed once all of them have happened (EDT only)
+    private final StageTimings startupTimings;
+    private int startupPhasesPending = 3; // first_paint, state_loaded, icons_ready
+
+    // Condition the icon label should show once its icon is rendered (EDT only)
+    private String iconCondition;
+
+    // Constructor
+    public WeatherApp(StageTimings startupTimings) {
+        this.startupTimings = startupTimings;
+        metrics.monitorEventDispatchThread();
+        diagnostics.register();
+
+        // Start loading known city coordinates in the background
+        geocodingCache.load();
+
+        // Warm the icon cache in the background; the frame does not wait for it
+        iconCache.get("default", WEATHER_ICON_SIZE).whenComplete((icon, error) -> {
+            if (error != null) {
+                error.printStackTrace();
+            }
+            startupTimings.mark("icons_ready");
+            SwingUtilities.invokeLater(this::startupPhaseDone);
+        });
+
+        // Create main frame
+        frame = new JFrame("Weather App");
+        frame.setSize(800, 800);
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                shutdown();
+            }
+        });
+        frame.setContentPane(new JPanel(new BorderLayout()) {
+            @Override
+            public void paint(Graphics g) {
+                super.paint(g);
+                if (startupTimings.millis("first_paint") < 0) {
+                    startupTimings.mark("first_paint");
+                    startupPhaseDone();
+                }
+            }
+        });
+        Font customFont = new Font("Segoe UI Emoji", Font.PLAIN, 18);
+
+        // Top panel with city input
+        JPanel topPanel = new JPanel(new BorderLayout());
+        JPanel inputPanel = new JPanel();
+        cityField = new JTextField(15);
+        JButton getWeatherButton = new JButton("Get Weather");
+        JButton diagnosticsButton = new JButton("📊");
+        diagnosticsButton.setToolTipText("Diagnostics");
+        diagnosticsButton.addActionListener(e -> showDiagnostics());
+        inputPanel.add(new JLabel("Enter Location:"));
+        inputPanel.add(cityField);
+        inputPanel.add(getWeatherButton);
+        inputPanel.add(diagnosticsButton);
+
+        // Progress bar
+        progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        progressBar.setVisible(false);
+
+        topPanel.add(inputPanel, BorderLayout.CENTER);
+        topPanel.add(progressBar, BorderLayout.SOUTH);
+
+        // Weather display area
+        weatherView = new WeatherView(WeatherSymbols.WEATHER_MATCHER, WeatherSymbols.DEFAULT_WEATHER_SYMBOL, customFont);
+        JScrollPane scrollPane = new JScrollPane(weatherView);
+
+        // Weather icon label
+        weatherIconLabel = new JLabel();
+        weatherIconLabel.setHorizontalAlignment(JLabel.CENTER);
+        weatherIconLabel.setPreferredSize(new Dimension(100, 100));
+
+        // Panel to hold weather info and icon
+        JPanel weatherPanel = new JPanel(new BorderLayout());
+        weatherPanel.add(scrollPane, BorderLayout.CENTER);
+        weatherPanel.add(weatherIconLabel, BorderLayout.EAST);
+
+        // Create a split panel for suggestions and to-do list
+        JSplitPane splitPane = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT);
+        JPanel suggestionsPanel = createSuggestionsPanel();
+        JPanel todoPanel = createTodoPanel();
+        splitPane.setLeftComponent(suggestionsPanel);
+        splitPane.setRightComponent(todoPanel);
+        splitPane.setDividerLocation(400); // Equal split
+
+        // Add components to frame
+        frame.add(topPanel, BorderLayout.NORTH);
+        frame.add(weatherPanel, BorderLayout.CENTER);
+        frame.add(splitPane, BorderLayout.SOUTH);
+
+        // Components that follow the weather theme
+        themeManager.register(frame.getContentPane(), ThemeManager.Role.SURFACE);
+        themeManager.register(topPanel, ThemeManager.Role.SURFACE);
+        themeManager.register(inputPanel, ThemeManager.Role.SURFACE);
+        themeManager.register(weatherPanel, ThemeManager.Role.SURFACE);
+        themeManager.register(getWeatherButton, ThemeManager.Role.BUTTON);
+        themeManager.register(diagnosticsButton, ThemeManager.Role.BUTTON);
+        themeManager.register(cityField, ThemeManager.Role.FIELD);
+        themeManager.register(weatherView, ThemeManager.Role.TEXT);
+        themeManager.register(suggestionsList, ThemeManager.Role.TEXT);
+        themeManager.register(todoList, ThemeManager.Role.TEXT);
+
+        // Repaint counters in the diagnostics report
+        diagnostics.watchUi(themeManager, weatherView);
+
+        // Action listeners
+        getWeatherButton.addActionListener(e -> requestWeatherData(cityField.getText().trim()));
+
+        // Add key listener to cityField to respond to Enter key
+        cityField.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == KeyEvent.VK_ENTER) {
+                    requestWeatherData(cityField.getText().trim());
+                }
+            }
+        });
+
+        // Make frame visible, then load saved data in the background
+        frame.setVisible(true);
+        startupTimings.mark("frame_shown");
+        loadSavedData();
+    }
+
+    // Print startup timings once the last tracked phase has completed
+    private void startupPhaseDone() {
+        if (--startupPhasesPending == 0) {
+            System.out.println("Startup: " + startupTimings);
+        }
+    }
+
+    // Stop background work before the JVM exits
+    private void shutdown() {
+        if (activeFetch != null) {
+            activeFetch.cancel(true);
+        }
+        executorService.shutdownGracefully(2, TimeUnit.SECONDS);
+        httpClient.close();
+        stateStore.close();
+        historyStore.close();
+        weatherSuggestions.close();
+        diagnostics.unregister();
+    }
+
+    // Open the live diagnostics window, or bring it to the front
+    private void showDiagnostics() {
+        if (diagnosticsDialog == null) {
+            diagnosticsDialog = new JDialog(frame, "Diagnostics", false);
+            diagnosticsDialog.setContentPane(new DiagnosticsPanel(diagnostics));
+            diagnosticsDialog.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+            diagnosticsDialog.pack();
+            diagnosticsDialog.setLocationRelativeTo(frame);
+        }
+        diagnosticsDialog.setVisible(true);
+        diagnosticsDialog.toFront();
+    }
+
+    // Read persisted state once, off the EDT, then fill the UI from it. The to-do input
+    // stays disabled until then so that list indices always match the store.
+    private void loadSavedData() {
+        todoInputField.setEnabled(false);
+        executorService.execute(() -> {
+            stateStore.load();
+            List<String> suggestions = stateStore.getSuggestions();
+            List<String> todoItems = stateStore.getTodoItems();
+            WeatherSnapshot snapshot = stateStore.getWeather();
+            JSONObject legacyWeather = stateStore.getLegacyWeather();
+
+            SwingUtilities.invokeLater(() -> {
+                todoListModel.addAll(todoItems);
+                todoInputField.setEnabled(true);
+
+                // A fetch started during startup already shows newer weather and suggestions
+                if (requestGeneration == 0) {
+                    suggestionsListModel.addAll(suggestions);
+                    if (snapshot != null) {
+                        cityField.setText(snapshot.getCity());
+                        showWeather(snapshot);
+                    } else if (legacyWeather != null) {
+                        showLegacyWeather(legacyWeather);
+                    }
+                }
+
+                startupTimings.mark("state_loaded");
+                startupPhaseDone();
+            });
+        });
+    }
+
+    // Show weather saved as text by older versions; replaced by a snapshot on the next refresh
+    private void showLegacyWeather(JSONObject weatherData) {
+        String city = weatherData.optString("city");
+        if (city.isEmpty()) {
+            return;
+        }
+        cityField.setText(city);
+
+        if (weatherData.has("currentWeather") && weatherData.has("forecast")) {
+            String currentWeather = weatherData.getString("currentWeather");
+            String forecast = weatherData.getString("forecast");
+            String airPollution = weatherData.optString("airPollution");
+
+            weatherView.showLegacyText("📍 Location: " + city + "\n\n" +
+                    currentWeather + "\n" +
+                    forecast + "\n" +
+                    airPollution);
+
+            // Extract weather condition for UI theming
+            String weatherCondition = "";
+            if (currentWeather.contains("Condition:")) {
+                int startIndex = currentWeather.indexOf("Condition:") + 10;
+                weatherCondition = currentWeather.substring(startIndex).trim();
+            }
+
+            // Update UI theme and icon
+            themeManager.apply(weatherCondition);
+            showWeatherIcon(weatherCondition);
+        }
+    }
+
+    // Create suggestions panel
+    private JPanel createSuggestionsPanel() {
+        JPanel suggestionsPanel = new JPanel(new BorderLayout());
+        suggestionsListModel = new DefaultListModel<>();
+        suggestionsList = new JList<>(suggestionsListModel);
+        suggestionsList.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 18));
+        JScrollPane suggestionsScroll = new JScrollPane(suggestionsList);
+
+        // Remove suggestion button
+        JButton removeSuggestionButton = new JButton("Remove Suggestion");
+        removeSuggestionButton.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 18));
+
+        // Suggestions control panel
+        JPanel suggestionsControlPanel = new JPanel();
+        suggestionsControlPanel.add(removeSuggestionButton);
+
+        // Suggestions label
+        JLabel suggestionsLabel = new JLabel("Weather-Based Suggestions:");
+        suggestionsLabel.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 18));
+
+        // Arrange suggestions panel
+        suggestionsPanel.add(suggestionsLabel, BorderLayout.NORTH);
+        suggestionsPanel.add(suggestionsScroll, BorderLayout.CENTER);
+        suggestionsPanel.add(suggestionsControlPanel, BorderLayout.SOUTH);
+
+        // Action listeners
+        removeSuggestionButton.addActionListener(e -> removeSuggestion(suggestionsList.getSelectedIndex()));
+
+        return suggestionsPanel;
+    }
+
+    // Create To-Do panel
+    private JPanel createTodoPanel() {
+        JPanel todoPanel = new JPanel(new BorderLayout());
+        todoListModel = new TodoListModel(WeatherSymbols::forTodo);
+        todoList = new JList<>(todoListModel);
+        todoList.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 18));
+        // A fixed cell size lets the list lay out and paint only the rows in view
+        todoList.setFixedCellHeight(todoList.getFontMetrics(todoList.getFont()).getHeight() + 4);
+        todoList.setFixedCellWidth(TODO_CELL_WIDTH);
+        JScrollPane todoScrollPane = new JScrollPane(todoList);
+
+        // To-Do input panel
+        JPanel todoInputPanel = new JPanel(new FlowLayout());
+        todoInputField = new JTextField(20);
+        JButton addTodoButton = new JButton("Add To-Do");
+        addTodoButton.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 18));
+        JButton removeTodoButton = new JButton("Remove To-Do");
+        removeTodoButton.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 18));
+
+        todoInputPanel.add(new JLabel("To-Do:"));
+        todoInputPanel.add(todoInputField);
+        todoInputPanel.add(addTodoButton);
+        todoInputPanel.add(removeTodoButton);
+
+        // To-Do panel label
+        JLabel todoLabel = new JLabel("My To-Do List:");
+        todoLabel.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 18));
+
+        // Search box; the list shows only matching items while it has text
+        todoSearchField = new JTextField(12);
+        todoSearchField.setToolTipText("Search to-do items");
+        todoSearchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                todoListModel.setFilter(todoSearchField.getText());
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                todoListModel.setFilter(todoSearchField.getText());
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+        JPanel todoHeaderPanel = new JPanel(new BorderLayout(8, 0));
+        todoHeaderPanel.add(todoLabel, BorderLayout.WEST);
+        todoHeaderPanel.add(new JLabel("🔍", SwingConstants.RIGHT), BorderLayout.CENTER);
+        todoHeaderPanel.add(todoSearchField, BorderLayout.EAST);
+
+        // Arrange To-Do panel
+        todoPanel.add(todoHeaderPanel, BorderLayout.NORTH);
+        todoPanel.add(todoScrollPane, BorderLayout.CENTER);
+        todoPanel.add(todoInputPanel, BorderLayout.SOUTH);
+
+        // Add action listeners for To-Do list
+        addTodoButton.addActionListener(e -> addTodoItem());
+        removeTodoButton.addActionListener(e -> removeTodoItem());
+
+        // Add key listener to respond to Enter key in the to-do input field
+        todoInputField.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == KeyEvent.VK_ENTER) {
+                    addTodoItem();
+                }
+            }
+        });
+
+        return todoPanel;
+    }
+
+    // Remove a suggestion from the list
+    private void removeSuggestion(int index) {
+        if (index != -1) {
+            suggestionsListModel.remove(index);
+            stateStore.removeSuggestion(index);
+        }
+    }
+
+    // Add To-Do item method - UPDATED to use symbols
+    private void addTodoItem() {
+        String newTodo = todoInputField.getText().trim();
+        if (!newTodo.isEmpty()) {
+            // Stored without a symbol; the list looks it up when the item is first shown
+            todoListModel.add(newTodo);
+            todoInputField.setText("");
+            stateStore.addTodoItem(newTodo);
+        }
+    }
+
+    // Remove To-Do item method
+    private void removeTodoItem() {
+        int selectedIndex = todoList.getSelectedIndex();
+        if (selectedIndex != -1) {
+            // The selected row may be in a filtered view; the store counts the whole list
+            int itemIndex = todoListModel.getItemIndex(selectedIndex);
+            todoListModel.removeItem(itemIndex);
+            stateStore.removeTodoItem(itemIndex);
+        }
+    }
+
+    // Append a snapshot to the city's history; called on a worker thread
+    private void recordHistory(WeatherSnapshot snapshot) {
+        try {
+            historyStore.append(snapshot);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // Show a snapshot and apply the matching theme and icon
+    private void showWeather(WeatherSnapshot snapshot) {
+        weatherView.showSnapshot(snapshot);
+        showConditionTheme(snapshot.getConditionSummary());
+    }
+
+    // Current conditions of a fetch as soon as /weather has answered, with their theme,
+    // icon and suggestions; forecast and air quality follow when their stages complete
+    private void showCurrentConditions(String city, CurrentConditions current) {
+        weatherView.showCurrent(city, current);
+        showConditionTheme(current.getConditionMain() + " - " + current.getConditionDescription());
+        generateWeatherSuggestions(current);
+    }
+
+    private void showConditionTheme(String weatherCondition) {
+        // Update UI theme based on weather
+        themeManager.apply(weatherCondition);
+
+        // Update weather icon
+        showWeatherIcon(weatherCondition);
+    }
+
+    // Show the icon for a condition, now if it is cached or else as soon as it is rendered
+    private void showWeatherIcon(String weatherCondition) {
+        iconCondition = weatherCondition;
+        ImageIcon icon = iconCache.getIfReady(weatherCondition, WEATHER_ICON_SIZE);
+        if (icon != null) {
+            weatherIconLabel.setIcon(icon);
+            return;
+        }
+        iconCache.get(weatherCondition, WEATHER_ICON_SIZE).thenAccept(rendered -> SwingUtilities.invokeLater(() -> {
+            if (weatherCondition.equals(iconCondition)) {
+                weatherIconLabel.setIcon(rendered);
+            }
+        }));
+    }
+
+    // Main method to request weather data and handle UI updates
+    private void requestWeatherData(String city) {
+        if (city.isEmpty()) {
+            JOptionPane.showMessageDialog(frame, "Please enter a location!");
+            return;
+        }
+
+        // Show progress
+        progressBar.setVisible(true);
+        weatherView.beginFetch(city);
+
+        // Fetch all stages concurrently off the EDT, showing each one as it arrives; a repeat
+        // request for the same city joins the in-flight fetch, a request for another city cancels it
+        final int generation = ++requestGeneration;
+        CompletableFuture<WeatherReport> fetch = fetchPipeline.fetch(city, new WeatherFetchPipeline.StageListener() {
+            @Override
+            public void onCurrent(String fetchedCity, CurrentConditions current) {
+                onEdtIfCurrent(generation, () -> showCurrentConditions(fetchedCity, current));
+            }
+
+            @Override
+            public void onForecast(String fetchedCity, List<ForecastEntry> forecast) {
+                onEdtIfCurrent(generation, () -> weatherView.showForecast(forecast));
+            }
+
+            @Override
+            public void onAirQuality(String fetchedCity, AirQuality airQuality,
+                                     WeatherSnapshot.AirQualityStatus status) {
+                onEdtIfCurrent(generation, () -> weatherView.showAirQuality(airQuality, status));
+            }
+        });
+        if (activeFetch != null && activeFetch != fetch) {
+            activeFetch.cancel(true);
+        }
+        activeFetch = fetch;
+
+        fetch.whenComplete((report, error) -> {
+            if (error instanceof CancellationException) {
+                return; // Superseded by a newer request
+            }
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ?
+                        error.getCause() : error;
+                final String errorMsg = cause.getMessage();
+                SwingUtilities.invokeLater(() -> {
+                    if (generation == requestGeneration) {
+                        handleError("Error: " + errorMsg);
+                    }
+                });
+                return;
+            }
+
+            // Record the observation off the EDT
+            final WeatherSnapshot snapshot = report.getSnapshot();
+            recordHistory(snapshot);
+
+            // Update UI on EDT, unless a newer request has started since
+            SwingUtilities.invokeLater(() -> {
+                if (generation != requestGeneration) {
+                    return;
+                }
+                try {
+                    // Every stage has been shown already; this only catches fields that differ
+                    weatherView.showSnapshot(snapshot);
+
+                    // Save all data
+                    stateStore.setWeather(snapshot);
+
+                    // Hide progress bar
+                    progressBar.setVisible(false);
+                } catch (Exception ex) {
+                    handleError("Error updating UI: " + ex.getMessage());
+                }
+            });
+        });
+    }
+
+    // Run a UI update on the EDT unless a newer request has started since
+    private void onEdtIfCurrent(int generation, Runnable update) {
+        SwingUtilities.invokeLater(() -> {
+            if (generation == requestGeneration) {
+                update.run();
+            }
+        });
+    }
+
+    // Error handler method
+    private void handleError(String message) {
+        progressBar.setVisible(false);
+
+        if (message.contains("Circuit open")) {
+            weatherView.showError("Weather service is unavailable, so requests are paused.\n" + message);
+        } else if (message.contains("400") || message.contains("404")) {
+            weatherView.showError("Location not found. Please check the spelling and try again.");
+        } else if (message.contains("401")) {
+            weatherView.showError("API key issue. Please check your API key configuration.");
+        } else if (message.contains("429")) {
+            weatherView.showError("Too many requests. Please try again later.");
+        } else if (message.contains("Connection")) {
+            weatherView.showError("Network error. Please check your internet connection and try again.");
+        } else {
+            weatherView.showError("Error: " + message);
+        }
+    }
+
+    // Generate weather-based suggestions
+    private void generateWeatherSuggestions(CurrentConditions current) {
+        // Replace previous suggestions
+        List<String> suggestions = weatherSuggestions.forConditions(current);
+        suggestionsListModel.clear();
+        for (String suggestion : suggestions) {
+            suggestionsListModel.addElement(suggestion);
+        }
+
+        // Save suggestions
+        stateStore.setSuggestions(suggestions);
+    }
+
+    // Main method
+    public static void main(String[] args) throws Exception {
+        // Headless batch mode: --batch <cities file> <output file> [max concurrent requests]
+        if (args.length > 0 && args[0].equals("--batch")) {
+            WeatherBatch.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
+        // Headless service mode: --serve [port]
+        if (args.length > 0 && args[0].equals("--serve")) {
+            WeatherServer.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
+        StageTimings startupTimings = new StageTimings();
+        try {
+            // Set Look and Feel to system look and feel
+            UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        startupTimings.mark("look_and_feel");
+
+        // Create application on EDT
+        SwingUtilities.invokeLater(() -> new WeatherApp(startupTimings));
+    }
+}
@@ -0,0 +1,181 @@
+package com.weatherapp;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.json.JSONObject;
+
+// Headless batch mode: fetches weather for every city in a list file and streams
+// one JSON line per city to the output as results complete, or with a text formatter
+// the same display text the app shows, written straight into the output. At most
+// maxConcurrent cities are in flight, so memory stays flat for any list length.
+public class WeatherBatch {
+    private static final int PROGRESS_INTERVAL = 1000;
+
+    private final WeatherFetchPipeline pipeline;
+    private final WeatherSuggestions suggestions;
+    private final int maxConcurrent;
+    private final WeatherTextFormatter textFormatter; // null for JSON lines
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public WeatherBatch(WeatherFetchPipeline pipeline, WeatherSuggestions suggestions, int maxConcurrent,
+                        WeatherTextFormatter textFormatter) {
+        this.pipeline = pipeline;
+        this.suggestions = suggestions;
+        this.maxConcurrent = maxConcurrent;
+        this.textFormatter = textFormatter;
+    }
+
+    // Fetch every non-blank, non-comment line of citiesFile and write results to outputFile
+    public void run(Path citiesFile, Path outputFile) throws IOException, InterruptedException {
+        Semaphore permits = new Semaphore(maxConcurrent);
+        long start = System.nanoTime();
+
+        try (BufferedReader cities = Files.newBufferedReader(citiesFile, StandardCharsets.UTF_8);
+             BufferedWriter output = Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8)) {
+            String line;
+            long submitted = 0;
+            while ((line = cities.readLine()) != null) {
+                String city = line.trim();
+                if (city.isEmpty() || city.startsWith("#")) {
+                    continue;
+                }
+
+                permits.acquire();
+                long requestStart = System.nanoTime();
+                pipeline.fetch(city).whenComplete((report, error) -> {
+                    try {
+                        latency.recordNanos(System.nanoTime() - requestStart);
+                        writeResult(output, city, report, error);
+                    } finally {
+                        permits.release();
+                    }
+                });
+
+                if (++submitted % PROGRESS_INTERVAL == 0) {
+                    System.out.println("Batch progress: " + summary(start));
+                }
+            }
+
+            // Wait for the last in-flight requests before closing the output
+            permits.acquire(maxConcurrent);
+        }
+
+        System.out.println("Batch finished: " + summary(start));
+    }
+
+    private void writeResult(Writer output, String city, WeatherReport report, Throwable error) {
+        if (textFormatter != null) {
+            writeText(output, city, report, error);
+            return;
+        }
+
+        JSONObject result;
+        if (error == null) {
+            result = report.getSnapshot().toJson();
+            result.put("city", city);
+            result.put("suggestions", suggestions.forConditions(report.getSnapshot().getCurrent()));
+            succeeded.incrementAndGet();
+        } else {
+            result = new JSONObject();
+            result.put("city", city);
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ?
+                    error.getCause() : error;
+            result.put("error", String.valueOf(cause.getMessage()));
+            failed.incrementAndGet();
+        }
+
+        try {
+            synchronized (output) {
+                output.write(result.toString());
+                output.write('\n');
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // Display text and suggestions, each city followed by a blank line
+    private void writeText(Writer output, String city, WeatherReport report, Throwable error) {
+        try {
+            synchronized (output) {
+                if (error == null) {
+                    WeatherSnapshot snapshot = report.getSnapshot();
+                    textFormatter.format(snapshot, output);
+                    for (String suggestion : suggestions.forConditions(snapshot.getCurrent())) {
+                        output.append("💡 ").append(suggestion).append('\n');
+                    }
+                    succeeded.incrementAndGet();
+                } else {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null ?
+                            error.getCause() : error;
+                    output.append("📍 Location: ").append(city).append("\n\n❌ Error: ")
+                            .append(String.valueOf(cause.getMessage())).append('\n');
+                    failed.incrementAndGet();
+                }
+                output.append('\n');
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private String summary(long startNanos) {
+        long done = succeeded.get() + failed.get();
+        double seconds = (System.nanoTime() - startNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        return String.format("%d cities (%d failed) in %.1fs, %.1f cities/s, p50=%.1fms p99=%.1fms",
+                done, failed.get(), seconds, done / Math.max(seconds, 1e-9),
+                latency.percentileMillis(50), latency.percentileMillis(99));
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    // Usage: WeatherBatch <cities file> <output file> [max concurrent requests]
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: --batch <cities file> <output file> [max concurrent requests]");
+            System.exit(2);
+        }
+
+        WeatherConfig config = WeatherConfig.load();
+        int maxConcurrent = args.length > 2 ? Integer.parseInt(args[2]) : config.getBatchConcurrency();
+        WeatherTextFormatter textFormatter;
+        switch (config.getBatchFormat()) {
+            case "json":
+                textFormatter = null;
+                break;
+            case "text":
+                textFormatter = new WeatherTextFormatter(WeatherSymbols.WEATHER_MATCHER,
+                        WeatherSymbols.DEFAULT_WEATHER_SYMBOL);
+                break;
+            default:
+                System.err.println("weather.batch.format must be json or text, not " + config.getBatchFormat());
+                System.exit(2);
+                return;
+        }
+        WeatherExecutor executor = WeatherExecutor.create(config);
+        try (WeatherHttpClient httpClient = new ResilientWeatherHttpClient(new PooledWeatherHttpClient(config), config);
+             WeatherSuggestions suggestions = new WeatherSuggestions(config)) {
+            WeatherResponseCache cache = new WeatherResponseCache(config, executor);
+            GeocodingCache geocoder = new GeocodingCache(Path.of(config.getGeocodingFile()), executor);
+            WeatherFetchPipeline pipeline = new WeatherFetchPipeline(config, httpClient, cache, geocoder, executor,
+                    null);
+            new WeatherBatch(pipeline, suggestions, maxConcurrent, textFormatter).run(Path.of(args[0]), Path.of(args[1]));
+        } finally {
+            executor.shutdownGracefully(5, TimeUnit.SECONDS);
+        }
+    }
+}
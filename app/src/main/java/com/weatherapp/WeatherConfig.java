@@ -0,0 +1,283 @@
+package com.weatherapp;
+
+import java.time.Duration;
+import java.util.Map;
+
+// Runtime configuration, read from -Dweather.* system properties with built-in defaults
+public class WeatherConfig {
+    // API and configuration defaults
+    private static final String DEFAULT_API_KEY = "your API key token";
+    private static final String DEFAULT_BASE_URL = "https://api.openweathermap.org/data/2.5/";
+
+    private final String apiKey;
+    private final String baseUrl;
+    private final Duration connectTimeout;
+    private final Duration requestTimeout;
+    private final boolean streamingParser;
+    private final int rateLimitPerMinute;
+    private final int rateLimitBurst;
+    private final int retryMaxAttempts;
+    private final long retryBaseDelayMillis;
+    private final long retryMaxDelayMillis;
+    private final int circuitFailureThreshold;
+    private final long circuitOpenSeconds;
+    private final int cacheMaxEntries;
+    private final Map<String, Duration> cacheTtls;
+    private final Duration cacheDefaultTtl;
+    private final Duration cacheMaxStale;
+    private final String geocodingFile;
+    private final int batchConcurrency;
+    private final String batchFormat;
+    private final String serveAddress;
+    private final int servePort;
+    private final int serveThreads;
+    private final long serveResponseTtlMillis;
+    private final long serveTimeoutMillis;
+    private final String executorMode;
+    private final int executorThreads;
+    private final int executorQueueCapacity;
+    private final String executorRejectionPolicy;
+    private final String stateFile;
+    private final long stateWriteDelayMillis;
+    private final long stateFsyncIntervalMillis;
+    private final boolean journalPersistence;
+    private final int journalCompactThreshold;
+    private final String historyDirectory;
+    private final long iconCacheBytes;
+    private final String suggestionRulesFile;
+    private final long suggestionReloadMillis;
+
+    private WeatherConfig() {
+        String envKey = System.getenv("OPENWEATHER_API_KEY");
+        apiKey = System.getProperty("weather.apiKey", envKey != null ? envKey : DEFAULT_API_KEY);
+        baseUrl = System.getProperty("weather.baseUrl", DEFAULT_BASE_URL);
+        connectTimeout = Duration.ofMillis(Long.getLong("weather.http.connectTimeoutMs", 5_000));
+        requestTimeout = Duration.ofMillis(Long.getLong("weather.http.requestTimeoutMs", 10_000));
+        streamingParser = !"dom".equals(System.getProperty("weather.parser", "streaming"));
+
+        // The free OpenWeatherMap plan allows 60 calls per minute
+        rateLimitPerMinute = Integer.getInteger("weather.rateLimit.perMinute", 60);
+        rateLimitBurst = Integer.getInteger("weather.rateLimit.burst", 10);
+        retryMaxAttempts = Integer.getInteger("weather.retry.maxAttempts", 3);
+        retryBaseDelayMillis = Long.getLong("weather.retry.baseDelayMs", 500);
+        retryMaxDelayMillis = Long.getLong("weather.retry.maxDelayMs", 10_000);
+        circuitFailureThreshold = Integer.getInteger("weather.circuit.failureThreshold", 5);
+        circuitOpenSeconds = Long.getLong("weather.circuit.openSec", 30);
+
+        // OpenWeatherMap refreshes current data ~every 10 minutes and forecasts every 3 hours
+        cacheMaxEntries = Integer.getInteger("weather.cache.maxEntries", 512);
+        cacheTtls = Map.of(
+                "weather", Duration.ofSeconds(Long.getLong("weather.cache.ttl.weatherSec", 600)),
+                "forecast", Duration.ofSeconds(Long.getLong("weather.cache.ttl.forecastSec", 10_800)),
+                "air_pollution", Duration.ofSeconds(Long.getLong("weather.cache.ttl.airPollutionSec", 3_600)));
+        cacheDefaultTtl = Duration.ofSeconds(600);
+        cacheMaxStale = Duration.ofSeconds(Long.getLong("weather.cache.maxStaleSec", 1_800));
+        geocodingFile = System.getProperty("weather.geocodingFile", "geocoding_cache.json");
+        batchConcurrency = Integer.getInteger("weather.batch.concurrency", 16);
+        batchFormat = System.getProperty("weather.batch.format", "json");
+
+        // Local HTTP service mode; rendered responses are reused for a short time per city
+        serveAddress = System.getProperty("weather.serve.address", "127.0.0.1");
+        servePort = Integer.getInteger("weather.serve.port", 8080);
+        serveThreads = Integer.getInteger("weather.serve.threads", 8);
+        serveResponseTtlMillis = Long.getLong("weather.serve.responseTtlMs", 1_000);
+        serveTimeoutMillis = Long.getLong("weather.serve.timeoutMs", getFetchWorstCaseMillis());
+
+        // Background execution: "bounded" platform pool or "virtual" threads (JDK 21+)
+        executorMode = System.getProperty("weather.executor", "bounded");
+        executorThreads = Integer.getInteger("weather.executor.threads", 16);
+        executorQueueCapacity = Integer.getInteger("weather.executor.queue", 256);
+        executorRejectionPolicy = System.getProperty("weather.executor.rejection", "abort");
+
+        // Persisted to-do items, suggestions and last weather, written behind by AppStateStore
+        stateFile = System.getProperty("weather.stateFile", "weather_data.json");
+        stateWriteDelayMillis = Long.getLong("weather.state.writeDelayMs", 200);
+        stateFsyncIntervalMillis = Long.getLong("weather.state.fsyncIntervalMs", 1_000);
+        journalPersistence = "journal".equals(System.getProperty("weather.persistence", "snapshot"));
+        journalCompactThreshold = Integer.getInteger("weather.journal.compactRecords", 1_000);
+        historyDirectory = System.getProperty("weather.historyDir", "weather_history");
+        iconCacheBytes = Long.getLong("weather.icons.cacheBytes", 8L * 1024 * 1024);
+        suggestionRulesFile = System.getProperty("weather.suggestions.rulesFile", "suggestion_rules.json");
+        suggestionReloadMillis = Long.getLong("weather.suggestions.reloadMs", 2_000);
+    }
+
+    // Load configuration from system properties
+    public static WeatherConfig load() {
+        return new WeatherConfig();
+    }
+
+    public String getApiKey() {
+        return apiKey;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    // Parse responses with WeatherStreamParser rather than an org.json DOM
+    public boolean isStreamingParser() {
+        return streamingParser;
+    }
+
+    public int getRateLimitPerMinute() {
+        return rateLimitPerMinute;
+    }
+
+    public int getRateLimitBurst() {
+        return rateLimitBurst;
+    }
+
+    public int getRetryMaxAttempts() {
+        return retryMaxAttempts;
+    }
+
+    public long getRetryBaseDelayMillis() {
+        return retryBaseDelayMillis;
+    }
+
+    public long getRetryMaxDelayMillis() {
+        return retryMaxDelayMillis;
+    }
+
+    public int getCircuitFailureThreshold() {
+        return circuitFailureThreshold;
+    }
+
+    public long getCircuitOpenSeconds() {
+        return circuitOpenSeconds;
+    }
+
+    public int getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    public Map<String, Duration> getCacheTtls() {
+        return cacheTtls;
+    }
+
+    public Duration getCacheDefaultTtl() {
+        return cacheDefaultTtl;
+    }
+
+    public Duration getCacheMaxStale() {
+        return cacheMaxStale;
+    }
+
+    public String getGeocodingFile() {
+        return geocodingFile;
+    }
+
+    // Maximum number of cities fetched at once in batch mode
+    public int getBatchConcurrency() {
+        return batchConcurrency;
+    }
+
+    // Batch output: "json" for one JSON line per city, "text" for the display text
+    public String getBatchFormat() {
+        return batchFormat;
+    }
+
+    // Address the service mode listens on; loopback unless set explicitly
+    public String getServeAddress() {
+        return serveAddress;
+    }
+
+    public int getServePort() {
+        return servePort;
+    }
+
+    // Threads that parse requests and write responses in service mode
+    public int getServeThreads() {
+        return serveThreads;
+    }
+
+    // How long a city's rendered response is served again without asking the pipeline
+    public long getServeResponseTtlMillis() {
+        return serveResponseTtlMillis;
+    }
+
+    // How long service mode waits for a fetch before answering 504; the fetch itself goes on
+    public long getServeTimeoutMillis() {
+        return serveTimeoutMillis;
+    }
+
+    // Longest one fetch can take when it does not queue behind others for rate-limiter tokens:
+    // /weather then /air_pollution in sequence (a city not geocoded yet), each using every
+    // attempt's full request timeout with the longest backoff between attempts, plus the time
+    // the limiter needs to issue a token for every attempt of all three endpoints
+    public long getFetchWorstCaseMillis() {
+        long stageMillis = retryMaxAttempts * requestTimeout.toMillis() + (retryMaxAttempts - 1L) * retryMaxDelayMillis;
+        long tokens = 3L * retryMaxAttempts;
+        long tokenWaitMillis = rateLimitPerMinute > 0 ? tokens * 60_000 / rateLimitPerMinute : 0;
+        return 2 * stageMillis + tokenWaitMillis;
+    }
+
+    public String getExecutorMode() {
+        return executorMode;
+    }
+
+    public int getExecutorThreads() {
+        return executorThreads;
+    }
+
+    public int getExecutorQueueCapacity() {
+        return executorQueueCapacity;
+    }
+
+    // "abort" or "caller-runs" when the bounded pool's queue is full
+    public String getExecutorRejectionPolicy() {
+        return executorRejectionPolicy;
+    }
+
+    public String getStateFile() {
+        return stateFile;
+    }
+
+    // How long a mutation may wait so that later ones share its write
+    public long getStateWriteDelayMillis() {
+        return stateWriteDelayMillis;
+    }
+
+    // Minimum time between fsyncs of the state file; 0 fsyncs every write
+    public long getStateFsyncIntervalMillis() {
+        return stateFsyncIntervalMillis;
+    }
+
+    // Append mutations to a journal (-Dweather.persistence=journal) instead of rewriting the snapshot
+    public boolean isJournalPersistence() {
+        return journalPersistence;
+    }
+
+    // Journal records that trigger compaction into a new snapshot
+    public int getJournalCompactThreshold() {
+        return journalCompactThreshold;
+    }
+
+    // Directory of per-city observation files kept by WeatherHistoryStore
+    public String getHistoryDirectory() {
+        return historyDirectory;
+    }
+
+    // Memory budget for rendered weather icons, counting 4 bytes per pixel of every variant
+    public long getIconCacheBytes() {
+        return iconCacheBytes;
+    }
+
+    // Rule file read by WeatherSuggestions
+    public String getSuggestionRulesFile() {
+        return suggestionRulesFile;
+    }
+
+    // Time between background checks of the rule file for changes; 0 or less disables them
+    public long getSuggestionReloadMillis() {
+        return suggestionReloadMillis;
+    }
+}
@@ -0,0 +1,250 @@
+package com.weatherapp;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Collects the app's metrics in one place: what WeatherMetrics records plus the counters
+// the response cache, circuit breaker, state store and executor keep themselves. Values
+// are read when asked for, so publishing them costs nothing between reads.
+public class WeatherDiagnostics implements WeatherDiagnosticsMXBean {
+    private static final String OBJECT_NAME = "com.weatherapp:type=Diagnostics";
+
+    private final WeatherMetrics metrics;
+    private final WeatherResponseCache cache;
+    private final CircuitBreaker circuitBreaker;
+    private final AppStateStore stateStore; // null in headless modes, which persist nothing
+    private final WeatherExecutor executor;
+    private volatile ThemeManager themeManager; // Set once the desktop UI exists
+    private volatile WeatherView weatherView;
+
+    public WeatherDiagnostics(WeatherMetrics metrics, WeatherResponseCache cache, CircuitBreaker circuitBreaker,
+                              AppStateStore stateStore, WeatherExecutor executor) {
+        this.metrics = metrics;
+        this.cache = cache;
+        this.circuitBreaker = circuitBreaker;
+        this.stateStore = stateStore;
+        this.executor = executor;
+    }
+
+    // Also report the desktop UI's repaint counters
+    public void watchUi(ThemeManager themeManager, WeatherView weatherView) {
+        this.themeManager = themeManager;
+        this.weatherView = weatherView;
+    }
+
+    // Publish on the platform MBean server, e.g. for JConsole or VisualVM
+    public void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public void unregister() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public Map<String, Long> getResponseCounts() {
+        return perEndpoint(WeatherMetrics.EndpointMetrics::getResponses);
+    }
+
+    @Override
+    public Map<String, Long> getResponseBytes() {
+        return perEndpoint(WeatherMetrics.EndpointMetrics::getResponseBytes);
+    }
+
+    @Override
+    public Map<String, Double> getLatencyP50Millis() {
+        return perEndpointMillis(endpoint -> endpoint.getLatency().percentileMillis(50));
+    }
+
+    @Override
+    public Map<String, Double> getLatencyP99Millis() {
+        return perEndpointMillis(endpoint -> endpoint.getLatency().percentileMillis(99));
+    }
+
+    @Override
+    public Map<String, Double> getBodyReadP99Millis() {
+        return perEndpointMillis(endpoint -> endpoint.getBodyRead().percentileMillis(99));
+    }
+
+    @Override
+    public Map<String, Double> getStageP50Millis() {
+        return perStageMillis(50);
+    }
+
+    @Override
+    public Map<String, Double> getStageP99Millis() {
+        return perStageMillis(99);
+    }
+
+    @Override
+    public Map<String, Long> getErrorsByStatus() {
+        Map<String, Long> errors = new TreeMap<>();
+        metrics.getErrorsByStatus().forEach((status, count) -> errors.put(statusName(status), count));
+        return errors;
+    }
+
+    @Override
+    public long getCacheHits() {
+        return cache.getHits();
+    }
+
+    @Override
+    public long getCacheStaleHits() {
+        return cache.getStaleHits();
+    }
+
+    @Override
+    public long getCacheMisses() {
+        return cache.getMisses();
+    }
+
+    @Override
+    public long getCacheEvictions() {
+        return cache.getEvictions();
+    }
+
+    @Override
+    public String getCircuitState() {
+        return circuitBreaker.getState().name();
+    }
+
+    @Override
+    public long getPersistenceWrites() {
+        return stateStore != null ? stateStore.getWriteLatency().getCount() : 0;
+    }
+
+    @Override
+    public double getPersistenceWriteP99Millis() {
+        return stateStore != null ? stateStore.getWriteLatency().percentileMillis(99) : 0;
+    }
+
+    @Override
+    public long getEdtEvents() {
+        return metrics.getEdtEvents().getCount();
+    }
+
+    @Override
+    public double getEdtP99Millis() {
+        return metrics.getEdtEvents().percentileMillis(99);
+    }
+
+    @Override
+    public double getEdtMaxMillis() {
+        return metrics.getEdtEvents().getMaxMillis();
+    }
+
+    @Override
+    public long getSlowEdtEvents() {
+        return metrics.getSlowEdtEvents();
+    }
+
+    @Override
+    public long getThemeApplies() {
+        ThemeManager theme = themeManager;
+        return theme != null ? theme.getApplies() : 0;
+    }
+
+    @Override
+    public long getThemeSkipped() {
+        ThemeManager theme = themeManager;
+        return theme != null ? theme.getSkipped() : 0;
+    }
+
+    @Override
+    public long getThemeColorChanges() {
+        ThemeManager theme = themeManager;
+        return theme != null ? theme.getColorChanges() : 0;
+    }
+
+    @Override
+    public long getViewUpdates() {
+        WeatherView view = weatherView;
+        return view != null ? view.getUpdates() : 0;
+    }
+
+    @Override
+    public int getExecutorQueueDepth() {
+        return executor.getQueueDepth();
+    }
+
+    @Override
+    public int getExecutorActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    @Override
+    public String getReport() {
+        StringBuilder report = new StringBuilder(1024);
+        report.append(String.format("%-14s %8s %8s %9s %9s %9s %9s %10s%n", "Endpoint", "ok", "errors",
+                "p50 ms", "p99 ms", "max ms", "body p99", "KiB in"));
+        metrics.getEndpoints().forEach((name, endpoint) -> report.append(String.format(
+                "%-14s %8d %8d %9.1f %9.1f %9.1f %9.1f %10.1f%n", name, endpoint.getResponses(),
+                endpoint.getErrors(), endpoint.getLatency().percentileMillis(50),
+                endpoint.getLatency().percentileMillis(99), endpoint.getLatency().getMaxMillis(),
+                endpoint.getBodyRead().percentileMillis(99), endpoint.getResponseBytes() / 1024.0)));
+        metrics.getStages().forEach((stage, latency) ->
+                report.append("Stage ").append(stage).append(": ").append(latency).append('\n'));
+        report.append("Errors by status: ").append(getErrorsByStatus().isEmpty() ? "none" : getErrorsByStatus())
+                .append('\n');
+        report.append("Circuit breaker: ").append(circuitBreaker).append('\n');
+        report.append('\n');
+        report.append("Response cache: ").append(cache).append('\n');
+        if (stateStore != null) {
+            report.append("Persistence writes: ").append(stateStore.getWriteLatency()).append('\n');
+            report.append("EDT events: ").append(metrics.getEdtEvents())
+                    .append(" slow(>=50ms)=").append(metrics.getSlowEdtEvents()).append('\n');
+        }
+        if (themeManager != null) {
+            report.append("Theme: applies=").append(getThemeApplies()).append(" skipped=").append(getThemeSkipped())
+                    .append(" colorChanges=").append(getThemeColorChanges()).append('\n');
+            report.append("Weather view: updates=").append(getViewUpdates()).append('\n');
+        }
+        report.append("Executor: ").append(executor).append('\n');
+        return report.toString();
+    }
+
+    private Map<String, Long> perEndpoint(ToLongFunction<WeatherMetrics.EndpointMetrics> value) {
+        Map<String, Long> values = new TreeMap<>();
+        metrics.getEndpoints().forEach((name, endpoint) -> values.put(name, value.applyAsLong(endpoint)));
+        return values;
+    }
+
+    private Map<String, Double> perEndpointMillis(ToDoubleFunction<WeatherMetrics.EndpointMetrics> value) {
+        Map<String, Double> values = new TreeMap<>();
+        metrics.getEndpoints().forEach((name, endpoint) -> values.put(name, value.applyAsDouble(endpoint)));
+        return values;
+    }
+
+    private Map<String, Double> perStageMillis(double percentile) {
+        Map<String, Double> values = new TreeMap<>();
+        metrics.getStages().forEach((stage, latency) -> values.put(stage, latency.percentileMillis(percentile)));
+        return values;
+    }
+
+    private static String statusName(int status) {
+        return status == WeatherMetrics.NO_RESPONSE ? "none" : Integer.toString(status);
+    }
+}
@@ -0,0 +1,64 @@
+package com.weatherapp;
+
+import java.util.Map;
+
+// Runtime metrics published over JMX as com.weatherapp:type=Diagnostics. Maps are keyed by
+// API endpoint (weather, forecast, air_pollution) or, for errors, by HTTP status.
+public interface WeatherDiagnosticsMXBean {
+    Map<String, Long> getResponseCounts();
+
+    Map<String, Long> getResponseBytes();
+
+    Map<String, Double> getLatencyP50Millis();
+
+    Map<String, Double> getLatencyP99Millis();
+
+    Map<String, Double> getBodyReadP99Millis();
+
+    // Fetch pipeline stages: weather, forecast, air_pollution and total, cache hits included
+    Map<String, Double> getStageP50Millis();
+
+    Map<String, Double> getStageP99Millis();
+
+    // "none" counts failures that got no HTTP response
+    Map<String, Long> getErrorsByStatus();
+
+    long getCacheHits();
+
+    long getCacheStaleHits();
+
+    long getCacheMisses();
+
+    long getCacheEvictions();
+
+    String getCircuitState();
+
+    long getPersistenceWrites();
+
+    double getPersistenceWriteP99Millis();
+
+    long getEdtEvents();
+
+    double getEdtP99Millis();
+
+    double getEdtMaxMillis();
+
+    long getSlowEdtEvents();
+
+    // Weather theme in the desktop app; zero in headless modes
+    long getThemeApplies();
+
+    long getThemeSkipped();
+
+    long getThemeColorChanges();
+
+    // Weather view labels whose text or visibility changed
+    long getViewUpdates();
+
+    int getExecutorQueueDepth();
+
+    int getExecutorActiveCount();
+
+    // Everything above as text, as the diagnostics panel shows it
+    String getReport();
+}
@@ -0,0 +1,148 @@
+package com.weatherapp;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Background executor for fetches, cache refreshes and I/O. It is either a bounded
+// platform pool with a queue and rejection policy, or virtual threads on JDK 21+.
+// Either way it exposes queue-depth and active-task gauges.
+public class WeatherExecutor extends AbstractExecutorService {
+    private final ExecutorService delegate;
+    private final String description;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+
+    private WeatherExecutor(ExecutorService delegate, String description) {
+        this.delegate = delegate;
+        this.description = description;
+    }
+
+    // Build the executor selected by -Dweather.executor (bounded or virtual)
+    public static WeatherExecutor create(WeatherConfig config) {
+        String mode = "bounded";
+        if (config.getExecutorMode().equals("virtual")) {
+            ExecutorService virtual = newVirtualThreadExecutor();
+            if (virtual != null) {
+                return new WeatherExecutor(virtual, "virtual threads");
+            }
+            System.err.println("Virtual threads need JDK 21+; using a bounded pool instead");
+            mode = "bounded (virtual threads need JDK 21+)";
+        }
+        return bounded(mode, config.getExecutorThreads(), config.getExecutorQueueCapacity(),
+                config.getExecutorRejectionPolicy());
+    }
+
+    // Fixed-size platform pool; idle threads time out so an idle app holds none
+    public static WeatherExecutor bounded(int threads, int queueCapacity, String rejectionPolicy) {
+        return bounded("bounded", threads, queueCapacity, rejectionPolicy);
+    }
+
+    private static WeatherExecutor bounded(String mode, int threads, int queueCapacity, String rejectionPolicy) {
+        RejectedExecutionHandler handler = rejectionPolicy.equals("caller-runs") ?
+                new ThreadPoolExecutor.CallerRunsPolicy() : new ThreadPoolExecutor.AbortPolicy();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), namedThreads(), handler);
+        pool.allowCoreThreadTimeOut(true);
+        return new WeatherExecutor(pool,
+                mode + ", " + threads + " threads, queue " + queueCapacity + ", " + rejectionPolicy);
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() when the runtime has it
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory namedThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "weather-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        queued.incrementAndGet();
+        try {
+            delegate.execute(() -> {
+                queued.decrementAndGet();
+                active.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    active.decrementAndGet();
+                }
+            });
+        } catch (RuntimeException e) {
+            queued.decrementAndGet();
+            throw e;
+        }
+    }
+
+    // Tasks submitted but not yet started
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    // Tasks currently running
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    // Stop accepting work and give running tasks a grace period to finish
+    public void shutdownGracefully(long timeout, TimeUnit unit) {
+        shutdown();
+        try {
+            if (!awaitTermination(timeout, unit)) {
+                shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public String toString() {
+        return description + ": active=" + getActiveCount() + " queued=" + getQueueDepth();
+    }
+}
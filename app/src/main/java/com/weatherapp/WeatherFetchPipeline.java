@@ -0,0 +1,283 @@
+package com.weatherapp;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+// Fan-out/fan-in fetch of current weather, forecast and air pollution for one city.
+// /weather and /forecast run concurrently. /air_pollution starts right away when the
+// geocoding cache knows the city, otherwise as soon as /weather has delivered the
+// coordinates, so no second /weather round-trip is ever needed.
+public class WeatherFetchPipeline {
+    private static final String UNITS = "metric";
+
+    private final String baseUrl;
+    private final String apiKey;
+    private final WeatherHttpClient httpClient;
+    private final WeatherResponseCache cache;
+    private final GeocodingCache geocoder;
+    private final ExecutorService executor;
+    private final boolean streamingParser;
+    private final WeatherMetrics metrics; // null when nothing reads the stage timings
+    private final Map<String, InFlightFetch> inFlight = new ConcurrentHashMap<>();
+
+    // Receives each stage's result as soon as it is available, on the thread that completed
+    // the stage. Stages that fail are not reported; the fetch's future carries the error.
+    public interface StageListener {
+        default void onCurrent(String city, CurrentConditions current) {
+        }
+
+        default void onForecast(String city, List<ForecastEntry> forecast) {
+        }
+
+        default void onAirQuality(String city, AirQuality airQuality, WeatherSnapshot.AirQualityStatus status) {
+        }
+    }
+
+    public WeatherFetchPipeline(String baseUrl, String apiKey, boolean streamingParser, WeatherHttpClient httpClient,
+                                WeatherResponseCache cache, GeocodingCache geocoder, ExecutorService executor,
+                                WeatherMetrics metrics) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+        this.apiKey = URLEncoder.encode(apiKey, StandardCharsets.UTF_8);
+        this.httpClient = httpClient;
+        this.cache = cache;
+        this.geocoder = geocoder;
+        this.executor = executor;
+        this.streamingParser = streamingParser;
+        this.metrics = metrics;
+    }
+
+    public WeatherFetchPipeline(WeatherConfig config, WeatherHttpClient httpClient, WeatherResponseCache cache,
+                                GeocodingCache geocoder, ExecutorService executor, WeatherMetrics metrics) {
+        this(config.getBaseUrl(), config.getApiKey(), config.isStreamingParser(), httpClient, cache, geocoder,
+                executor, metrics);
+    }
+
+    // Start all stages for a city; the future completes when every stage is done.
+    // Concurrent calls for the same city share one in-flight future, and cancelling
+    // that future interrupts its stages, which aborts their HTTP exchanges.
+    public CompletableFuture<WeatherReport> fetch(String city) {
+        return inFlightFetch(city).result;
+    }
+
+    // As fetch(city), also reporting stage results to the listener as they arrive. A caller
+    // that joins a fetch already in flight gets the stages that have finished reported at once.
+    public CompletableFuture<WeatherReport> fetch(String city, StageListener listener) {
+        InFlightFetch fetch = inFlightFetch(city);
+        fetch.current.thenAccept(current -> listener.onCurrent(city, current));
+        fetch.forecast.thenAccept(forecast -> listener.onForecast(city, forecast));
+        fetch.airQualityStatus.thenAccept(status -> listener.onAirQuality(city, fetch.airQuality.join(), status));
+        return fetch.result;
+    }
+
+    private InFlightFetch inFlightFetch(String city) {
+        String key = city.trim().toLowerCase(Locale.ROOT);
+        InFlightFetch existing = inFlight.get(key);
+        if (existing != null) {
+            return existing;
+        }
+
+        InFlightFetch fetch = new InFlightFetch();
+        existing = inFlight.putIfAbsent(key, fetch);
+        if (existing != null) {
+            return existing;
+        }
+        fetch.result.whenComplete((report, error) -> inFlight.remove(key, fetch));
+        start(city, fetch);
+        return fetch;
+    }
+
+    private void start(String city, InFlightFetch fetch) {
+        CompletableFuture<WeatherReport> result = fetch.result;
+        StageTasks tasks = new StageTasks();
+        result.whenComplete((report, error) -> {
+            if (result.isCancelled()) {
+                tasks.cancelAll();
+            }
+        });
+
+        StageTimings timings = new StageTimings();
+        String query = "?q=" + URLEncoder.encode(city, StandardCharsets.UTF_8) + "&appid=" + apiKey + "&units=" + UNITS;
+
+        // Fan out: current weather and forecast are independent
+        CompletableFuture<CurrentConditions> current = supplyStage(tasks, () ->
+                timings.time("weather", () -> cache.get(city, "weather", UNITS, () ->
+                        recordCoordinates(city, fetch(baseUrl + "weather" + query,
+                                WeatherStreamParser::parseCurrentWeather, WeatherParser::parseCurrentWeather)))));
+        CompletableFuture<List<ForecastEntry>> forecast = supplyStage(tasks, () ->
+                timings.time("forecast", () -> cache.get(city, "forecast", UNITS, () ->
+                        fetch(baseUrl + "forecast" + query,
+                                WeatherStreamParser::parseForecast, WeatherParser::parseForecast))));
+
+        // Air pollution uses cached coordinates, or waits for the ones in the /weather response
+        CompletableFuture<GeocodingCache.Coordinates> coordinates = supplyStage(tasks, () -> geocoder.lookup(city))
+                .thenCompose(known -> known != null ? CompletableFuture.completedFuture(known) :
+                        current.thenApply(c -> new GeocodingCache.Coordinates(c.getLat(), c.getLon())));
+        CompletableFuture<AirQuality> airQuality = coordinates.thenCompose(coord ->
+                supplyStage(tasks, () -> fetchAirPollution(city, coord, timings)));
+
+        // An air pollution failure only changes the snapshot's air quality status; when it
+        // failed because /weather did, the fetch fails anyway
+        CompletableFuture<WeatherSnapshot.AirQualityStatus> airStatus = airQuality.handle((air, error) -> {
+            fetch.airQuality.complete(air); // Before the status, which listeners wait for
+            return current.isCompletedExceptionally() ? WeatherSnapshot.AirQualityStatus.UNAVAILABLE :
+                    airQualityStatus(airQuality, air);
+        });
+        relay(current, fetch.current);
+        relay(forecast, fetch.forecast);
+        relay(airStatus, fetch.airQualityStatus);
+
+        // Fan in once the slowest stage has finished
+        CompletableFuture.allOf(current, forecast, airStatus).whenComplete((ignored, error) -> {
+            if (error != null) {
+                recordStages(timings);
+                result.completeExceptionally(unwrap(error));
+                return;
+            }
+            timings.mark("total");
+            recordStages(timings);
+            AirQuality air = airQuality.isCompletedExceptionally() ? null : airQuality.join();
+            WeatherSnapshot snapshot = new WeatherSnapshot(city, System.currentTimeMillis(), current.join(),
+                    forecast.join(), air, airStatus.join());
+            result.complete(new WeatherReport(snapshot, timings));
+        });
+    }
+
+    private void recordStages(StageTimings timings) {
+        if (metrics != null) {
+            metrics.recordStages(timings);
+        }
+    }
+
+    // Fetch air pollution data for known coordinates; null when the response has no measurements
+    private AirQuality fetchAirPollution(String city, GeocodingCache.Coordinates coord, StageTimings timings)
+            throws Exception {
+        double lat = coord.getLat();
+        double lon = coord.getLon();
+        String urlStr = baseUrl + "air_pollution?lat=" + lat + "&lon=" + lon + "&appid=" + apiKey;
+        return timings.time("air_pollution", () ->
+                cache.get(city, "air_pollution", UNITS, () -> fetch(urlStr,
+                        WeatherStreamParser::parseAirPollution, WeatherParser::parseAirPollution)));
+    }
+
+    // Map the air pollution stage outcome onto the snapshot status
+    private static WeatherSnapshot.AirQualityStatus airQualityStatus(CompletableFuture<AirQuality> stage,
+                                                                     AirQuality airQuality) {
+        if (!stage.isCompletedExceptionally()) {
+            return airQuality != null ? WeatherSnapshot.AirQualityStatus.AVAILABLE :
+                    WeatherSnapshot.AirQualityStatus.NO_DATA;
+        }
+
+        Throwable cause = unwrap(stage.handle((value, error) -> error).join());
+        if (cause instanceof InterruptedIOException) {
+            return WeatherSnapshot.AirQualityStatus.UNAVAILABLE; // Fetch was cancelled
+        }
+        // The failure itself is counted per endpoint by InstrumentedWeatherHttpClient
+        if (cause instanceof JsonPullParser.MalformedJsonException || cause instanceof JSONException) {
+            return WeatherSnapshot.AirQualityStatus.PARSE_ERROR;
+        }
+        return WeatherSnapshot.AirQualityStatus.UNAVAILABLE; // Silent fail on air pollution
+    }
+
+    private static <T> void relay(CompletableFuture<T> from, CompletableFuture<T> to) {
+        from.whenComplete((value, error) -> {
+            if (error != null) {
+                to.completeExceptionally(error);
+            } else {
+                to.complete(value);
+            }
+        });
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    // Update the geocoding index from every /weather response that reaches us
+    private CurrentConditions recordCoordinates(String city, CurrentConditions current) {
+        geocoder.record(city, current.getLat(), current.getLon());
+        return current;
+    }
+
+    // Run a stage on the executor, remembering its task so a cancelled fetch can interrupt it
+    private <T> CompletableFuture<T> supplyStage(StageTasks tasks, Callable<T> stage) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            tasks.add(executor.submit(() -> {
+                try {
+                    future.complete(stage.call());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new IOException("Too many requests in progress, background queue is full", e));
+        }
+        return future;
+    }
+
+    // Response cache shared by every fetch through this pipeline
+    public WeatherResponseCache getCache() {
+        return cache;
+    }
+
+    // Fetch one document, parsing it with the streaming parser straight off the socket,
+    // or through an org.json DOM when -Dweather.parser=dom
+    private <T> T fetch(String urlStr, WeatherHttpClient.BodyReader<T> streamParser,
+                        Function<JSONObject, T> domParser) throws IOException {
+        if (streamingParser) {
+            return httpClient.get(URI.create(urlStr), streamParser);
+        }
+        return httpClient.get(URI.create(urlStr), body -> domParser.apply(
+                new JSONObject(new JSONTokener(new InputStreamReader(body, StandardCharsets.UTF_8)))));
+    }
+
+    // Futures of one fetch, shared by every caller that asks for the city while it runs
+    private static final class InFlightFetch {
+        final CompletableFuture<WeatherReport> result = new CompletableFuture<>();
+        final CompletableFuture<CurrentConditions> current = new CompletableFuture<>();
+        final CompletableFuture<List<ForecastEntry>> forecast = new CompletableFuture<>();
+        final CompletableFuture<AirQuality> airQuality = new CompletableFuture<>(); // null when unavailable
+        final CompletableFuture<WeatherSnapshot.AirQualityStatus> airQualityStatus = new CompletableFuture<>();
+    }
+
+    // Executor tasks belonging to one fetch; tasks added after cancellation are cancelled at once
+    private static final class StageTasks {
+        private final Queue<Future<?>> tasks = new ConcurrentLinkedQueue<>();
+        private volatile boolean cancelled;
+
+        void add(Future<?> task) {
+            tasks.add(task);
+            if (cancelled) {
+                task.cancel(true);
+            }
+        }
+
+        void cancelAll() {
+            cancelled = true;
+            for (Future<?> task : tasks) {
+                task.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.weatherapp;
+
+// Min/max/mean of the observations in one time bucket (e.g. an hour or a day)
+public final class WeatherHistoryAggregate {
+    private final long bucketStartMillis;
+    private int count;
+    private final Stats temperature = new Stats();
+    private final Stats humidity = new Stats();
+    private final Stats windSpeed = new Stats();
+    private final Stats pm25 = new Stats();
+
+    WeatherHistoryAggregate(long bucketStartMillis) {
+        this.bucketStartMillis = bucketStartMillis;
+    }
+
+    void add(float temperatureValue, int humidityValue, float windSpeedValue, float pm25Value) {
+        count++;
+        temperature.add(temperatureValue);
+        humidity.add(humidityValue);
+        windSpeed.add(windSpeedValue);
+        pm25.add(pm25Value);
+    }
+
+    public long getBucketStartMillis() {
+        return bucketStartMillis;
+    }
+
+    // Observations in the bucket
+    public int getCount() {
+        return count;
+    }
+
+    public Stats getTemperature() {
+        return temperature;
+    }
+
+    public Stats getHumidity() {
+        return humidity;
+    }
+
+    public Stats getWindSpeed() {
+        return windSpeed;
+    }
+
+    // Only observations with air quality data contribute
+    public Stats getPm25() {
+        return pm25;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d n=%d temp=%s humidity=%s wind=%s pm2.5=%s",
+                bucketStartMillis, count, temperature, humidity, windSpeed, pm25);
+    }
+
+    // Running min/max/mean of one field
+    public static final class Stats {
+        private int samples;
+        private double min = Double.NaN;
+        private double max = Double.NaN;
+        private double sum;
+
+        void add(double value) {
+            if (Double.isNaN(value)) {
+                return;
+            }
+            if (samples == 0 || value < min) {
+                min = value;
+            }
+            if (samples == 0 || value > max) {
+                max = value;
+            }
+            sum += value;
+            samples++;
+        }
+
+        public int getSamples() {
+            return samples;
+        }
+
+        // NaN when the bucket had no samples for this field
+        public double getMin() {
+            return min;
+        }
+
+        public double getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return samples == 0 ? Double.NaN : sum / samples;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.1f/%.1f/%.1f", min, getMean(), max);
+        }
+    }
+}
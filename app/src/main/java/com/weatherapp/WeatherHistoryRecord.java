@@ -0,0 +1,85 @@
+package com.weatherapp;
+
+// One stored observation from WeatherHistoryStore
+public final class WeatherHistoryRecord {
+    private final long timestampMillis;
+    private final float temperature;
+    private final int humidity;
+    private final float windSpeed;
+    private final int conditionId;
+    private final boolean airQualityAvailable;
+    private final float co;
+    private final float no2;
+    private final float so2;
+    private final float pm25;
+
+    public WeatherHistoryRecord(long timestampMillis, float temperature, int humidity, float windSpeed,
+                                int conditionId, boolean airQualityAvailable, float co, float no2, float so2,
+                                float pm25) {
+        this.timestampMillis = timestampMillis;
+        this.temperature = temperature;
+        this.humidity = humidity;
+        this.windSpeed = windSpeed;
+        this.conditionId = conditionId;
+        this.airQualityAvailable = airQualityAvailable;
+        this.co = co;
+        this.no2 = no2;
+        this.so2 = so2;
+        this.pm25 = pm25;
+    }
+
+    // Record for a snapshot, stamped with the time the API observed it, so a cached
+    // response fetched again is not newer than the stored record and is dropped.
+    // Falls back to the fetch time for snapshots saved before observation times were kept.
+    public static WeatherHistoryRecord of(WeatherSnapshot snapshot) {
+        CurrentConditions current = snapshot.getCurrent();
+        AirQuality air = snapshot.getAirQuality();
+        long timestamp = current.getObservedAtMillis() > 0 ? current.getObservedAtMillis() :
+                snapshot.getFetchedAtMillis();
+        return new WeatherHistoryRecord(timestamp, (float) current.getTemperature(),
+                current.getHumidity(), (float) current.getWindSpeed(), current.getConditionId(), air != null,
+                air != null ? (float) air.getCo() : Float.NaN, air != null ? (float) air.getNo2() : Float.NaN,
+                air != null ? (float) air.getSo2() : Float.NaN, air != null ? (float) air.getPm25() : Float.NaN);
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    public float getTemperature() {
+        return temperature;
+    }
+
+    public int getHumidity() {
+        return humidity;
+    }
+
+    public float getWindSpeed() {
+        return windSpeed;
+    }
+
+    public int getConditionId() {
+        return conditionId;
+    }
+
+    // False when the air pollution stage had no data; pollutants are NaN then
+    public boolean isAirQualityAvailable() {
+        return airQualityAvailable;
+    }
+
+    public float getCo() {
+        return co;
+    }
+
+    public float getNo2() {
+        return no2;
+    }
+
+    public float getSo2() {
+        return so2;
+    }
+
+    public float getPm25() {
+        return pm25;
+    }
+}
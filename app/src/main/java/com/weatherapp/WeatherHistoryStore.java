@@ -0,0 +1,284 @@
+package com.weatherapp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per-city time series of observations in fixed-width binary records.
+// Each city has one append-only file: a 16-byte header followed by RECORD_SIZE-byte
+// records in timestamp order, so a range is found by binary search over the
+// memory-mapped file and scanned without parsing. A year of 10-minute samples is ~2 MB.
+//
+// Record layout (little-endian):
+//   0 long  timestamp (epoch ms)    20 float CO
+//   8 float temperature (°C)        24 float NO2
+//  12 float wind speed (m/s)        28 float SO2
+//  16 short humidity (%)            32 float PM2.5
+//  18 short condition code          36 int   flags (bit 0: air quality present)
+public class WeatherHistoryStore implements Closeable {
+    static final int RECORD_SIZE = 40;
+    private static final int HEADER_SIZE = 16;
+    private static final int MAGIC = 0x57584831; // "WXH1"
+    private static final int FORMAT_VERSION = 1;
+    private static final int FLAG_AIR_QUALITY = 1;
+
+    private final Path directory;
+    private final Map<String, CitySeries> series = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    public WeatherHistoryStore(Path directory) {
+        this.directory = directory;
+    }
+
+    // Append an observation; returns false if it is not newer than the last one stored for the city
+    public boolean append(String city, WeatherHistoryRecord record) throws IOException {
+        CitySeries citySeries = series(city);
+        synchronized (citySeries) {
+            citySeries.open();
+            return citySeries.append(record);
+        }
+    }
+
+    public boolean append(WeatherSnapshot snapshot) throws IOException {
+        return append(snapshot.getCity(), WeatherHistoryRecord.of(snapshot));
+    }
+
+    // Observations with fromMillis <= timestamp < toMillis, oldest first
+    public List<WeatherHistoryRecord> range(String city, long fromMillis, long toMillis) throws IOException {
+        List<WeatherHistoryRecord> records = new ArrayList<>();
+        CitySeries citySeries = series(city);
+        synchronized (citySeries) {
+            citySeries.open();
+            ByteBuffer data = citySeries.map();
+            for (int i = citySeries.lowerBound(data, fromMillis); i < citySeries.count; i++) {
+                int offset = i * RECORD_SIZE;
+                long timestamp = data.getLong(offset);
+                if (timestamp >= toMillis) {
+                    break;
+                }
+                int flags = data.getInt(offset + 36);
+                records.add(new WeatherHistoryRecord(timestamp, data.getFloat(offset + 8),
+                        data.getShort(offset + 16), data.getFloat(offset + 12), data.getShort(offset + 18),
+                        (flags & FLAG_AIR_QUALITY) != 0, data.getFloat(offset + 20), data.getFloat(offset + 24),
+                        data.getFloat(offset + 28), data.getFloat(offset + 32)));
+            }
+        }
+        return records;
+    }
+
+    // Downsample a range into buckets aligned to the epoch (UTC), e.g. Duration.ofHours(1) or ofDays(1).
+    // Empty buckets are omitted.
+    public List<WeatherHistoryAggregate> aggregate(String city, long fromMillis, long toMillis, Duration bucket)
+            throws IOException {
+        long bucketMillis = bucket.toMillis();
+        List<WeatherHistoryAggregate> buckets = new ArrayList<>();
+        CitySeries citySeries = series(city);
+        synchronized (citySeries) {
+            citySeries.open();
+            ByteBuffer data = citySeries.map();
+            WeatherHistoryAggregate current = null;
+            for (int i = citySeries.lowerBound(data, fromMillis); i < citySeries.count; i++) {
+                int offset = i * RECORD_SIZE;
+                long timestamp = data.getLong(offset);
+                if (timestamp >= toMillis) {
+                    break;
+                }
+                long bucketStart = Math.floorDiv(timestamp, bucketMillis) * bucketMillis;
+                if (current == null || current.getBucketStartMillis() != bucketStart) {
+                    current = new WeatherHistoryAggregate(bucketStart);
+                    buckets.add(current);
+                }
+                current.add(data.getFloat(offset + 8), data.getShort(offset + 16), data.getFloat(offset + 12),
+                        data.getFloat(offset + 32));
+            }
+        }
+        return buckets;
+    }
+
+    // Number of observations stored for a city
+    public int size(String city) throws IOException {
+        CitySeries citySeries = series(city);
+        synchronized (citySeries) {
+            citySeries.open();
+            return citySeries.count;
+        }
+    }
+
+    // Later calls fail with an IOException, including ones racing with the close
+    @Override
+    public void close() {
+        closed = true;
+        for (CitySeries citySeries : series.values()) {
+            citySeries.close();
+        }
+        series.clear();
+    }
+
+    // The city's series, which callers open under its lock: close() may run in between
+    private CitySeries series(String city) throws IOException {
+        String key = fileName(city);
+        CitySeries citySeries = series.get(key);
+        if (citySeries == null) {
+            if (closed) {
+                throw new IOException("Weather history store is closed");
+            }
+            Files.createDirectories(directory);
+            citySeries = series.computeIfAbsent(key, name -> new CitySeries(directory.resolve(name)));
+        }
+        // Checked again after the lookup, so a series added while close() ran is never opened
+        if (closed) {
+            throw new IOException("Weather history store is closed");
+        }
+        return citySeries;
+    }
+
+    // Lowercase city with anything outside [a-z0-9] escaped as _xxxx, so names are
+    // safe on every filesystem and distinct cities never share a file
+    static String fileName(String city) {
+        String normalized = city.trim().toLowerCase(Locale.ROOT);
+        StringBuilder name = new StringBuilder(normalized.length() + 4);
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                name.append(c);
+            } else {
+                name.append('_');
+                for (int shift = 12; shift >= 0; shift -= 4) {
+                    name.append(Character.forDigit((c >> shift) & 0xF, 16));
+                }
+            }
+        }
+        return name.append(".wxh").toString();
+    }
+
+    // One city's file; all access is synchronized on the instance
+    private static final class CitySeries {
+        private final Path file;
+        private FileChannel channel;
+        private boolean closed;
+        private int count;
+        private long lastTimestamp = Long.MIN_VALUE;
+        private MappedByteBuffer mapped;
+        private final ByteBuffer recordBuffer = ByteBuffer.allocate(RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        CitySeries(Path file) {
+            this.file = file;
+        }
+
+        // Open the file, writing a header if it is new and dropping a torn last record after a crash
+        void open() throws IOException {
+            if (closed) {
+                throw new IOException("Weather history store is closed");
+            }
+            if (channel != null) {
+                return;
+            }
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(RECORD_SIZE).putInt(0).flip();
+                channel.truncate(0);
+                channel.write(header, 0);
+                size = HEADER_SIZE;
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                channel.read(header, 0);
+                if (header.getInt(0) != MAGIC || header.getInt(8) != RECORD_SIZE) {
+                    channel.close();
+                    channel = null;
+                    throw new IOException("Not a weather history file: " + file);
+                }
+            }
+
+            count = (int) ((size - HEADER_SIZE) / RECORD_SIZE);
+            long validSize = HEADER_SIZE + (long) count * RECORD_SIZE;
+            if (validSize != size) {
+                channel.truncate(validSize);
+            }
+            if (count > 0) {
+                ByteBuffer last = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                channel.read(last, validSize - RECORD_SIZE);
+                lastTimestamp = last.getLong(0);
+            }
+        }
+
+        synchronized boolean append(WeatherHistoryRecord record) throws IOException {
+            if (record.getTimestampMillis() <= lastTimestamp) {
+                return false;
+            }
+
+            ByteBuffer buffer = recordBuffer.clear();
+            buffer.putLong(record.getTimestampMillis());
+            buffer.putFloat(record.getTemperature());
+            buffer.putFloat(record.getWindSpeed());
+            buffer.putShort((short) record.getHumidity());
+            buffer.putShort((short) record.getConditionId());
+            buffer.putFloat(record.getCo());
+            buffer.putFloat(record.getNo2());
+            buffer.putFloat(record.getSo2());
+            buffer.putFloat(record.getPm25());
+            buffer.putInt(record.isAirQualityAvailable() ? FLAG_AIR_QUALITY : 0);
+            buffer.flip();
+
+            long position = HEADER_SIZE + (long) count * RECORD_SIZE;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            count++;
+            lastTimestamp = record.getTimestampMillis();
+            return true;
+        }
+
+        // Read-only view of all records (offset 0 is the first record), remapped only when the file grew
+        ByteBuffer map() throws IOException {
+            long length = (long) count * RECORD_SIZE;
+            if (mapped == null || mapped.capacity() != length) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, length);
+                mapped.order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return mapped;
+        }
+
+        // Index of the first record with timestamp >= fromMillis
+        int lowerBound(ByteBuffer data, long fromMillis) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (data.getLong(mid * RECORD_SIZE) < fromMillis) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        synchronized void close() {
+            closed = true;
+            try {
+                if (channel != null) {
+                    channel.close();
+                    channel = null;
+                    mapped = null;
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
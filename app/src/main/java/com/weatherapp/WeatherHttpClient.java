@@ -0,0 +1,24 @@
+package com.weatherapp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+// HTTP transport used by the fetch pipeline; swappable so tests can use a local stub
+public interface WeatherHttpClient extends Closeable {
+
+    // Issue a GET and hand the streamed body of a 200 response to the reader.
+    // Any other status is reported as a WeatherApiException.
+    <T> T get(URI uri, BodyReader<T> reader) throws IOException;
+
+    // Release pooled connections and worker threads
+    @Override
+    void close();
+
+    // Consumes a response body straight from the socket
+    @FunctionalInterface
+    interface BodyReader<T> {
+        T read(InputStream body) throws IOException;
+    }
+}
@@ -0,0 +1,210 @@
+package com.weatherapp;
+
+import javax.swing.ImageIcon;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BaseMultiResolutionImage;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+// Weather icons rendered on first use, off the EDT, and shared between conditions that
+// look the same (clear/sunny, rain/shower, ...). Each icon is a multi-resolution image
+// with one variant per screen scale, so it stays sharp on HiDPI displays. Rendered
+// icons are kept in LRU order within a byte budget.
+public class WeatherIconCache {
+    // One emoji font for every icon; sizes are derived from it
+    private static final Font EMOJI_FONT = new Font("Segoe UI Emoji", Font.BOLD, 1);
+
+    // Condition keyword to icon style; equivalent keywords share a style and so an image
+    private static final Map<String, IconStyle> STYLES = new LinkedHashMap<>();
+    private static final IconStyle DEFAULT_STYLE = new IconStyle("default", Color.GRAY, "🌤️");
+    private static final KeywordMatcher<IconStyle> STYLE_MATCHER;
+
+    static {
+        IconStyle clear = new IconStyle("clear", Color.YELLOW, "☀️");
+        IconStyle cloud = new IconStyle("cloud", Color.LIGHT_GRAY, "☁️");
+        IconStyle rain = new IconStyle("rain", new Color(100, 149, 237), "🌧️");
+        IconStyle snow = new IconStyle("snow", Color.WHITE, "❄️");
+        IconStyle fog = new IconStyle("fog", new Color(220, 220, 220), "🌫️");
+        IconStyle thunder = new IconStyle("thunder", new Color(70, 130, 180), "⚡");
+        STYLES.put("clear", clear);
+        STYLES.put("sunny", clear);
+        STYLES.put("cloud", cloud);
+        STYLES.put("cloudy", cloud);
+        STYLES.put("rain", rain);
+        STYLES.put("shower", rain);
+        STYLES.put("snow", snow);
+        STYLES.put("mist", fog);
+        STYLES.put("fog", fog);
+        STYLES.put("thunder", thunder);
+        STYLE_MATCHER = KeywordMatcher.compile(STYLES);
+    }
+
+    private final Executor renderer;
+    private final long maxBytes;
+
+    // Guarded by this; access-ordered so iteration starts at the least recently used icon
+    private final LinkedHashMap<String, CompletableFuture<ImageIcon>> icons = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long renders;
+    private long evictions;
+
+    public WeatherIconCache(Executor renderer, long maxBytes) {
+        this.renderer = renderer;
+        this.maxBytes = maxBytes;
+    }
+
+    // Icon for a condition at a logical size, rendering it in the background on first use
+    public CompletableFuture<ImageIcon> get(String weatherCondition, int size) {
+        IconStyle style = styleFor(weatherCondition);
+        String key = style.name + "@" + size;
+        CompletableFuture<ImageIcon> icon;
+        synchronized (this) {
+            icon = icons.get(key);
+            if (icon != null) {
+                hits++;
+                return icon;
+            }
+            icon = new CompletableFuture<>();
+            icons.put(key, icon);
+            renders++;
+        }
+
+        CompletableFuture<ImageIcon> result = icon;
+        try {
+            renderer.execute(() -> {
+                try {
+                    ImageIcon rendered = render(style, size);
+                    synchronized (this) {
+                        bytes += byteSize(rendered);
+                        result.complete(rendered);
+                        evictOverBudget();
+                    }
+                } catch (Throwable e) {
+                    synchronized (this) {
+                        icons.remove(key, result);
+                    }
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                icons.remove(key, result);
+            }
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    // Icon if it has already been rendered, otherwise null
+    public ImageIcon getIfReady(String weatherCondition, int size) {
+        CompletableFuture<ImageIcon> icon = get(weatherCondition, size);
+        return icon.isDone() && !icon.isCompletedExceptionally() ? icon.join() : null;
+    }
+
+    // Drop least recently used rendered icons until the cache fits its budget; the newest always stays
+    private void evictOverBudget() {
+        Iterator<CompletableFuture<ImageIcon>> it = icons.values().iterator();
+        while (bytes > maxBytes && icons.size() > 1 && it.hasNext()) {
+            CompletableFuture<ImageIcon> icon = it.next();
+            if (icon.isDone() && !icon.isCompletedExceptionally()) {
+                bytes -= byteSize(icon.join());
+                it.remove();
+                evictions++;
+            }
+        }
+    }
+
+    private static IconStyle styleFor(String weatherCondition) {
+        return STYLE_MATCHER.findBest(weatherCondition, DEFAULT_STYLE);
+    }
+
+    // One variant per distinct screen scale, with the 1x image as the base
+    private static ImageIcon render(IconStyle style, int size) {
+        List<Image> variants = new ArrayList<>();
+        for (double scale : screenScales()) {
+            variants.add(renderVariant(style, size, scale));
+        }
+        return new ImageIcon(new BaseMultiResolutionImage(variants.toArray(new Image[0])));
+    }
+
+    // Draw the icon in logical coordinates on a canvas scaled to the device resolution
+    private static BufferedImage renderVariant(IconStyle style, int size, double scale) {
+        int pixels = (int) Math.ceil(size * scale);
+        BufferedImage image = new BufferedImage(pixels, pixels, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.scale(scale, scale);
+
+        // Set rendering hints for better quality
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        // Draw background
+        g2d.setColor(style.background);
+        g2d.fillOval(size / 16, size / 16, size * 6 / 8, size * 6 / 8);
+
+        // Draw emoji at half the size of the image
+        g2d.setColor(Color.orange);
+        g2d.setFont(EMOJI_FONT.deriveFont((float) (size / 2)));
+        FontMetrics fm = g2d.getFontMetrics();
+        int textWidth = fm.stringWidth(style.emoji);
+        int textHeight = fm.getHeight();
+        g2d.drawString(style.emoji, (size - textWidth) / 99, size / 2 + textHeight / 4);
+
+        g2d.dispose();
+        return image;
+    }
+
+    // Distinct scale factors of the attached screens; just 1x when headless
+    private static double[] screenScales() {
+        TreeSet<Double> scales = new TreeSet<>();
+        scales.add(1.0);
+        if (!GraphicsEnvironment.isHeadless()) {
+            for (GraphicsDevice device : GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices()) {
+                scales.add(device.getDefaultConfiguration().getDefaultTransform().getScaleX());
+            }
+        }
+        return scales.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    private static long byteSize(ImageIcon icon) {
+        long total = 0;
+        for (Image variant : ((BaseMultiResolutionImage) icon.getImage()).getResolutionVariants()) {
+            total += 4L * variant.getWidth(null) * variant.getHeight(null);
+        }
+        return total;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("icons=%d bytes=%d/%d hits=%d renders=%d evictions=%d",
+                icons.size(), bytes, maxBytes, hits, renders, evictions);
+    }
+
+    // Background colour and emoji of one icon design
+    private static final class IconStyle {
+        final String name;
+        final Color background;
+        final String emoji;
+
+        IconStyle(String name, Color background, String emoji) {
+            this.name = name;
+            this.background = background;
+            this.emoji = emoji;
+        }
+    }
+}
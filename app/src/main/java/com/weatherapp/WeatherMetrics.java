@@ -0,0 +1,142 @@
+package com.weatherapp;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Measurements no single component owns: upstream HTTP exchanges per endpoint, errors by
+// HTTP status, fetch pipeline stage durations and time spent dispatching events on the EDT. Recording only touches
+// LongAdders and LatencyHistograms, so it is cheap enough for every request and event.
+public class WeatherMetrics {
+    // Status under which failures without an HTTP response are counted
+    public static final int NO_RESPONSE = 0;
+
+    private static final long SLOW_EDT_EVENT_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private final Map<Integer, LongAdder> errorsByStatus = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> stages = new ConcurrentHashMap<>();
+    private final LatencyHistogram edtEvents = new LatencyHistogram();
+    private final LongAdder slowEdtEvents = new LongAdder();
+
+    public EndpointMetrics endpoint(String name) {
+        EndpointMetrics metrics = endpoints.get(name);
+        return metrics != null ? metrics : endpoints.computeIfAbsent(name, key -> new EndpointMetrics());
+    }
+
+    public void recordError(int statusCode) {
+        LongAdder count = errorsByStatus.get(statusCode);
+        if (count == null) {
+            count = errorsByStatus.computeIfAbsent(statusCode, key -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    // Every stage of one pipeline run, cache hits included; "total" only for runs that succeeded
+    public void recordStages(StageTimings timings) {
+        timings.forEach((stage, nanos) -> {
+            LatencyHistogram histogram = stages.get(stage);
+            if (histogram == null) {
+                histogram = stages.computeIfAbsent(stage, key -> new LatencyHistogram());
+            }
+            histogram.recordNanos(nanos);
+        });
+    }
+
+    public void recordEdtEvent(long nanos) {
+        edtEvents.recordNanos(nanos);
+        if (nanos >= SLOW_EDT_EVENT_NANOS) {
+            slowEdtEvents.increment();
+        }
+    }
+
+    // Time every event dispatched on the EDT from now on
+    public void monitorEventDispatchThread() {
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(new EventQueue() {
+            @Override
+            protected void dispatchEvent(AWTEvent event) {
+                long start = System.nanoTime();
+                try {
+                    super.dispatchEvent(event);
+                } finally {
+                    recordEdtEvent(System.nanoTime() - start);
+                }
+            }
+        });
+    }
+
+    // Endpoints by name, sorted
+    public Map<String, EndpointMetrics> getEndpoints() {
+        return new TreeMap<>(endpoints);
+    }
+
+    // Error counts by HTTP status, sorted; NO_RESPONSE counts connection failures and timeouts
+    public Map<Integer, Long> getErrorsByStatus() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        errorsByStatus.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    // Pipeline stage durations by stage name, sorted
+    public Map<String, LatencyHistogram> getStages() {
+        return new TreeMap<>(stages);
+    }
+
+    public LatencyHistogram getEdtEvents() {
+        return edtEvents;
+    }
+
+    // EDT events that took 50 ms or more, long enough to be seen as a stutter
+    public long getSlowEdtEvents() {
+        return slowEdtEvents.sum();
+    }
+
+    // Exchanges with one API endpoint
+    public static final class EndpointMetrics {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LatencyHistogram bodyRead = new LatencyHistogram();
+        private final LongAdder responses = new LongAdder();
+        private final LongAdder responseBytes = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        public void recordResponse(long latencyNanos, long bodyReadNanos, long bytes) {
+            latency.recordNanos(latencyNanos);
+            bodyRead.recordNanos(bodyReadNanos);
+            responses.increment();
+            responseBytes.add(bytes);
+        }
+
+        public void recordError(long latencyNanos) {
+            latency.recordNanos(latencyNanos);
+            errors.increment();
+        }
+
+        // Whole exchange, from sending the request to the parsed result or the error
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        // Reading and parsing the body; the streaming parser reads straight off the
+        // socket, so this includes waiting for body bytes
+        public LatencyHistogram getBodyRead() {
+            return bodyRead;
+        }
+
+        public long getResponses() {
+            return responses.sum();
+        }
+
+        public long getResponseBytes() {
+            return responseBytes.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+    }
+}
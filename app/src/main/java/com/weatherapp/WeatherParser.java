@@ -0,0 +1,121 @@
+package com.weatherapp;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+// Parsers for OpenWeatherMap responses, usable without any Swing components.
+// These read an org.json DOM; WeatherStreamParser extracts the same fields from a stream.
+public final class WeatherParser {
+    // Number of forecast entries to show (every 8 entries is approximately a day)
+    static final int FORECAST_DAYS = 5;
+    static final int ENTRIES_PER_DAY = 8;
+
+    private WeatherParser() {
+    }
+
+    // Parse current weather data from JSON response
+    public static CurrentConditions parseCurrentWeather(JSONObject jsonResponse) {
+        // Main weather data
+        JSONObject main = jsonResponse.getJSONObject("main");
+        double temperature = main.getDouble("temp");
+        int humidity = main.getInt("humidity");
+
+        // Weather condition
+        JSONArray weatherArray = jsonResponse.getJSONArray("weather");
+        JSONObject weather = weatherArray.getJSONObject(0);
+
+        // Wind data
+        JSONObject wind = jsonResponse.getJSONObject("wind");
+        double windSpeed = wind.getDouble("speed");
+
+        // Coordinates for follow-up air pollution lookups
+        JSONObject coord = jsonResponse.getJSONObject("coord");
+
+        return new CurrentConditions(temperature, humidity, windSpeed, weather.optInt("id"),
+                weather.getString("main"), weather.getString("description"),
+                coord.getDouble("lat"), coord.getDouble("lon"), jsonResponse.optLong("dt") * 1000);
+    }
+
+    // Parse forecast data from JSON response
+    public static List<ForecastEntry> parseForecast(JSONObject jsonResponse) {
+        // Get forecast list
+        JSONArray forecastList = jsonResponse.getJSONArray("list");
+        List<ForecastEntry> entries = new ArrayList<>(FORECAST_DAYS);
+
+        // Iterate through forecast entries
+        for (int i = 0; i * ENTRIES_PER_DAY < forecastList.length() && i < FORECAST_DAYS; i++) {
+            JSONObject forecast = forecastList.getJSONObject(i * ENTRIES_PER_DAY); // Every 8th entry (24 hours)
+
+            // Main weather data
+            JSONObject main = forecast.getJSONObject("main");
+
+            // Weather condition
+            JSONArray weatherArray = forecast.getJSONArray("weather");
+            JSONObject weather = weatherArray.getJSONObject(0);
+
+            entries.add(new ForecastEntry(forecast.getString("dt_txt"), main.getDouble("temp"),
+                    weather.optInt("id"), weather.getString("main"), weather.getString("description")));
+        }
+
+        return entries;
+    }
+
+    // Parse air pollution data; null when the response has no measurements
+    public static AirQuality parseAirPollution(JSONObject jsonResponse) {
+        JSONArray list = jsonResponse.getJSONArray("list");
+        if (list.length() == 0) {
+            return null;
+        }
+
+        JSONObject components = list.getJSONObject(0).getJSONObject("components");
+        return new AirQuality(components.getDouble("co"), components.getDouble("no2"),
+                components.getDouble("so2"), components.getDouble("pm2_5"));
+    }
+
+    // Format current weather information
+    public static String formatCurrentWeather(CurrentConditions current) {
+        StringBuilder weatherInfo = new StringBuilder();
+        weatherInfo.append("Temperature: ").append(current.getTemperature()).append("°C\n");
+        weatherInfo.append("Humidity: ").append(current.getHumidity()).append("%\n");
+        weatherInfo.append("Wind: ").append(current.getWindSpeed()).append(" m/s\n");
+        weatherInfo.append("Condition: ").append(current.getConditionMain()).append(" - ")
+                .append(current.getConditionDescription()).append("\n");
+        return weatherInfo.toString();
+    }
+
+    // Format forecast entries
+    public static String formatForecast(List<ForecastEntry> entries) {
+        StringBuilder forecastInfo = new StringBuilder();
+        forecastInfo.append("Forecast:\n");
+        for (ForecastEntry entry : entries) {
+            forecastInfo.append("  ").append(entry.getTimestamp())
+                    .append(" - ").append(entry.getTemperature()).append("°C - ")
+                    .append(entry.getConditionMain()).append(" - ").append(entry.getConditionDescription())
+                    .append("\n");
+        }
+        return forecastInfo.toString();
+    }
+
+    // Format pollution information
+    public static String formatAirPollution(AirQuality airQuality) {
+        StringBuilder pollutionInfo = new StringBuilder();
+        pollutionInfo.append("Air Pollution Data:\n");
+        if (airQuality == null) {
+            pollutionInfo.append("No air pollution data available.");
+        } else {
+            pollutionInfo.append("CO: ").append(airQuality.getCo()).append(" μg/m³\n");
+            pollutionInfo.append("NO₂: ").append(airQuality.getNo2()).append(" μg/m³\n");
+            pollutionInfo.append("SO₂: ").append(airQuality.getSo2()).append(" μg/m³\n");
+            pollutionInfo.append("PM2.5: ").append(airQuality.getPm25()).append(" μg/m³\n");
+        }
+        return pollutionInfo.toString();
+    }
+
+    // Text shown when an air pollution response could not be parsed
+    public static String formatAirPollutionError() {
+        return "Air Pollution Data:\nError parsing air pollution data.";
+    }
+}
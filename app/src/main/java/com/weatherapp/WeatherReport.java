@@ -0,0 +1,24 @@
+package com.weatherapp;
+
+// Result of one fetch pipeline run: the typed snapshot plus per-stage timings
+public class WeatherReport {
+    private final WeatherSnapshot snapshot;
+    private final StageTimings timings;
+
+    public WeatherReport(WeatherSnapshot snapshot, StageTimings timings) {
+        this.snapshot = snapshot;
+        this.timings = timings;
+    }
+
+    public String getCity() {
+        return snapshot.getCity();
+    }
+
+    public WeatherSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public StageTimings getTimings() {
+        return timings;
+    }
+}
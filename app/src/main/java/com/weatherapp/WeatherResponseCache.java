@@ -0,0 +1,193 @@
+package com.weatherapp;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded LRU cache of parsed API responses keyed by (city, endpoint, units).
+// Each endpoint has its own TTL. Entries past their TTL but within the stale
+// window are returned immediately while one background refresh reloads them.
+public class WeatherResponseCache {
+    private final int maxEntries;
+    private final Map<String, Duration> ttlByEndpoint;
+    private final Duration defaultTtl;
+    private final Duration maxStale;
+    private final Executor refreshExecutor;
+    private final Map<Key, Entry> entries;
+
+    // Counters for sizing the cache
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+
+    public WeatherResponseCache(int maxEntries, Map<String, Duration> ttlByEndpoint, Duration defaultTtl,
+                                Duration maxStale, Executor refreshExecutor) {
+        this.maxEntries = maxEntries;
+        this.ttlByEndpoint = Map.copyOf(ttlByEndpoint);
+        this.defaultTtl = defaultTtl;
+        this.maxStale = maxStale;
+        this.refreshExecutor = refreshExecutor;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > WeatherResponseCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public WeatherResponseCache(WeatherConfig config, Executor refreshExecutor) {
+        this(config.getCacheMaxEntries(), config.getCacheTtls(), config.getCacheDefaultTtl(),
+                config.getCacheMaxStale(), refreshExecutor);
+    }
+
+    // Return the cached value, loading it on a miss. Failed loads are never cached.
+    @SuppressWarnings("unchecked")
+    public <V> V get(String city, String endpoint, String units, Callable<V> loader) throws Exception {
+        Key key = new Key(city, endpoint, units);
+        long now = System.nanoTime();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+
+        if (entry != null) {
+            long age = now - entry.loadedAt;
+            if (age <= ttlFor(endpoint).toNanos()) {
+                hits.increment();
+                return (V) entry.value;
+            }
+            if (age <= ttlFor(endpoint).plus(maxStale).toNanos()) {
+                staleHits.increment();
+                refreshInBackground(key, entry, loader);
+                return (V) entry.value;
+            }
+        }
+
+        misses.increment();
+        V value = loader.call();
+        put(key, value);
+        return value;
+    }
+
+    // Reload a stale entry once, no matter how many readers see it stale
+    private void refreshInBackground(Key key, Entry entry, Callable<?> loader) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    put(key, loader.call());
+                } catch (Exception e) {
+                    refreshFailures.increment();
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entry.refreshing.set(false);
+        }
+    }
+
+    private void put(Key key, Object value) {
+        synchronized (entries) {
+            entries.put(key, new Entry(value, System.nanoTime()));
+        }
+    }
+
+    private Duration ttlFor(String endpoint) {
+        return ttlByEndpoint.getOrDefault(endpoint, defaultTtl);
+    }
+
+    // Drop every entry, e.g. after the API key changed
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getStaleHits() {
+        return staleHits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getRefreshFailures() {
+        return refreshFailures.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "size=" + size() + "/" + maxEntries + " hits=" + getHits() + " stale=" + getStaleHits() +
+                " misses=" + getMisses() + " evictions=" + getEvictions() + " refreshFailures=" + getRefreshFailures();
+    }
+
+    // Cache key; city names are trimmed and case-folded so "London " and "london" share an entry
+    private static final class Key {
+        private final String city;
+        private final String endpoint;
+        private final String units;
+
+        Key(String city, String endpoint, String units) {
+            this.city = city.trim().toLowerCase(Locale.ROOT);
+            this.endpoint = endpoint;
+            this.units = units;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return city.equals(other.city) && endpoint.equals(other.endpoint) && units.equals(other.units);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(city, endpoint, units);
+        }
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long loadedAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Entry(Object value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.weatherapp;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.json.JSONObject;
+
+// Headless service mode: GET /weather?city=<name> returns the city's current weather,
+// forecast, air quality and suggestions as one JSON object, in the same form as a batch
+// output line. All clients go through one pipeline, so they share its response cache,
+// its upstream connection pool and one in-flight fetch per city. The rendered response
+// of each city is reused for a short TTL, so a request for a hot city is a map lookup
+// and a socket write rather than a pipeline run and a JSON serialization.
+// A fetch that has not finished within the fetch timeout is answered with 504 but left
+// running, so the upstream calls already made still fill the response cache for the next
+// request instead of being thrown away.
+// GET /metrics returns the diagnostics report as text.
+public class WeatherServer {
+    private static final String JSON_TYPE = "application/json; charset=utf-8";
+    private static final String TEXT_TYPE = "text/plain; charset=utf-8";
+
+    // Pending connections the OS may queue while every request thread is busy
+    private static final int ACCEPT_BACKLOG = 1024;
+
+    private final WeatherFetchPipeline pipeline;
+    private final WeatherSuggestions suggestions;
+    private final WeatherDiagnostics diagnostics;
+    private final long responseTtlNanos;
+    private final long fetchTimeoutMillis;
+    private final int maxRendered;
+
+    // Latest rendered response per normalized city; in flight until its fetch completes
+    private final Map<String, CompletableFuture<Rendered>> rendered = new ConcurrentHashMap<>();
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder renderedHits = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    private HttpServer server;
+    private WeatherExecutor requestExecutor;
+
+    public WeatherServer(WeatherFetchPipeline pipeline, WeatherSuggestions suggestions, WeatherDiagnostics diagnostics,
+                         long responseTtlMillis, long fetchTimeoutMillis, int maxRendered) {
+        this.pipeline = pipeline;
+        this.suggestions = suggestions;
+        this.diagnostics = diagnostics;
+        this.responseTtlNanos = TimeUnit.MILLISECONDS.toNanos(responseTtlMillis);
+        this.fetchTimeoutMillis = fetchTimeoutMillis;
+        this.maxRendered = maxRendered;
+    }
+
+    // Start listening; requests are parsed and answered on a pool of the given size
+    public synchronized void start(InetSocketAddress address, int threads, int queueCapacity) throws IOException {
+        // Without TCP_NODELAY the body waits for the client's delayed ACK of the headers
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+
+        // When the queue is full the accepting thread answers the request itself, which
+        // slows down accepting new connections instead of dropping them
+        requestExecutor = WeatherExecutor.bounded(threads, queueCapacity, "caller-runs");
+        server = HttpServer.create(address, ACCEPT_BACKLOG);
+        server.createContext("/weather", this::handleWeather);
+        server.createContext("/metrics", this::handleMetrics);
+        server.setExecutor(requestExecutor);
+        server.start();
+    }
+
+    // Stop accepting requests, giving those being answered up to a second to finish
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(1);
+            requestExecutor.shutdownGracefully(1, TimeUnit.SECONDS);
+            server = null;
+        }
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    private void handleWeather(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        requests.increment();
+        String method = exchange.getRequestMethod();
+        if (!method.equals("GET") && !method.equals("HEAD")) {
+            exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+            respondError(exchange, 405, null, "Method not allowed", start);
+            return;
+        }
+
+        String city = queryParameter(exchange.getRequestURI().getRawQuery(), "city");
+        if (city == null || city.isBlank()) {
+            respondError(exchange, 400, null, "Missing city parameter", start);
+            return;
+        }
+
+        // Cache hits are answered right here; misses once the pipeline has finished
+        CompletableFuture<Rendered> response = rendered(city.trim());
+        if (response.isDone()) {
+            respond(exchange, city.trim(), response, start);
+        } else {
+            response.whenCompleteAsync((body, error) -> respond(exchange, city.trim(), response, start),
+                    requestExecutor);
+        }
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try {
+            String report = diagnostics.getReport() + "Service: " + this + '\n';
+            send(exchange, 200, TEXT_TYPE, report.getBytes(StandardCharsets.UTF_8));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // The city's rendered response: the current one while it is fresh, otherwise a new
+    // one from the pipeline. Concurrent requests after expiry share a single render,
+    // which fails with a TimeoutException if the pipeline has not answered in time;
+    // a later request then joins the pipeline fetch that is still in flight.
+    private CompletableFuture<Rendered> rendered(String city) {
+        String key = city.toLowerCase(Locale.ROOT);
+        while (true) {
+            long now = System.nanoTime();
+            CompletableFuture<Rendered> current = rendered.get(key);
+            if (current != null && !current.isCompletedExceptionally() &&
+                    (!current.isDone() || current.join().expiresAtNanos - now > 0)) {
+                renderedHits.increment();
+                return current;
+            }
+
+            CompletableFuture<Rendered> next = new CompletableFuture<>();
+            boolean installed = current == null ? rendered.putIfAbsent(key, next) == null :
+                    rendered.replace(key, current, next);
+            if (!installed) {
+                continue; // Another request got there first; use its render
+            }
+
+            if (rendered.size() > maxRendered) {
+                evictExpired(now);
+            }
+            CompletableFuture<WeatherReport> fetch = pipeline.fetch(city);
+            fetch.whenComplete((report, error) -> {
+                if (error != null) {
+                    rendered.remove(key, next); // Failures are never reused
+                    next.completeExceptionally(unwrap(error));
+                    return;
+                }
+                try {
+                    next.complete(new Rendered(render(city, report), System.nanoTime() + responseTtlNanos));
+                } catch (RuntimeException e) {
+                    rendered.remove(key, next);
+                    next.completeExceptionally(e);
+                }
+            });
+
+            // A slow fetch must not hold every later request for the city
+            next.orTimeout(fetchTimeoutMillis, TimeUnit.MILLISECONDS).whenComplete((body, error) -> {
+                if (error instanceof TimeoutException) {
+                    rendered.remove(key, next);
+                }
+            });
+            return next;
+        }
+    }
+
+    // Same fields as a batch output line
+    private byte[] render(String city, WeatherReport report) {
+        JSONObject result = report.getSnapshot().toJson();
+        result.put("city", city);
+        result.put("suggestions", suggestions.forConditions(report.getSnapshot().getCurrent()));
+        return result.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void evictExpired(long now) {
+        rendered.values().removeIf(future -> future.isDone() &&
+                (future.isCompletedExceptionally() || future.join().expiresAtNanos - now <= 0));
+    }
+
+    private void respond(HttpExchange exchange, String city, CompletableFuture<Rendered> response, long start) {
+        if (response.isCompletedExceptionally()) {
+            Throwable cause = unwrap(response.handle((body, error) -> error).join());
+            int status = statusFor(cause);
+            long retryAfterMillis = -1;
+            if (cause instanceof CircuitOpenException) {
+                retryAfterMillis = ((CircuitOpenException) cause).getRetryInMillis();
+            } else if (cause instanceof WeatherApiException && status == 503) {
+                retryAfterMillis = ((WeatherApiException) cause).getRetryAfterMillis(); // Upstream rate limit
+            }
+            if (retryAfterMillis >= 0) {
+                exchange.getResponseHeaders().set("Retry-After",
+                        Long.toString(Math.max(1, (retryAfterMillis + 999) / 1000)));
+            }
+            String message = cause instanceof TimeoutException ?
+                    "Weather service did not answer within " + fetchTimeoutMillis + " ms" :
+                    String.valueOf(cause.getMessage());
+            respondError(exchange, status, city, message, start);
+            return;
+        }
+
+        try {
+            send(exchange, 200, JSON_TYPE, response.join().body);
+        } catch (IOException e) {
+            // Client went away before the response was written
+        } finally {
+            latency.recordNanos(System.nanoTime() - start);
+            exchange.close();
+        }
+    }
+
+    private void respondError(HttpExchange exchange, int status, String city, String message, long start) {
+        failures.increment();
+        JSONObject error = new JSONObject();
+        if (city != null) {
+            error.put("city", city);
+        }
+        error.put("error", message);
+        try {
+            send(exchange, status, JSON_TYPE, error.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // Client went away before the response was written
+        } finally {
+            latency.recordNanos(System.nanoTime() - start);
+            exchange.close();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        if (exchange.getRequestMethod().equals("HEAD")) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    // Unknown cities are the client's problem; anything else upstream is ours
+    private static int statusFor(Throwable cause) {
+        if (cause instanceof TimeoutException) {
+            return 504;
+        }
+        if (cause instanceof WeatherApiException) {
+            int status = ((WeatherApiException) cause).getStatusCode();
+            if (status == 400 || status == 404) {
+                return 404;
+            }
+            return status == 429 ? 503 : 502;
+        }
+        if (cause instanceof CircuitOpenException || cause.getCause() instanceof RejectedExecutionException) {
+            return 503;
+        }
+        return 502;
+    }
+
+    // Decoded value of the first name=value pair in a raw query string, or null
+    static String queryParameter(String rawQuery, String name) {
+        if (rawQuery == null) {
+            return null;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq == name.length() && pair.startsWith(name)) {
+                try {
+                    return URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+                } catch (IllegalArgumentException e) {
+                    return null; // Malformed percent-encoding
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    // Requests answered with a city's current rendered response, or joining one in flight
+    public long getRenderedHits() {
+        return renderedHits.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "requests=" + getRequests() + " renderedHits=" + getRenderedHits() + " failures=" + getFailures() +
+                " cities=" + rendered.size() + " latency " + latency;
+    }
+
+    // Serialized response body and when it stops being reused
+    private static final class Rendered {
+        final byte[] body;
+        final long expiresAtNanos;
+
+        Rendered(byte[] body, long expiresAtNanos) {
+            this.body = body;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    // Usage: WeatherServer [port]
+    public static void main(String[] args) throws Exception {
+        WeatherConfig config = WeatherConfig.load();
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : config.getServePort();
+
+        // One executor, connection pool, response cache and geocoding index for all clients
+        WeatherExecutor executor = WeatherExecutor.create(config);
+        WeatherMetrics metrics = new WeatherMetrics();
+        ResilientWeatherHttpClient httpClient = new ResilientWeatherHttpClient(
+                new InstrumentedWeatherHttpClient(new PooledWeatherHttpClient(config), metrics), config);
+        WeatherResponseCache cache = new WeatherResponseCache(config, executor);
+        GeocodingCache geocoder = new GeocodingCache(Path.of(config.getGeocodingFile()), executor);
+        geocoder.load();
+        WeatherFetchPipeline pipeline = new WeatherFetchPipeline(config, httpClient, cache, geocoder, executor,
+                metrics);
+        WeatherDiagnostics diagnostics = new WeatherDiagnostics(metrics, cache, httpClient.getCircuitBreaker(),
+                null, executor);
+
+        // Shorter than the worst case, slow cities get 504 while their fetch finishes into the cache
+        long fetchTimeoutMillis = config.getServeTimeoutMillis();
+        if (fetchTimeoutMillis < config.getFetchWorstCaseMillis()) {
+            System.err.println("weather.serve.timeoutMs=" + fetchTimeoutMillis + " is below the " +
+                    config.getFetchWorstCaseMillis() + " ms one fetch may take with the configured retries and " +
+                    config.getRateLimitPerMinute() + " requests/min rate limit");
+        }
+        WeatherSuggestions suggestions = new WeatherSuggestions(config);
+        WeatherServer server = new WeatherServer(pipeline, suggestions, diagnostics,
+                config.getServeResponseTtlMillis(), fetchTimeoutMillis, config.getCacheMaxEntries());
+        server.start(new InetSocketAddress(config.getServeAddress(), port), config.getServeThreads(),
+                config.getExecutorQueueCapacity());
+        diagnostics.register();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            suggestions.close();
+            diagnostics.unregister();
+            httpClient.close();
+            executor.shutdownGracefully(2, TimeUnit.SECONDS);
+        }, "weather-serve-shutdown"));
+
+        InetSocketAddress bound = server.getAddress();
+        System.out.println("Serving weather on http://" + bound.getHostString() + ":" + bound.getPort() +
+                "/weather?city=<name>");
+    }
+}
@@ -0,0 +1,152 @@
+package com.weatherapp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+// Immutable typed view of one city's weather: current conditions, forecast rows and
+// pollutants. Everything downstream (suggestions, theming, icons, persistence) reads
+// these fields directly; display text is only rendered at the UI and export edges.
+public final class WeatherSnapshot {
+    // Outcome of the /air_pollution stage, which may fail without failing the snapshot
+    public enum AirQualityStatus {
+        AVAILABLE,      // Measurements present
+        NO_DATA,        // Response had an empty list
+        PARSE_ERROR,    // Response could not be parsed
+        UNAVAILABLE     // Request failed or was skipped
+    }
+
+    private final String city;
+    private final long fetchedAtMillis;
+    private final CurrentConditions current;
+    private final List<ForecastEntry> forecast;
+    private final AirQuality airQuality;
+    private final AirQualityStatus airQualityStatus;
+
+    public WeatherSnapshot(String city, long fetchedAtMillis, CurrentConditions current, List<ForecastEntry> forecast,
+                           AirQuality airQuality, AirQualityStatus airQualityStatus) {
+        this.city = city;
+        this.fetchedAtMillis = fetchedAtMillis;
+        this.current = current;
+        this.forecast = Collections.unmodifiableList(new ArrayList<>(forecast));
+        this.airQuality = airQuality;
+        this.airQualityStatus = airQualityStatus;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    // Wall-clock time the snapshot was assembled, in epoch milliseconds
+    public long getFetchedAtMillis() {
+        return fetchedAtMillis;
+    }
+
+    public CurrentConditions getCurrent() {
+        return current;
+    }
+
+    public List<ForecastEntry> getForecast() {
+        return forecast;
+    }
+
+    // Pollutant readings, or null unless the status is AVAILABLE
+    public AirQuality getAirQuality() {
+        return airQuality;
+    }
+
+    public AirQualityStatus getAirQualityStatus() {
+        return airQualityStatus;
+    }
+
+    // Condition as shown after "Condition:", e.g. "Clouds - overcast clouds"
+    public String getConditionSummary() {
+        return current.getConditionMain() + " - " + current.getConditionDescription();
+    }
+
+    // Air pollution section text for this snapshot's status
+    public String formatAirPollution() {
+        switch (airQualityStatus) {
+            case AVAILABLE:
+            case NO_DATA:
+                return WeatherParser.formatAirPollution(airQuality);
+            case PARSE_ERROR:
+                return WeatherParser.formatAirPollutionError();
+            default:
+                return "";
+        }
+    }
+
+    // Structured form used by weather_data.json and batch output
+    public JSONObject toJson() {
+        JSONObject currentJson = new JSONObject();
+        currentJson.put("temp", current.getTemperature());
+        currentJson.put("humidity", current.getHumidity());
+        currentJson.put("windSpeed", current.getWindSpeed());
+        currentJson.put("conditionId", current.getConditionId());
+        currentJson.put("main", current.getConditionMain());
+        currentJson.put("description", current.getConditionDescription());
+        currentJson.put("lat", current.getLat());
+        currentJson.put("lon", current.getLon());
+        currentJson.put("observedAt", current.getObservedAtMillis());
+
+        JSONArray forecastJson = new JSONArray();
+        for (ForecastEntry entry : forecast) {
+            JSONObject entryJson = new JSONObject();
+            entryJson.put("dt_txt", entry.getTimestamp());
+            entryJson.put("temp", entry.getTemperature());
+            entryJson.put("conditionId", entry.getConditionId());
+            entryJson.put("main", entry.getConditionMain());
+            entryJson.put("description", entry.getConditionDescription());
+            forecastJson.put(entryJson);
+        }
+
+        JSONObject json = new JSONObject();
+        json.put("city", city);
+        json.put("fetchedAt", fetchedAtMillis);
+        json.put("current", currentJson);
+        json.put("forecast", forecastJson);
+        json.put("airQualityStatus", airQualityStatus.name());
+        if (airQuality != null) {
+            JSONObject airJson = new JSONObject();
+            airJson.put("co", airQuality.getCo());
+            airJson.put("no2", airQuality.getNo2());
+            airJson.put("so2", airQuality.getSo2());
+            airJson.put("pm2_5", airQuality.getPm25());
+            json.put("airQuality", airJson);
+        }
+        return json;
+    }
+
+    // Inverse of toJson
+    public static WeatherSnapshot fromJson(JSONObject json) {
+        JSONObject currentJson = json.getJSONObject("current");
+        CurrentConditions current = new CurrentConditions(currentJson.getDouble("temp"),
+                currentJson.getInt("humidity"), currentJson.getDouble("windSpeed"),
+                currentJson.optInt("conditionId"), currentJson.getString("main"),
+                currentJson.getString("description"), currentJson.getDouble("lat"), currentJson.getDouble("lon"),
+                currentJson.optLong("observedAt"));
+
+        JSONArray forecastJson = json.getJSONArray("forecast");
+        List<ForecastEntry> forecast = new ArrayList<>(forecastJson.length());
+        for (int i = 0; i < forecastJson.length(); i++) {
+            JSONObject entryJson = forecastJson.getJSONObject(i);
+            forecast.add(new ForecastEntry(entryJson.getString("dt_txt"), entryJson.getDouble("temp"),
+                    entryJson.optInt("conditionId"), entryJson.getString("main"),
+                    entryJson.getString("description")));
+        }
+
+        AirQuality airQuality = null;
+        JSONObject airJson = json.optJSONObject("airQuality");
+        if (airJson != null) {
+            airQuality = new AirQuality(airJson.getDouble("co"), airJson.getDouble("no2"),
+                    airJson.getDouble("so2"), airJson.getDouble("pm2_5"));
+        }
+
+        return new WeatherSnapshot(json.getString("city"), json.optLong("fetchedAt"), current, forecast, airQuality,
+                AirQualityStatus.valueOf(json.optString("airQualityStatus", AirQualityStatus.UNAVAILABLE.name())));
+    }
+}
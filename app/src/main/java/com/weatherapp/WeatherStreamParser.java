@@ -0,0 +1,274 @@
+package com.weatherapp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+// Streaming counterparts of WeatherParser. Each method walks the response once,
+// reads only the fields the app shows and skips every other subtree in place,
+// so the 40-entry /forecast list never becomes a DOM.
+public final class WeatherStreamParser {
+    private static final String[] CURRENT_FIELDS = {"coord", "weather", "main", "wind", "dt"};
+    private static final String[] COORD_FIELDS = {"lat", "lon"};
+    private static final String[] MAIN_FIELDS = {"temp", "humidity"};
+    private static final String[] WIND_FIELDS = {"speed"};
+    private static final String[] CONDITION_FIELDS = {"id", "main", "description"};
+    private static final String[] LIST_FIELD = {"list"};
+    private static final String[] FORECAST_FIELDS = {"dt_txt", "main", "weather"};
+    private static final String[] AIR_FIELDS = {"components"};
+    private static final String[] COMPONENT_FIELDS = {"co", "no2", "so2", "pm2_5"};
+
+    private WeatherStreamParser() {
+    }
+
+    // Parse a /weather response
+    public static CurrentConditions parseCurrentWeather(InputStream body) throws IOException {
+        JsonPullParser parser = new JsonPullParser(body);
+        double temperature = Double.NaN;
+        int humidity = 0;
+        boolean sawHumidity = false;
+        double windSpeed = Double.NaN;
+        double lat = Double.NaN;
+        double lon = Double.NaN;
+        Condition condition = null;
+        long observedAtSeconds = 0;
+
+        parser.beginObject();
+        while (parser.hasNext()) {
+            switch (parser.nextName(CURRENT_FIELDS)) {
+                case 0: // coord
+                    parser.beginObject();
+                    while (parser.hasNext()) {
+                        int field = parser.nextName(COORD_FIELDS);
+                        if (field == 0) {
+                            lat = parser.nextDouble();
+                        } else if (field == 1) {
+                            lon = parser.nextDouble();
+                        } else {
+                            parser.skipValue();
+                        }
+                    }
+                    parser.endObject();
+                    break;
+                case 1: // weather
+                    condition = readFirstCondition(parser);
+                    break;
+                case 2: // main
+                    parser.beginObject();
+                    while (parser.hasNext()) {
+                        int field = parser.nextName(MAIN_FIELDS);
+                        if (field == 0) {
+                            temperature = parser.nextDouble();
+                        } else if (field == 1) {
+                            humidity = parser.nextInt();
+                            sawHumidity = true;
+                        } else {
+                            parser.skipValue();
+                        }
+                    }
+                    parser.endObject();
+                    break;
+                case 3: // wind
+                    parser.beginObject();
+                    while (parser.hasNext()) {
+                        if (parser.nextName(WIND_FIELDS) == 0) {
+                            windSpeed = parser.nextDouble();
+                        } else {
+                            parser.skipValue();
+                        }
+                    }
+                    parser.endObject();
+                    break;
+                case 4: // dt
+                    observedAtSeconds = (long) parser.nextDouble();
+                    break;
+                default:
+                    parser.skipValue();
+                    break;
+            }
+        }
+        parser.endObject();
+
+        // The same fields WeatherParser requires
+        if (Double.isNaN(temperature) || !sawHumidity || Double.isNaN(windSpeed) || Double.isNaN(lat) ||
+                Double.isNaN(lon) || condition == null) {
+            throw new JsonPullParser.MalformedJsonException("Incomplete weather response");
+        }
+        return new CurrentConditions(temperature, humidity, windSpeed, condition.id, condition.main,
+                condition.description, lat, lon, observedAtSeconds * 1000);
+    }
+
+    // Parse a /forecast response, keeping one entry per day
+    public static List<ForecastEntry> parseForecast(InputStream body) throws IOException {
+        JsonPullParser parser = new JsonPullParser(body);
+        List<ForecastEntry> entries = new ArrayList<>(WeatherParser.FORECAST_DAYS);
+        boolean sawList = false;
+
+        parser.beginObject();
+        while (parser.hasNext()) {
+            if (parser.nextName(LIST_FIELD) != 0) {
+                parser.skipValue();
+                continue;
+            }
+            sawList = true;
+            parser.beginArray();
+            for (int index = 0; parser.hasNext(); index++) {
+                if (index % WeatherParser.ENTRIES_PER_DAY == 0 && entries.size() < WeatherParser.FORECAST_DAYS) {
+                    entries.add(readForecastEntry(parser));
+                } else {
+                    parser.skipValue();
+                }
+            }
+            parser.endArray();
+        }
+        parser.endObject();
+
+        if (!sawList) {
+            throw new JsonPullParser.MalformedJsonException("Forecast response has no list");
+        }
+        return entries;
+    }
+
+    // Parse an /air_pollution response; null when it has no measurements
+    public static AirQuality parseAirPollution(InputStream body) throws IOException {
+        JsonPullParser parser = new JsonPullParser(body);
+        AirQuality airQuality = null;
+        boolean sawList = false;
+
+        parser.beginObject();
+        while (parser.hasNext()) {
+            if (parser.nextName(LIST_FIELD) != 0) {
+                parser.skipValue();
+                continue;
+            }
+            sawList = true;
+            parser.beginArray();
+            while (parser.hasNext()) {
+                if (airQuality == null) {
+                    airQuality = readComponents(parser);
+                } else {
+                    parser.skipValue();
+                }
+            }
+            parser.endArray();
+        }
+        parser.endObject();
+
+        if (!sawList) {
+            throw new JsonPullParser.MalformedJsonException("Air pollution response has no list");
+        }
+        return airQuality;
+    }
+
+    private static ForecastEntry readForecastEntry(JsonPullParser parser) throws IOException {
+        String timestamp = null;
+        double temperature = Double.NaN;
+        Condition condition = null;
+
+        parser.beginObject();
+        while (parser.hasNext()) {
+            switch (parser.nextName(FORECAST_FIELDS)) {
+                case 0: // dt_txt
+                    timestamp = parser.nextString();
+                    break;
+                case 1: // main
+                    parser.beginObject();
+                    while (parser.hasNext()) {
+                        if (parser.nextName(MAIN_FIELDS) == 0) {
+                            temperature = parser.nextDouble();
+                        } else {
+                            parser.skipValue();
+                        }
+                    }
+                    parser.endObject();
+                    break;
+                case 2: // weather
+                    condition = readFirstCondition(parser);
+                    break;
+                default:
+                    parser.skipValue();
+                    break;
+            }
+        }
+        parser.endObject();
+
+        if (timestamp == null || Double.isNaN(temperature) || condition == null) {
+            throw new JsonPullParser.MalformedJsonException("Incomplete forecast entry");
+        }
+        return new ForecastEntry(timestamp, temperature, condition.id, condition.main, condition.description);
+    }
+
+    private static AirQuality readComponents(JsonPullParser parser) throws IOException {
+        double[] values = {Double.NaN, Double.NaN, Double.NaN, Double.NaN};
+
+        parser.beginObject();
+        while (parser.hasNext()) {
+            if (parser.nextName(AIR_FIELDS) != 0) {
+                parser.skipValue();
+                continue;
+            }
+            parser.beginObject();
+            while (parser.hasNext()) {
+                int field = parser.nextName(COMPONENT_FIELDS);
+                if (field >= 0) {
+                    values[field] = parser.nextDouble();
+                } else {
+                    parser.skipValue();
+                }
+            }
+            parser.endObject();
+        }
+        parser.endObject();
+
+        for (double value : values) {
+            if (Double.isNaN(value)) {
+                throw new JsonPullParser.MalformedJsonException("Incomplete air pollution components");
+            }
+        }
+        return new AirQuality(values[0], values[1], values[2], values[3]);
+    }
+
+    // Read the first element of a "weather" array and skip the rest
+    private static Condition readFirstCondition(JsonPullParser parser) throws IOException {
+        Condition condition = null;
+        parser.beginArray();
+        while (parser.hasNext()) {
+            if (condition != null) {
+                parser.skipValue();
+                continue;
+            }
+            condition = new Condition();
+            parser.beginObject();
+            while (parser.hasNext()) {
+                switch (parser.nextName(CONDITION_FIELDS)) {
+                    case 0:
+                        condition.id = parser.nextInt();
+                        break;
+                    case 1:
+                        condition.main = parser.nextString();
+                        break;
+                    case 2:
+                        condition.description = parser.nextString();
+                        break;
+                    default:
+                        parser.skipValue();
+                        break;
+                }
+            }
+            parser.endObject();
+        }
+        parser.endArray();
+
+        if (condition == null || condition.main == null || condition.description == null) {
+            throw new JsonPullParser.MalformedJsonException("Missing weather condition");
+        }
+        return condition;
+    }
+
+    private static final class Condition {
+        int id;
+        String main;
+        String description;
+    }
+}
@@ -0,0 +1,130 @@
+package com.weatherapp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+// Weather-based activity suggestions from a SuggestionRules file that is reloaded when it
+// changes. A background thread checks the file's modification time once per reload interval
+// and publishes newly compiled rules, so an edit takes effect on the next refresh without a
+// restart, and callers (the EDT included) never touch the file system.
+// A file that fails to compile is reported and the previous rules stay in use. When the
+// file does not exist the rules bundled on the classpath are used.
+public final class WeatherSuggestions implements Closeable {
+    private static final String BUNDLED_RULES = "/suggestion_rules.json";
+
+    private final Path rulesFile;
+    private final ScheduledExecutorService reloader;
+    private volatile SuggestionRules rules;
+
+    // Reloader thread only, after the first load
+    private long loadedModified = Long.MIN_VALUE;
+    private long loadedSize = -1;
+    private volatile int reloadCount;
+
+    // The rules are loaded before this returns; a reload interval of 0 or less disables reloading
+    public WeatherSuggestions(Path rulesFile, long reloadIntervalMillis) {
+        this.rulesFile = rulesFile;
+        reloadIfChanged();
+        if (reloadIntervalMillis > 0) {
+            reloader = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "weather-suggestions-reload");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reloader.scheduleWithFixedDelay(this::reloadIfChanged, reloadIntervalMillis, reloadIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        } else {
+            reloader = null;
+        }
+    }
+
+    public WeatherSuggestions(WeatherConfig config) {
+        this(Path.of(config.getSuggestionRulesFile()), config.getSuggestionReloadMillis());
+    }
+
+    // Suggestions for the given conditions, in display order
+    public List<String> forConditions(CurrentConditions current) {
+        List<String> suggestions = new ArrayList<>();
+        forConditions(current, suggestions);
+        return suggestions;
+    }
+
+    // Append suggestions to a caller-owned list, e.g. one reused across a batch
+    public void forConditions(CurrentConditions current, List<String> out) {
+        getRules().evaluate(current, out);
+    }
+
+    // The rule set last published by the reloader
+    public SuggestionRules getRules() {
+        return rules;
+    }
+
+    // Times the rule file has been read and published; bundled rules do not count
+    public int getReloadCount() {
+        return reloadCount;
+    }
+
+    // Stop checking the file; the current rules stay usable
+    @Override
+    public void close() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    private void reloadIfChanged() {
+        try {
+            long modified;
+            long size;
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(rulesFile, BasicFileAttributes.class);
+                modified = attributes.lastModifiedTime().toMillis();
+                size = attributes.size();
+            } catch (NoSuchFileException e) {
+                if (rules == null) {
+                    rules = SuggestionRules.compile(readBundledRules());
+                }
+                return;
+            }
+            if (rules != null && modified == loadedModified && size == loadedSize) {
+                return;
+            }
+
+            rules = SuggestionRules.compile(new JSONObject(Files.readString(rulesFile, StandardCharsets.UTF_8)));
+            loadedModified = modified;
+            loadedSize = size;
+            reloadCount++;
+        } catch (Exception e) {
+            System.err.println("Could not load suggestion rules from " + rulesFile + ": " + e.getMessage());
+            if (rules == null) {
+                rules = SuggestionRules.compile(readBundledRules());
+            }
+        }
+    }
+
+    private static JSONObject readBundledRules() {
+        try (InputStream in = WeatherSuggestions.class.getResourceAsStream(BUNDLED_RULES)) {
+            if (in == null) {
+                return new JSONObject().put("rules", new JSONArray());
+            }
+            return new JSONObject(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new JSONObject().put("rules", new JSONArray());
+        }
+    }
+}
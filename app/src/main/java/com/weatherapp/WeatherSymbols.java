@@ -0,0 +1,149 @@
+package com.weatherapp;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Keyword-to-symbol tables for suggestions, to-do items and weather conditions, compiled
+// once into matchers. Kept apart from the UI so they can be used headless.
+public final class WeatherSymbols {
+    // Mapping of keywords to symbols; declaration order breaks ties between equal matches
+    private static final Map<String, String> SUGGESTION_SYMBOLS = new LinkedHashMap<>() {{
+        // Food and Drink
+        put("eat", "🍽️");
+        put("food", "🍔");
+        put("cook", "🥘");
+        put("restaurant", "🍣");
+        put("drink", "🍹");
+        put("coffee", "☕");
+
+        // Activities
+        put("walk", "🚶");
+        put("run", "🏃");
+        put("exercise", "💪");
+        put("gym", "🏋️");
+        put("bike", "🚲");
+        put("swim", "🏊");
+        put("hike", "🥾");
+
+        // Work and Study
+        put("work", "💼");
+        put("study", "📚");
+        put("meeting", "👥");
+        put("project", "📊");
+        put("report", "📝");
+
+        // Home and Chores
+        put("clean", "🧹");
+        put("laundry", "🧺");
+        put("groceries", "🛒");
+        put("garden", "🌱");
+
+        // Entertainment and Leisure
+        put("movie", "🎬");
+        put("music", "🎵");
+        put("read", "📖");
+        put("game", "🎮");
+        put("shop", "🛍️");
+        put("art", "🎨");
+
+        // Travel and Outdoors
+        put("travel", "✈️");
+        put("trip", "🧳");
+        put("vacation", "🏖️");
+        put("camp", "⛺");
+
+        // Personal Care
+        put("sleep", "😴");
+        put("relax", "🧘");
+        put("health", "❤️");
+        put("doctor", "🩺");
+
+        // Technology
+        put("computer", "💻");
+        put("phone", "📱");
+        put("code", "💻");
+        put("email", "📧");
+
+        // General
+        put("plan", "📅");
+        put("buy", "🛒");
+        put("go", "🚀");
+        put("check", "✅");
+    }};
+
+    // Weather condition to symbols mapping
+    private static final Map<String, String> WEATHER_SYMBOLS = new LinkedHashMap<>() {{
+        put("clear", "☀️");
+        put("sunny", "☀️");
+        put("cloud", "☁️");
+        put("cloudy", "☁️");
+        put("rain", "🌧️");
+        put("shower", "🌧️");
+        put("drizzle", "🌦️");
+        put("snow", "❄️");
+        put("mist", "🌫️");
+        put("fog", "🌫️");
+        put("thunder", "⚡");
+        put("storm", "🌩️");
+        put("wind", "💨");
+        put("hot", "🔥");
+        put("cold", "🧊");
+        put("default", "🌤️");
+    }};
+
+    // Keyword maps compiled once into single-pass matchers
+    private static final KeywordMatcher<String> SUGGESTION_MATCHER = KeywordMatcher.compile(SUGGESTION_SYMBOLS);
+    public static final KeywordMatcher<String> WEATHER_MATCHER = KeywordMatcher.compile(WEATHER_SYMBOLS);
+    public static final String DEFAULT_WEATHER_SYMBOL = WEATHER_SYMBOLS.get("default");
+
+    // Default symbols for when no keyword match is found
+    private static final String[] DEFAULT_SYMBOLS = {
+            "🌈", "🌟", "🍀", "🚀", "🔮", "🎲", "🧩", "🌻",
+            "🦄", "🍁", "🌍", "🎈", "🦋", "🍄", "🎭"
+    };
+
+    // Symbols a to-do item saved by older versions may start with
+    private static final Set<String> KNOWN_SYMBOLS = new HashSet<>(SUGGESTION_SYMBOLS.values());
+
+    static {
+        KNOWN_SYMBOLS.addAll(Arrays.asList(DEFAULT_SYMBOLS));
+    }
+
+    // Read-only keyword tables in declaration order, for tests and benchmarks
+    public static Map<String, String> suggestionSymbols() {
+        return Collections.unmodifiableMap(SUGGESTION_SYMBOLS);
+    }
+
+    public static Map<String, String> weatherSymbols() {
+        return Collections.unmodifiableMap(WEATHER_SYMBOLS);
+    }
+
+    // Method to find the most relevant symbol for a suggestion
+    public static String findMostRelevantSymbol(String suggestion) {
+        // Best keyword match, case-insensitive, in one pass over the text
+        String symbol = SUGGESTION_MATCHER.findBest(suggestion);
+        if (symbol != null) {
+            return symbol;
+        }
+
+        // If no match found, pick a default symbol from the text, so it stays the same
+        // every time the item is shown
+        return DEFAULT_SYMBOLS[Math.floorMod(suggestion.hashCode(), DEFAULT_SYMBOLS.length)];
+    }
+
+    // Symbol shown in front of a to-do item; items saved by older versions already start with one
+    public static String forTodo(String item) {
+        int space = item.indexOf(' ');
+        if (space > 0 && KNOWN_SYMBOLS.contains(item.substring(0, space))) {
+            return null;
+        }
+        return findMostRelevantSymbol(item);
+    }
+
+    private WeatherSymbols() {
+    }
+}
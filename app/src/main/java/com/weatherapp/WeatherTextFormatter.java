@@ -0,0 +1,199 @@
+package com.weatherapp;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+// Weather display text written straight from a WeatherSnapshot into a caller's builder or
+// Appendable, in one pass with constant prefixes. The output is identical to formatting
+// WeatherParser's current/forecast text line by line and prefixing each line with the
+// symbol for the label it contains. Field values that themselves contain a label or a
+// line break would change that classification, so such snapshots take the line-by-line
+// path instead.
+public final class WeatherTextFormatter {
+    private static final String LOCATION = "📍 Location: ";
+    private static final String TEMPERATURE = "🌡 Temperature: ";
+    private static final String HUMIDITY = "💧 Humidity: ";
+    private static final String WIND = "🌬 Wind: ";
+    private static final String CONDITION = " Condition: ";
+    private static final String FORECAST = "📅 Forecast:\n";
+
+    // Line labels in the order they are tested, with the prefix each one gets
+    private static final String[] LABELS = {"Temperature:", "Humidity:", "Wind:", "Condition:", "Forecast:",
+            "dt_txt", "Air Pollution Data:", "CO:", "NO₂:", "SO₂:", "PM2.5:"};
+    private static final String[] LABEL_PREFIXES = {"🌡 ", "💧 ", "🌬 ", null, "📅 ", null, null,
+            "⚗️ ", "🧪 ", "💨 ", "😷 "};
+    private static final int CONDITION_LABEL = 3;
+    private static final int FORECAST_ENTRY_LABEL = 5;
+    private static final int AIR_POLLUTION_LABEL = 6;
+
+    private final KeywordMatcher<String> weatherSymbols;
+    private final String defaultSymbol;
+
+    public WeatherTextFormatter(KeywordMatcher<String> weatherSymbols, String defaultSymbol) {
+        this.weatherSymbols = weatherSymbols;
+        this.defaultSymbol = defaultSymbol;
+    }
+
+    // Full display text: location, current conditions, forecast and air pollution
+    public void format(WeatherSnapshot snapshot, Appendable out) throws IOException {
+        if (!isPlain(snapshot)) {
+            formatByLines(snapshot, out);
+            return;
+        }
+
+        CurrentConditions current = snapshot.getCurrent();
+        String weatherSymbol = weatherSymbols.findBest(snapshot.getConditionSummary(), defaultSymbol);
+        out.append(LOCATION).append(snapshot.getCity()).append("\n\n");
+        out.append(TEMPERATURE);
+        appendNumber(out, current.getTemperature());
+        out.append("°C\n").append(HUMIDITY);
+        appendNumber(out, current.getHumidity());
+        out.append("%\n").append(WIND);
+        appendNumber(out, current.getWindSpeed());
+        out.append(" m/s\n").append(weatherSymbol).append(CONDITION)
+                .append(current.getConditionMain()).append(" - ").append(current.getConditionDescription())
+                .append("\n\n");
+
+        out.append(FORECAST);
+        for (ForecastEntry entry : snapshot.getForecast()) {
+            out.append("  ").append(entry.getTimestamp()).append(" - ");
+            appendNumber(out, entry.getTemperature());
+            out.append("°C - ").append(entry.getConditionMain()).append(" - ")
+                    .append(entry.getConditionDescription()).append('\n');
+        }
+        out.append('\n').append(snapshot.formatAirPollution());
+    }
+
+    public StringBuilder format(WeatherSnapshot snapshot, StringBuilder out) {
+        try {
+            format(snapshot, (Appendable) out);
+            return out;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder does not throw
+        }
+    }
+
+    public String format(WeatherSnapshot snapshot) {
+        return format(snapshot, new StringBuilder(256 + 64 * snapshot.getForecast().size())).toString();
+    }
+
+    // Prefix every line of text with the symbol for the first label it contains; lines are
+    // split as String.split("\n") would, so trailing empty lines are dropped
+    public void formatLines(String text, String weatherCondition, Appendable out) throws IOException {
+        String weatherSymbol = weatherSymbols.findBest(weatherCondition, defaultSymbol);
+        int end = text.length();
+        while (end > 0 && text.charAt(end - 1) == '\n') {
+            end--;
+        }
+        if (text.isEmpty()) {
+            out.append('\n');
+            return;
+        }
+
+        int start = 0;
+        while (start < end) {
+            int lineEnd = text.indexOf('\n', start);
+            if (lineEnd < 0 || lineEnd > end) {
+                lineEnd = end;
+            }
+            appendLine(text, start, lineEnd, weatherSymbol, out);
+            start = lineEnd + 1;
+        }
+    }
+
+    private void appendLine(String text, int start, int end, String weatherSymbol, Appendable out)
+            throws IOException {
+        int label = firstLabel(text, start, end);
+        if (label == AIR_POLLUTION_LABEL) {
+            out.append("\n🌍 Air Pollution Data:\n");
+            return;
+        }
+        if (label == CONDITION_LABEL) {
+            out.append(weatherSymbol).append(' ');
+        } else if (label == FORECAST_ENTRY_LABEL) {
+            // Forecast entry: symbol for the condition after the last dash
+            int dash = text.lastIndexOf('-', end - 1);
+            String symbol = "📆";
+            if (dash >= start) {
+                symbol = weatherSymbols.findBest(text, dash + 1, end);
+                if (symbol == null) {
+                    symbol = defaultSymbol;
+                }
+            }
+            out.append(symbol).append(' ');
+        } else if (label >= 0) {
+            out.append(LABEL_PREFIXES[label]);
+        }
+        out.append(text, start, end).append('\n');
+    }
+
+    // Index of the first label contained in text[start, end), case-sensitively, or -1
+    private static int firstLabel(String text, int start, int end) {
+        for (int i = 0; i < LABELS.length; i++) {
+            int found = text.indexOf(LABELS[i], start);
+            if (found >= 0 && found + LABELS[i].length() <= end) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void formatByLines(WeatherSnapshot snapshot, Appendable out) throws IOException {
+        String weatherCondition = snapshot.getConditionSummary();
+        out.append(LOCATION).append(snapshot.getCity()).append("\n\n");
+        formatLines(WeatherParser.formatCurrentWeather(snapshot.getCurrent()), weatherCondition, out);
+        out.append('\n');
+        formatLines(WeatherParser.formatForecast(snapshot.getForecast()), weatherCondition, out);
+        out.append('\n').append(snapshot.formatAirPollution());
+    }
+
+    // True when no text field contains a label or line break
+    private static boolean isPlain(WeatherSnapshot snapshot) {
+        CurrentConditions current = snapshot.getCurrent();
+        if (!isPlain(current.getConditionMain()) || !isPlain(current.getConditionDescription())) {
+            return false;
+        }
+        List<ForecastEntry> forecast = snapshot.getForecast();
+        for (int i = 0; i < forecast.size(); i++) {
+            ForecastEntry entry = forecast.get(i);
+            if (!isPlain(entry.getTimestamp()) || !isPlain(entry.getConditionMain())
+                    || !isPlain(entry.getConditionDescription())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPlain(String value) {
+        if (value == null) {
+            return true;
+        }
+        if (value.indexOf('\n') >= 0) {
+            return false;
+        }
+        for (String label : LABELS) {
+            if (value.contains(label)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Same digits as StringBuilder.append(double), without an intermediate String when possible
+    private static void appendNumber(Appendable out, double value) throws IOException {
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(value);
+        } else {
+            out.append(Double.toString(value));
+        }
+    }
+
+    private static void appendNumber(Appendable out, int value) throws IOException {
+        if (out instanceof StringBuilder) {
+            ((StringBuilder) out).append(value);
+        } else {
+            out.append(Integer.toString(value));
+        }
+    }
+}
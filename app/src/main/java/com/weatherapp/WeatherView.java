@@ -0,0 +1,305 @@
+package com.weatherapp;
+
+import javax.swing.BorderFactory;
+import javax.swing.Box;
+import javax.swing.BoxLayout;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JTextArea;
+import javax.swing.JViewport;
+import javax.swing.Scrollable;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
+// Weather display made of one component per field: location, each current condition,
+// each forecast row and each pollutant. Sections are filled independently as fetch stages
+// complete, and a label is only touched when its text changes, so a refresh that brings
+// the same values re-lays out and repaints nothing. Used on the EDT only.
+public class WeatherView extends JPanel implements Scrollable {
+    private static final String[] POLLUTANTS = {"CO: ", "NO₂: ", "SO₂: ", "PM2.5: "};
+
+    private final KeywordMatcher<String> weatherSymbols;
+    private final String defaultSymbol;
+    private final Font font;
+    private final List<JComponent> texts = new ArrayList<>();
+    private final StringBuilder line = new StringBuilder(96);
+
+    private final JTextArea message;
+    private final JLabel location;
+    private final JPanel currentSection;
+    private final JLabel temperature;
+    private final JLabel humidity;
+    private final JLabel wind;
+    private final JLabel condition;
+    private final JPanel forecastSection;
+    private final JPanel forecastRows;
+    private final List<JLabel> rows = new ArrayList<>();
+    private final JPanel airSection;
+    private final JLabel[] pollutants = new JLabel[POLLUTANTS.length];
+    private final JLabel airNote;
+
+    private String city;
+    private volatile long updates; // Written on the EDT only; volatile for diagnostics readers
+
+    public WeatherView(KeywordMatcher<String> weatherSymbols, String defaultSymbol, Font font) {
+        this.weatherSymbols = weatherSymbols;
+        this.defaultSymbol = defaultSymbol;
+        this.font = font;
+        setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
+        setBorder(BorderFactory.createEmptyBorder(4, 4, 4, 4));
+
+        // Status and error text, and weather saved as plain text by older versions
+        message = new JTextArea();
+        message.setFont(font);
+        message.setEditable(false);
+        message.setOpaque(false);
+        message.setLineWrap(true);
+        message.setWrapStyleWord(true);
+        message.setAlignmentX(LEFT_ALIGNMENT);
+        message.setVisible(false);
+        texts.add(message);
+        add(message);
+
+        location = label();
+        location.setVisible(false);
+        add(location);
+
+        currentSection = section();
+        temperature = addLabel(currentSection);
+        humidity = addLabel(currentSection);
+        wind = addLabel(currentSection);
+        condition = addLabel(currentSection);
+        add(currentSection);
+
+        forecastSection = section();
+        addLabel(forecastSection).setText("📅 Forecast:");
+        forecastRows = section();
+        forecastRows.setBorder(null);
+        forecastRows.setVisible(true);
+        forecastSection.add(forecastRows);
+        add(forecastSection);
+
+        airSection = section();
+        addLabel(airSection).setText("Air Pollution Data:");
+        for (int i = 0; i < pollutants.length; i++) {
+            pollutants[i] = addLabel(airSection);
+        }
+        airNote = addLabel(airSection);
+        add(airSection);
+        add(Box.createVerticalGlue());
+
+        setForeground(getForeground());
+    }
+
+    // Show a status line above the weather, e.g. while a fetch for the same city runs
+    public void showStatus(String text) {
+        setText(message, text);
+        setVisible(message, true);
+    }
+
+    // Replace the weather with a message
+    public void showError(String text) {
+        clear();
+        showStatus(text);
+    }
+
+    // Weather saved as text by older versions
+    public void showLegacyText(String text) {
+        showError(text);
+    }
+
+    // A fetch has started: keep the shown weather if it is for the same city, otherwise clear it
+    public void beginFetch(String city) {
+        if (this.city == null || !this.city.equalsIgnoreCase(city.trim())) {
+            clear();
+        }
+        showStatus("Fetching weather data...");
+    }
+
+    public void showSnapshot(WeatherSnapshot snapshot) {
+        showCurrent(snapshot.getCity(), snapshot.getCurrent());
+        showForecast(snapshot.getForecast());
+        showAirQuality(snapshot.getAirQuality(), snapshot.getAirQualityStatus());
+    }
+
+    public void showCurrent(String city, CurrentConditions current) {
+        this.city = city.trim();
+        setVisible(message, false);
+        setText(location, "📍 Location: " + city);
+        setVisible(location, true);
+
+        line.setLength(0);
+        setText(temperature, line.append("🌡 Temperature: ").append(current.getTemperature()).append("°C"));
+        line.setLength(0);
+        setText(humidity, line.append("💧 Humidity: ").append(current.getHumidity()).append('%'));
+        line.setLength(0);
+        setText(wind, line.append("🌬 Wind: ").append(current.getWindSpeed()).append(" m/s"));
+        line.setLength(0);
+        line.append(current.getConditionMain()).append(" - ").append(current.getConditionDescription());
+        String symbol = weatherSymbols.findBest(line, defaultSymbol);
+        line.insert(0, " Condition: ").insert(0, symbol);
+        setText(condition, line);
+        setVisible(currentSection, true);
+    }
+
+    public void showForecast(List<ForecastEntry> forecast) {
+        setVisible(message, false);
+        while (rows.size() < forecast.size()) {
+            JLabel row = addLabel(forecastRows);
+            rows.add(row);
+            updates++;
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            JLabel row = rows.get(i);
+            if (i < forecast.size()) {
+                ForecastEntry entry = forecast.get(i);
+                line.setLength(0);
+                line.append("  ").append(entry.getTimestamp()).append(" - ").append(entry.getTemperature())
+                        .append("°C - ").append(entry.getConditionMain()).append(" - ")
+                        .append(entry.getConditionDescription());
+                setText(row, line);
+            }
+            setVisible(row, i < forecast.size());
+        }
+        setVisible(forecastSection, true);
+    }
+
+    public void showAirQuality(AirQuality airQuality, WeatherSnapshot.AirQualityStatus status) {
+        if (status == WeatherSnapshot.AirQualityStatus.UNAVAILABLE) {
+            setVisible(airSection, false);
+            return;
+        }
+
+        boolean available = status == WeatherSnapshot.AirQualityStatus.AVAILABLE && airQuality != null;
+        if (available) {
+            double[] values = {airQuality.getCo(), airQuality.getNo2(), airQuality.getSo2(), airQuality.getPm25()};
+            for (int i = 0; i < pollutants.length; i++) {
+                line.setLength(0);
+                setText(pollutants[i], line.append(POLLUTANTS[i]).append(values[i]).append(" μg/m³"));
+            }
+        } else {
+            setText(airNote, status == WeatherSnapshot.AirQualityStatus.PARSE_ERROR ?
+                    "Error parsing air pollution data." : "No air pollution data available.");
+        }
+        for (JLabel pollutant : pollutants) {
+            setVisible(pollutant, available);
+        }
+        setVisible(airNote, !available);
+        setVisible(airSection, true);
+    }
+
+    // Hide every weather section
+    public void clear() {
+        city = null;
+        setVisible(location, false);
+        setVisible(currentSection, false);
+        setVisible(forecastSection, false);
+        setVisible(airSection, false);
+    }
+
+    // Components whose text or visibility was changed; each one is a relayout and repaint
+    public long getUpdates() {
+        return updates;
+    }
+
+    // Labels are transparent, so the theme's background shows through; the foreground
+    // is passed on to every label, including forecast rows added later
+    @Override
+    public void setForeground(Color foreground) {
+        super.setForeground(foreground);
+        if (texts != null) {
+            for (JComponent text : texts) {
+                text.setForeground(foreground);
+            }
+        }
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return font.getSize() + 6;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return visibleRect.height;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true;
+    }
+
+    // Fill the viewport when the content is shorter, so the theme background covers it
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return getParent() instanceof JViewport && getParent().getHeight() > getPreferredSize().height;
+    }
+
+    @Override
+    public String toString() {
+        return "view updates=" + updates;
+    }
+
+    private void setText(JLabel label, CharSequence text) {
+        if (!contentEquals(label.getText(), text)) {
+            label.setText(text.toString());
+            updates++;
+        }
+    }
+
+    private void setText(JTextArea area, String text) {
+        if (!text.equals(area.getText())) {
+            area.setText(text);
+            updates++;
+        }
+    }
+
+    private void setVisible(Component component, boolean visible) {
+        if (component.isVisible() != visible) {
+            component.setVisible(visible);
+            updates++;
+        }
+    }
+
+    private static boolean contentEquals(String current, CharSequence text) {
+        return current != null && current.contentEquals(text);
+    }
+
+    private JLabel label() {
+        JLabel label = new JLabel();
+        label.setFont(font);
+        label.setAlignmentX(LEFT_ALIGNMENT);
+        label.setForeground(getForeground());
+        texts.add(label);
+        return label;
+    }
+
+    private JLabel addLabel(JPanel section) {
+        JLabel label = label();
+        section.add(label);
+        return label;
+    }
+
+    // Transparent vertical group, hidden until it has data; a gap above separates it
+    // from the previous section as the blank lines did in the text display
+    private JPanel section() {
+        JPanel section = new JPanel();
+        section.setLayout(new BoxLayout(section, BoxLayout.Y_AXIS));
+        section.setOpaque(false);
+        section.setAlignmentX(LEFT_ALIGNMENT);
+        section.setBorder(BorderFactory.createEmptyBorder(font.getSize(), 0, 0, 0));
+        section.setVisible(false);
+        return section;
+    }
+}
@@ -0,0 +1,132 @@
+package com.weatherapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Journal-mode persistence: replay on top of the snapshot, and recovery from damaged logs
+class AppStateStoreTest {
+    @TempDir
+    Path dir;
+
+    private Path stateFile() {
+        return dir.resolve("weather_data.json");
+    }
+
+    private Path journalFile() {
+        return dir.resolve("weather_data.json.journal");
+    }
+
+    private AppStateStore open(int compactThreshold) {
+        AppStateStore store = new AppStateStore(stateFile(), 0, 0, new StateJournal(journalFile()),
+                compactThreshold);
+        store.load();
+        return store;
+    }
+
+    private AppStateStore open() {
+        return open(1_000);
+    }
+
+    private void writeJournal(String content) throws IOException {
+        Files.writeString(journalFile(), content, StandardCharsets.UTF_8);
+    }
+
+    private static String addTodo(String item, long seq) {
+        return "{\"op\":\"addTodo\",\"item\":\"" + item + "\",\"seq\":" + seq + "}\n";
+    }
+
+    @Test
+    void replaysJournalWrittenAfterCompaction() {
+        try (AppStateStore store = open(4)) {
+            for (String item : List.of("a", "b", "c", "d", "e")) {
+                store.addTodoItem(item);
+                store.flush();
+            }
+            store.removeTodoItem(0);
+            store.flush();
+            assertEquals(1, store.getCompactionCount());
+        }
+
+        try (AppStateStore store = open()) {
+            assertEquals(List.of("b", "c", "d", "e"), store.getTodoItems());
+        }
+    }
+
+    @Test
+    void skipsRecordsTheSnapshotAlreadyIncludes() throws IOException {
+        // A crash between writing the snapshot and truncating the journal leaves both
+        Files.writeString(stateFile(), "{\"version\":2,\"todoItems\":[\"a\",\"b\"],\"suggestions\":[]}");
+        writeJournal(addTodo("a", 1) + addTodo("b", 2) + addTodo("c", 3));
+
+        try (AppStateStore store = open()) {
+            assertEquals(List.of("a", "b", "c"), store.getTodoItems());
+            store.addTodoItem("d");
+        }
+        try (AppStateStore store = open()) {
+            assertEquals(List.of("a", "b", "c", "d"), store.getTodoItems());
+        }
+    }
+
+    @Test
+    void dropsTornLastLineAndKeepsLaterWrites() throws IOException {
+        writeJournal(addTodo("a", 1) + addTodo("b", 2) + "{\"op\":\"addTodo\",\"it");
+
+        try (AppStateStore store = open()) {
+            assertEquals(List.of("a", "b"), store.getTodoItems());
+            store.addTodoItem("c");
+        }
+        assertFalse(Files.readString(journalFile()).contains("\"it\n"));
+        try (AppStateStore store = open()) {
+            assertEquals(List.of("a", "b", "c"), store.getTodoItems());
+        }
+    }
+
+    @Test
+    void stopsAtRecordWithoutSeq() throws IOException {
+        writeJournal(addTodo("a", 1) + "{\"op\":\"addTodo\",\"item\":\"b\"}\n" + addTodo("c", 3));
+
+        try (AppStateStore store = open()) {
+            assertEquals(List.of("a"), store.getTodoItems());
+            store.addTodoItem("d");
+        }
+        try (AppStateStore store = open()) {
+            assertEquals(List.of("a", "d"), store.getTodoItems());
+        }
+    }
+
+    @Test
+    void stopsAtMalformedSetWeather() throws IOException {
+        writeJournal(addTodo("a", 1) + "{\"op\":\"setWeather\",\"weather\":{\"city\":\"London\"},\"seq\":2}\n"
+                + addTodo("c", 3));
+
+        try (AppStateStore store = open()) {
+            assertEquals(List.of("a"), store.getTodoItems());
+            assertNull(store.getWeather());
+            store.addTodoItem("d");
+        }
+        try (AppStateStore store = open()) {
+            assertEquals(List.of("a", "d"), store.getTodoItems());
+            assertNull(store.getWeather());
+        }
+    }
+
+    @Test
+    void malformedRecordLeavesStateUntouched() throws IOException {
+        writeJournal("{\"op\":\"setSuggestions\",\"items\":[\"keep\"],\"seq\":1}\n"
+                + "{\"op\":\"setSuggestions\",\"items\":[\"lost\",{}],\"seq\":2}\n");
+
+        try (AppStateStore store = open()) {
+            assertEquals(List.of("keep"), store.getSuggestions());
+        }
+    }
+}
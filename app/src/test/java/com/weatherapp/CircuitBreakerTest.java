@@ -0,0 +1,117 @@
+package com.weatherapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+// State machine: CLOSED -> OPEN after consecutive failures, one trial in HALF_OPEN, then back
+class CircuitBreakerTest {
+    private static final long OPEN_MILLIS = 100;
+
+    private static CircuitBreaker breaker(int threshold) {
+        return new CircuitBreaker(threshold, OPEN_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private static void open(CircuitBreaker breaker, int threshold) throws CircuitOpenException {
+        for (int i = 0; i < threshold; i++) {
+            breaker.acquirePermission();
+            breaker.onFailure("HTTP 503");
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    // Wait out the open period, then take the trial permit
+    private static void halfOpen(CircuitBreaker breaker) throws Exception {
+        Thread.sleep(OPEN_MILLIS + 20);
+        breaker.acquirePermission();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+
+    @Test
+    void opensAfterConsecutiveFailuresOnly() throws Exception {
+        CircuitBreaker breaker = breaker(3);
+        breaker.onFailure("a");
+        breaker.onFailure("b");
+        breaker.onSuccess();
+        breaker.onFailure("c");
+        breaker.onFailure("d");
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.onFailure("e");
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals("e", breaker.getLastFailure());
+    }
+
+    @Test
+    void openCircuitShedsWithRetryDelay() throws Exception {
+        CircuitBreaker breaker = breaker(2);
+        open(breaker, 2);
+        CircuitOpenException shed = assertThrows(CircuitOpenException.class, breaker::acquirePermission);
+        assertTrue(shed.getRetryInMillis() > 0 && shed.getRetryInMillis() <= OPEN_MILLIS, shed.getMessage());
+        assertTrue(shed.getMessage().contains("HTTP 503"), shed.getMessage());
+        assertEquals(1, breaker.getShedCount());
+    }
+
+    @Test
+    void halfOpenLetsOneTrialThroughAndSuccessCloses() throws Exception {
+        CircuitBreaker breaker = breaker(2);
+        open(breaker, 2);
+        halfOpen(breaker);
+
+        // Everyone else is shed while the trial is in flight
+        CircuitOpenException shed = assertThrows(CircuitOpenException.class, breaker::acquirePermission);
+        assertEquals(0, shed.getRetryInMillis());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.acquirePermission();
+        breaker.acquirePermission();
+    }
+
+    @Test
+    void failedTrialReopensAtOnce() throws Exception {
+        CircuitBreaker breaker = breaker(5);
+        open(breaker, 5);
+        halfOpen(breaker);
+
+        breaker.onFailure("timeout");
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(CircuitOpenException.class, breaker::acquirePermission);
+
+        // And the next open period again ends in a single trial
+        halfOpen(breaker);
+        assertThrows(CircuitOpenException.class, breaker::acquirePermission);
+    }
+
+    @Test
+    void ignoredTrialFreesTheTrialSlot() throws Exception {
+        CircuitBreaker breaker = breaker(1);
+        open(breaker, 1);
+        halfOpen(breaker);
+
+        // A cancelled trial says nothing about upstream health
+        breaker.onIgnored();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.acquirePermission();
+        assertThrows(CircuitOpenException.class, breaker::acquirePermission);
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void ignoredOutcomesDoNotCountAsFailures() throws Exception {
+        CircuitBreaker breaker = breaker(2);
+        breaker.onFailure("a");
+        for (int i = 0; i < 5; i++) {
+            breaker.acquirePermission();
+            breaker.onIgnored();
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.onFailure("b");
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+}
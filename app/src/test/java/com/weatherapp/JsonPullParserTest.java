@@ -0,0 +1,197 @@
+package com.weatherapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class JsonPullParserTest {
+
+    private static JsonPullParser parser(String json) {
+        return new JsonPullParser(new StringReader(json));
+    }
+
+    @Test
+    void decodesEscapes() throws IOException {
+        JsonPullParser parser = parser("[\"a\\\"b\\\\c\\/d\\n\\t\\r\\b\\f\", \"\\u00e9\\u00E9\", \"x\\ud83c\\udf27y\"]");
+        parser.beginArray();
+        assertEquals("a\"b\\c/d\n\t\r\b\f", parser.nextString());
+        assertEquals("éé", parser.nextString());
+        String surrogates = parser.nextString();
+        assertEquals("x🌧y", surrogates);
+        assertEquals(3, surrogates.codePointCount(0, surrogates.length()));
+        assertFalse(parser.hasNext());
+        parser.endArray();
+    }
+
+    @Test
+    void decodesUtf8FromStream() throws IOException {
+        byte[] json = "{\"description\":\"légère pluie 🌧\"}".getBytes(StandardCharsets.UTF_8);
+        JsonPullParser parser = new JsonPullParser(new ByteArrayInputStream(json));
+        parser.beginObject();
+        assertEquals(0, parser.nextName(new String[]{"description"}));
+        assertEquals("légère pluie 🌧", parser.nextString());
+        parser.endObject();
+    }
+
+    @Test
+    void rejectsMalformedUnicodeEscape() {
+        JsonPullParser parser = parser("[\"\\u12G4\"]");
+        assertThrows(JsonPullParser.MalformedJsonException.class, () -> {
+            parser.beginArray();
+            parser.nextString();
+        });
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "-12", "12.64", "1.5e3", "-2.5E-2", "1e+2", "12345678901234567", "-0.0",
+            "123456789012345", "1234567890123456"})
+    void parsesNumbersLikeDoubleParseDouble(String number) throws IOException {
+        JsonPullParser parser = parser("[" + number + "]");
+        parser.beginArray();
+        assertEquals(Double.parseDouble(number), parser.nextDouble());
+        parser.endArray();
+    }
+
+    @Test
+    void readsNumericStringsAsNumbersAndNumbersAsStrings() throws IOException {
+        JsonPullParser parser = parser("[\"12.5\", 81, 500]");
+        parser.beginArray();
+        assertEquals(12.5, parser.nextDouble());
+        assertEquals(81, parser.nextInt());
+        assertEquals("500", parser.nextString());
+        parser.endArray();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"[1.2.3]", "[--1]", "[e]"})
+    void rejectsMalformedNumbers(String json) {
+        JsonPullParser parser = parser(json);
+        assertThrows(JsonPullParser.MalformedJsonException.class, () -> {
+            parser.beginArray();
+            parser.nextDouble();
+        });
+    }
+
+    @Test
+    void skipsNestedValuesWithBracketsInStrings() throws IOException {
+        JsonPullParser parser = parser("{\"a\":[{\"b\":[1,2,{\"c\":\"}]\\\"[{\"}]}],\"s\":\"x\",\"t\":true,"
+                + "\"n\":null,\"d\":5}");
+        String[] names = {"d"};
+        parser.beginObject();
+        int value = -1;
+        while (parser.hasNext()) {
+            if (parser.nextName(names) == 0) {
+                value = parser.nextInt();
+            } else {
+                parser.skipValue();
+            }
+        }
+        parser.endObject();
+        assertEquals(5, value);
+        assertEquals(JsonPullParser.Token.END_DOCUMENT, parser.peek());
+    }
+
+    @Test
+    void reportsTokensAndNames() throws IOException {
+        JsonPullParser parser = parser("{\"k\":[\"v\", 1, true, null], \"other\": {}}");
+        assertEquals(JsonPullParser.Token.BEGIN_OBJECT, parser.peek());
+        parser.beginObject();
+        assertEquals(JsonPullParser.Token.NAME, parser.peek());
+        assertEquals(1, parser.nextName(new String[]{"x", "k"}));
+        parser.beginArray();
+        assertEquals(JsonPullParser.Token.STRING, parser.peek());
+        parser.skipValue();
+        assertEquals(JsonPullParser.Token.NUMBER, parser.peek());
+        parser.skipValue();
+        assertEquals(JsonPullParser.Token.BOOLEAN, parser.peek());
+        parser.skipValue();
+        assertEquals(JsonPullParser.Token.NULL, parser.peek());
+        parser.skipValue();
+        assertEquals(JsonPullParser.Token.END_ARRAY, parser.peek());
+        parser.endArray();
+        assertEquals(-1, parser.nextName(new String[]{"k"}));
+        parser.beginObject();
+        parser.endObject();
+        parser.endObject();
+    }
+
+    @Test
+    void handlesDeepNesting() throws IOException {
+        int depth = 100;
+        JsonPullParser parser = parser("[".repeat(depth) + "7" + "]".repeat(depth));
+        for (int i = 0; i < depth; i++) {
+            parser.beginArray();
+        }
+        assertEquals(7, parser.nextInt());
+        for (int i = 0; i < depth; i++) {
+            parser.endArray();
+        }
+        assertEquals(JsonPullParser.Token.END_DOCUMENT, parser.peek());
+    }
+
+    @Test
+    void readsValuesAcrossBufferBoundaries() throws IOException {
+        // Longer than the 4096-char buffer, so strings, names and numbers straddle refills
+        String longText = "x".repeat(5000) + "\\u00e9";
+        JsonPullParser parser = parser("{\"pad\":\"" + "y".repeat(4090) + "\",\"long\":\"" + longText
+                + "\",\"number\":-1.25e-3}");
+        parser.beginObject();
+        assertEquals(-1, parser.nextName(new String[]{"long", "number"}));
+        parser.skipValue();
+        assertEquals(0, parser.nextName(new String[]{"long", "number"}));
+        assertEquals("x".repeat(5000) + "é", parser.nextString());
+        assertEquals(1, parser.nextName(new String[]{"long", "number"}));
+        assertEquals(-1.25e-3, parser.nextDouble());
+        parser.endObject();
+    }
+
+    @Test
+    void emptyInputIsEndOfDocument() throws IOException {
+        assertEquals(JsonPullParser.Token.END_DOCUMENT, parser("  \n").peek());
+        assertThrows(JsonPullParser.MalformedJsonException.class, () -> parser("").beginObject());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"{\"a\":\"unterminated", "{\"a\":1", "[1,2", "{\"a\":[{\"b\":1}"})
+    void rejectsTruncatedOrBrokenDocuments(String json) {
+        JsonPullParser parser = parser(json);
+        assertThrows(JsonPullParser.MalformedJsonException.class, () -> {
+            parser.skipValue();
+            if (parser.peek() != JsonPullParser.Token.END_DOCUMENT) {
+                throw new AssertionError("Trailing input");
+            }
+        });
+    }
+
+    @Test
+    void rejectsWrongTokenTypes() {
+        assertThrows(JsonPullParser.MalformedJsonException.class, () -> {
+            JsonPullParser parser = parser("[true]");
+            parser.beginArray();
+            parser.nextDouble();
+        });
+        assertThrows(JsonPullParser.MalformedJsonException.class, () -> {
+            JsonPullParser parser = parser("{\"a\":1}");
+            parser.beginArray();
+        });
+        assertThrows(JsonPullParser.MalformedJsonException.class, () -> {
+            JsonPullParser parser = parser("[1]");
+            parser.beginArray();
+            parser.nextName(new String[]{"a"});
+        });
+        assertThrows(JsonPullParser.MalformedJsonException.class, () -> {
+            JsonPullParser parser = parser("{\"a\" 1}");
+            parser.beginObject();
+            parser.nextName(new String[]{"a"});
+        });
+    }
+}
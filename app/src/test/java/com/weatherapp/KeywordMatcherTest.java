@@ -0,0 +1,207 @@
+package com.weatherapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+// findBest against the per-keyword contains() scan it replaced, over the real keyword tables
+class KeywordMatcherTest {
+    private static final String[] FILLER = {" ", "  ", "-", ", ", ".", "x", "ab", "car", "é", "ß", "Ä", "🌧",
+            "the ", "and ", "1", "_"};
+
+    // The old lookup: first keyword in declaration order that the lowercased text contains
+    private static <V> V oldScan(Map<String, V> table, String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (Map.Entry<String, V> entry : table.entrySet()) {
+            if (lower.contains(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static int matchingKeywords(Map<String, ?> table, String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        int count = 0;
+        for (String keyword : table.keySet()) {
+            if (lower.contains(keyword)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // The same scan over every occurrence, ranked by the rules documented on KeywordMatcher
+    private static <V> V rankedScan(Map<String, V> table, String text) {
+        String folded = fold(text);
+        V best = null;
+        int bestRank = -1;
+        int bestStart = 0;
+        for (Map.Entry<String, V> entry : table.entrySet()) {
+            String keyword = fold(entry.getKey());
+            if (keyword.isEmpty()) {
+                continue;
+            }
+            for (int at = folded.indexOf(keyword); at >= 0; at = folded.indexOf(keyword, at + 1)) {
+                boolean wordStart = at == 0 || !Character.isLetterOrDigit(text.charAt(at - 1));
+                int rank = (wordStart ? 1 << 20 : 0) + keyword.length();
+                if (rank > bestRank || (rank == bestRank && at < bestStart)) {
+                    best = entry.getValue();
+                    bestRank = rank;
+                    bestStart = at;
+                }
+            }
+        }
+        return best;
+    }
+
+    // Per-character lowercase, which keeps indices aligned with the original text
+    private static String fold(String text) {
+        StringBuilder folded = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            folded.append(Character.toLowerCase(text.charAt(i)));
+        }
+        return folded.toString();
+    }
+
+    // Texts built from keywords, keyword fragments and filler in random case
+    private static List<String> randomTexts(Map<String, ?> table, long seed, int count) {
+        List<String> keywords = new ArrayList<>(table.keySet());
+        Random random = new Random(seed);
+        List<String> texts = new ArrayList<>(count);
+        for (int n = 0; n < count; n++) {
+            StringBuilder text = new StringBuilder();
+            int parts = random.nextInt(6);
+            for (int p = 0; p < parts; p++) {
+                String part;
+                switch (random.nextInt(3)) {
+                    case 0:
+                        part = keywords.get(random.nextInt(keywords.size()));
+                        break;
+                    case 1:
+                        String keyword = keywords.get(random.nextInt(keywords.size()));
+                        part = keyword.substring(0, 1 + random.nextInt(keyword.length()));
+                        break;
+                    default:
+                        part = FILLER[random.nextInt(FILLER.length)];
+                }
+                for (int i = 0; i < part.length(); i++) {
+                    char c = part.charAt(i);
+                    text.append(random.nextInt(4) == 0 ? Character.toUpperCase(c) : c);
+                }
+            }
+            texts.add(text.toString());
+        }
+        return texts;
+    }
+
+    private static <V> void assertMatchesScans(Map<String, V> table, List<String> texts) {
+        KeywordMatcher<V> matcher = KeywordMatcher.compile(table);
+        for (String text : texts) {
+            V found = matcher.findBest(text);
+            assertEquals(rankedScan(table, text), found, text);
+            if (matchingKeywords(table, text) <= 1) {
+                // With at most one candidate there is nothing to rank, so the old scan agrees
+                assertEquals(oldScan(table, text), found, text);
+            }
+        }
+    }
+
+    @Test
+    void suggestionTableMatchesScan() {
+        Map<String, String> table = WeatherSymbols.suggestionSymbols();
+        assertMatchesScans(table, randomTexts(table, 16, 20_000));
+        assertMatchesScans(table, List.of("Buy groceries for the week", "Go for a run before it rains",
+                "Finish the quarterly report", "Call the doctor about the appointment", "Walk the dog",
+                "Something with no keyword at all", "", "EMAIL the team", "cargo", "Cargo shop"));
+    }
+
+    @Test
+    void weatherTableMatchesScan() {
+        Map<String, String> table = WeatherSymbols.weatherSymbols();
+        assertMatchesScans(table, randomTexts(table, 17, 20_000));
+        assertMatchesScans(table, List.of("Rain - light rain", "Clouds - overcast clouds", "Clear - clear sky",
+                "Snow - heavy snow", "Thunderstorm - thunderstorm with drizzle", "Partly cloudy", "Windy"));
+    }
+
+    @Test
+    void regionMatchesScanOfSubstring() {
+        Map<String, String> table = WeatherSymbols.weatherSymbols();
+        KeywordMatcher<String> matcher = KeywordMatcher.compile(table);
+        for (String text : randomTexts(table, 18, 5_000)) {
+            int start = text.length() / 3;
+            int end = text.length() - text.length() / 4;
+            assertEquals(rankedScan(table, text.substring(start, end)), matcher.findBest(text, start, end), text);
+        }
+    }
+
+    @Test
+    void longerKeywordWinsCloudyOverCloud() {
+        Map<String, String> table = new LinkedHashMap<>();
+        table.put("cloud", "cloud");
+        table.put("cloudy", "cloudy");
+        KeywordMatcher<String> matcher = KeywordMatcher.compile(table);
+        assertEquals("cloudy", matcher.findBest("Partly CLOUDY"));
+        assertEquals("cloud", matcher.findBest("overcast clouds"));
+        assertEquals("cloudy", matcher.findBest("clouds, later cloudy"));
+        assertMatchesScans(table, randomTexts(table, 19, 5_000));
+    }
+
+    @Test
+    void wordStartBeatsMidWordAndEarlierBeatsLater() {
+        Map<String, String> table = WeatherSymbols.suggestionSymbols();
+        KeywordMatcher<String> matcher = KeywordMatcher.compile(table);
+        assertEquals(table.get("groceries"), matcher.findBest("buy groceries"));
+        assertEquals(table.get("shop"), matcher.findBest("cargo shop"));
+        assertEquals(table.get("go"), matcher.findBest("cargo"));
+        assertEquals(table.get("shop"), matcher.findBest("shop code"));
+        assertEquals(table.get("code"), matcher.findBest("code shop"));
+    }
+
+    @Test
+    void declarationOrderBreaksTies() {
+        Map<String, Integer> table = new LinkedHashMap<>();
+        table.put("Rain", 1);
+        table.put("rain", 2);
+        table.put("RAIN", 3);
+        assertEquals(1, KeywordMatcher.compile(table).findBest("light rain"));
+
+        Map<String, Integer> reversed = new LinkedHashMap<>();
+        reversed.put("RAIN", 3);
+        reversed.put("rain", 2);
+        assertEquals(3, KeywordMatcher.compile(reversed).findBest("light rain"));
+    }
+
+    @Test
+    void foldsNonAsciiKeywordsAndText() {
+        Map<String, String> table = new LinkedHashMap<>();
+        table.put("glätte", "ice");
+        table.put("été", "summer");
+        table.put("straße", "road");
+        table.put("дождь", "rain");
+        table.put("ä", "umlaut");
+        KeywordMatcher<String> matcher = KeywordMatcher.compile(table);
+        assertEquals("ice", matcher.findBest("GLÄTTE auf den Straßen"));
+        assertEquals("summer", matcher.findBest("Été chaud"));
+        assertEquals("rain", matcher.findBest("Сильный ДОЖДЬ"));
+        assertEquals("umlaut", matcher.findBest("Äpfel"));
+        assertNull(matcher.findBest("glatte"));
+        assertMatchesScans(table, randomTexts(table, 20, 5_000));
+    }
+
+    @Test
+    void fallbackWhenNothingMatches() {
+        KeywordMatcher<String> matcher = KeywordMatcher.compile(WeatherSymbols.weatherSymbols());
+        assertNull(matcher.findBest("Haze - haze"));
+        assertEquals(WeatherSymbols.DEFAULT_WEATHER_SYMBOL,
+                matcher.findBest("Haze - haze", WeatherSymbols.DEFAULT_WEATHER_SYMBOL));
+    }
+}
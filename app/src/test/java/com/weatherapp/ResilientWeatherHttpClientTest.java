@@ -0,0 +1,143 @@
+package com.weatherapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+// Retries, Retry-After and circuit breaker bookkeeping around a scripted transport
+class ResilientWeatherHttpClientTest {
+    private static final URI URI_WEATHER = URI.create("http://127.0.0.1/data/2.5/weather?q=London");
+    private static final WeatherHttpClient.BodyReader<String> READ_TEXT =
+            body -> new String(body.readAllBytes(), StandardCharsets.UTF_8);
+
+    // Answers each call with the next scripted outcome: an exception to throw or a body to read
+    private static final class ScriptedClient implements WeatherHttpClient {
+        private final Deque<Object> outcomes = new ArrayDeque<>();
+        private int calls;
+
+        ScriptedClient then(Object outcome) {
+            outcomes.add(outcome);
+            return this;
+        }
+
+        @Override
+        public <T> T get(URI uri, BodyReader<T> reader) throws IOException {
+            calls++;
+            Object outcome = outcomes.remove();
+            if (outcome instanceof IOException) {
+                throw (IOException) outcome;
+            }
+            return reader.read(new ByteArrayInputStream(((String) outcome).getBytes(StandardCharsets.UTF_8)));
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static ResilientWeatherHttpClient client(ScriptedClient delegate, int failureThreshold,
+                                                     int maxAttempts, long maxDelayMillis) {
+        return new ResilientWeatherHttpClient(delegate, new TokenBucketRateLimiter(6_000, 100),
+                new CircuitBreaker(failureThreshold, 30, TimeUnit.SECONDS), maxAttempts, 1, maxDelayMillis);
+    }
+
+    private static long millisSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    @Test
+    void retriesServerErrorsAndConnectionFailures() throws IOException {
+        ScriptedClient delegate = new ScriptedClient().then(new WeatherApiException(503))
+                .then(new ConnectException("Connection refused")).then("ok");
+        ResilientWeatherHttpClient client = client(delegate, 5, 3, 50);
+
+        assertEquals("ok", client.get(URI_WEATHER, READ_TEXT));
+        assertEquals(3, delegate.calls);
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitBreaker().getState());
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        ScriptedClient delegate = new ScriptedClient().then(new WeatherApiException(500))
+                .then(new WeatherApiException(502)).then(new WeatherApiException(504)).then("never");
+        ResilientWeatherHttpClient client = client(delegate, 10, 3, 50);
+
+        WeatherApiException error = assertThrows(WeatherApiException.class, () -> client.get(URI_WEATHER, READ_TEXT));
+        assertEquals(504, error.getStatusCode());
+        assertEquals(3, delegate.calls);
+    }
+
+    @Test
+    void clientErrorsAreNotRetriedAndDoNotTripTheBreaker() {
+        ScriptedClient delegate = new ScriptedClient().then(new WeatherApiException(404))
+                .then(new WeatherApiException(404));
+        ResilientWeatherHttpClient client = client(delegate, 1, 3, 50);
+
+        assertThrows(WeatherApiException.class, () -> client.get(URI_WEATHER, READ_TEXT));
+        assertThrows(WeatherApiException.class, () -> client.get(URI_WEATHER, READ_TEXT));
+        assertEquals(2, delegate.calls);
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitBreaker().getState());
+    }
+
+    @Test
+    void honoursRetryAfterWithinMaxDelay() throws IOException {
+        ScriptedClient delegate = new ScriptedClient().then(new WeatherApiException(429, 150)).then("ok");
+        ResilientWeatherHttpClient client = client(delegate, 5, 3, 1_000);
+
+        long start = System.nanoTime();
+        assertEquals("ok", client.get(URI_WEATHER, READ_TEXT));
+        assertTrue(millisSince(start) >= 150, "Retried after " + millisSince(start) + " ms");
+        assertEquals(2, delegate.calls);
+    }
+
+    @Test
+    void givesUpWhenRetryAfterExceedsMaxDelay() {
+        ScriptedClient delegate = new ScriptedClient().then(new WeatherApiException(429, 60_000)).then("never");
+        ResilientWeatherHttpClient client = client(delegate, 5, 3, 1_000);
+
+        long start = System.nanoTime();
+        WeatherApiException error = assertThrows(WeatherApiException.class, () -> client.get(URI_WEATHER, READ_TEXT));
+        assertEquals(60_000, error.getRetryAfterMillis());
+        assertEquals(1, delegate.calls);
+        assertTrue(millisSince(start) < 500, "Gave up after " + millisSince(start) + " ms");
+    }
+
+    @Test
+    void openCircuitShedsWithoutCallingUpstream() {
+        ScriptedClient delegate = new ScriptedClient().then(new WeatherApiException(500))
+                .then(new WeatherApiException(500));
+        ResilientWeatherHttpClient client = client(delegate, 2, 1, 50);
+
+        assertThrows(WeatherApiException.class, () -> client.get(URI_WEATHER, READ_TEXT));
+        assertThrows(WeatherApiException.class, () -> client.get(URI_WEATHER, READ_TEXT));
+        assertThrows(CircuitOpenException.class, () -> client.get(URI_WEATHER, READ_TEXT));
+        assertEquals(2, delegate.calls);
+    }
+
+    @Test
+    void interruptDuringBackoffAborts() {
+        ScriptedClient delegate = new ScriptedClient().then(new WeatherApiException(503, 500)).then("never");
+        ResilientWeatherHttpClient client = client(delegate, 5, 3, 1_000);
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(InterruptedIOException.class, () -> client.get(URI_WEATHER, READ_TEXT));
+            assertTrue(Thread.currentThread().isInterrupted());
+            assertEquals(1, delegate.calls);
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
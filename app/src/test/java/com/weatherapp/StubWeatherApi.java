@@ -0,0 +1,132 @@
+package com.weatherapp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+// Local stand-in for the OpenWeatherMap API. Every endpoint serves its recorded payload
+// until a test installs its own handler to delay, fail or inspect the request.
+final class StubWeatherApi implements Closeable {
+    static {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "stub-weather-api");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, HttpHandler> handlers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> cities = new ConcurrentHashMap<>();
+
+    StubWeatherApi() throws IOException {
+        for (String endpoint : List.of("weather", "forecast", "air_pollution")) {
+            handlers.put(endpoint, payload("/payloads/" + endpoint + ".json"));
+        }
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/data/2.5/", this::dispatch);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/data/2.5/";
+    }
+
+    void on(String endpoint, HttpHandler handler) {
+        handlers.put(endpoint, handler);
+    }
+
+    int calls(String endpoint) {
+        AtomicInteger count = calls.get(endpoint);
+        return count == null ? 0 : count.get();
+    }
+
+    // Decoded q parameter of every request to the endpoint, in arrival order
+    List<String> cities(String endpoint) {
+        return cities.getOrDefault(endpoint, List.of());
+    }
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        String endpoint = exchange.getRequestURI().getPath().substring("/data/2.5/".length());
+        calls.computeIfAbsent(endpoint, e -> new AtomicInteger()).incrementAndGet();
+        String city = queryParameter(exchange, "q");
+        if (city != null) {
+            cities.computeIfAbsent(endpoint, e -> new CopyOnWriteArrayList<>()).add(city);
+        }
+        HttpHandler handler = handlers.get(endpoint);
+        if (handler == null) {
+            respond(exchange, 404, "{\"cod\":\"404\"}");
+        } else {
+            handler.handle(exchange);
+        }
+    }
+
+    static String queryParameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            if (pair.startsWith(name + "=")) {
+                return URLDecoder.decode(pair.substring(name.length() + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    static HttpHandler payload(String resource) {
+        String body = resource(resource);
+        return exchange -> respond(exchange, 200, body);
+    }
+
+    static HttpHandler status(int status, String retryAfter) {
+        return exchange -> {
+            if (retryAfter != null) {
+                exchange.getResponseHeaders().set("Retry-After", retryAfter);
+            }
+            respond(exchange, status, "{\"cod\":\"" + status + "\"}");
+        };
+    }
+
+    static String resource(String name) {
+        try (InputStream in = StubWeatherApi.class.getResourceAsStream(name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,235 @@
+package com.weatherapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+
+import org.junit.jupiter.api.Test;
+
+// Bulk events and lazy symbols, and the filtered view and search index kept in step with
+// adds, removes and filter changes
+class TodoListModelTest {
+    private static final String[] WORDS = {
+            "buy", "milk", "Bread", "run", "rain", "garden", "water", "call", "doctor", "report",
+            "re-read", "bike", "dog", "walk", "email", "Monday", "x", "ab", "abc"
+    };
+    private static final String[] QUERIES = {
+            "", "  ", "b", "R", "ra", "re", "ai", "rai", "rain", "milk", "ead", "read", "k b", "dog w", "-r",
+            "abc", "zzz", "Mon"
+    };
+
+    // Counts rows from the events alone, the way a JList would see them
+    private static final class RowCounter implements ListDataListener {
+        int rows;
+
+        @Override
+        public void intervalAdded(ListDataEvent e) {
+            rows += e.getIndex1() - e.getIndex0() + 1;
+        }
+
+        @Override
+        public void intervalRemoved(ListDataEvent e) {
+            rows -= e.getIndex1() - e.getIndex0() + 1;
+        }
+
+        @Override
+        public void contentsChanged(ListDataEvent e) {
+        }
+    }
+
+    // Every event as "type index0-index1"
+    private static final class EventLog implements ListDataListener {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void intervalAdded(ListDataEvent e) {
+            events.add("added " + e.getIndex0() + "-" + e.getIndex1());
+        }
+
+        @Override
+        public void intervalRemoved(ListDataEvent e) {
+            events.add("removed " + e.getIndex0() + "-" + e.getIndex1());
+        }
+
+        @Override
+        public void contentsChanged(ListDataEvent e) {
+            events.add("changed " + e.getIndex0() + "-" + e.getIndex1());
+        }
+    }
+
+    private static List<String> numberedItems(int count) {
+        List<String> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add("Walk the dog #" + i);
+        }
+        return items;
+    }
+
+    private static String randomItem(Random random) {
+        StringBuilder item = new StringBuilder();
+        for (int words = 1 + random.nextInt(4); words > 0; words--) {
+            item.append(WORDS[random.nextInt(WORDS.length)]).append(words > 1 ? " " : "");
+        }
+        return item.toString();
+    }
+
+    // Positions of the items the filter should show, found by checking every item
+    private static List<Integer> expectedRows(List<String> items, String filter) {
+        List<Integer> rows = new ArrayList<>();
+        for (int position = 0; position < items.size(); position++) {
+            if (filter == null || TodoSearchIndex.matches(items.get(position), filter)) {
+                rows.add(position);
+            }
+        }
+        return rows;
+    }
+
+    private static void assertView(TodoListModel model, RowCounter counter, List<String> items, String filter,
+                                   String step) {
+        List<Integer> expected = expectedRows(items, filter);
+        assertEquals(items.size(), model.getItemCount(), step);
+        assertEquals(expected.size(), model.getSize(), step);
+        assertEquals(model.getSize(), counter.rows, step + ": rows from events");
+        for (int row = 0; row < expected.size(); row++) {
+            int position = model.getItemIndex(row);
+            assertEquals(expected.get(row).intValue(), position, step + ": row " + row);
+            assertEquals(items.get(position), model.getItem(position), step);
+            assertEquals(items.get(position), model.getElementAt(row), step);
+        }
+    }
+
+    @Test
+    void addAllAndClearFireOneRangeEventEach() {
+        TodoListModel model = new TodoListModel(text -> null);
+        EventLog log = new EventLog();
+        model.addListDataListener(log);
+
+        model.addAll(numberedItems(10_000));
+        model.addAll(numberedItems(5));
+        model.addAll(List.of());
+        model.clear();
+        model.clear();
+        assertEquals(List.of("added 0-9999", "added 10000-10004", "removed 0-10004"), log.events);
+
+        // Filtered, the events cover the shown rows only
+        log.events.clear();
+        model.setFilter("#12");
+        model.addAll(List.of("Call #12", "Call #3", "Call #120"));
+        model.clear();
+        assertEquals(List.of("added 0-1", "removed 0-1"), log.events);
+        assertEquals(0, model.getSize());
+    }
+
+    @Test
+    void symbolsAreLookedUpOnlyForRowsAskedFor() {
+        AtomicInteger lookups = new AtomicInteger();
+        TodoListModel model = new TodoListModel(text -> {
+            lookups.incrementAndGet();
+            return text.startsWith("Walk") ? "🐕" : null;
+        });
+        model.addAll(numberedItems(100_000));
+        model.add("Plain item");
+        assertEquals(0, model.getSymbolLookups());
+        assertEquals(0, lookups.get());
+
+        // A screenful of rows, each looked up once however often it is painted
+        for (int paint = 0; paint < 3; paint++) {
+            for (int row = 500; row < 520; row++) {
+                assertEquals("🐕 Walk the dog #" + row, model.getElementAt(row));
+            }
+        }
+        assertEquals("Plain item", model.getElementAt(100_000));
+        assertEquals(21, model.getSymbolLookups());
+        assertEquals(21, lookups.get());
+
+        // Removing an item keeps the symbols already looked up for the rest
+        model.removeItem(0);
+        assertEquals("🐕 Walk the dog #501", model.getElementAt(500));
+        assertEquals(21, model.getSymbolLookups());
+    }
+
+    @Test
+    void randomEditsMatchBruteForceFilter() {
+        for (long seed = 1; seed <= 20; seed++) {
+            Random random = new Random(seed);
+            TodoListModel model = new TodoListModel(text -> null);
+            RowCounter counter = new RowCounter();
+            model.addListDataListener(counter);
+            List<String> items = new ArrayList<>();
+            String filter = null;
+
+            for (int step = 0; step < 400; step++) {
+                int action = random.nextInt(100);
+                String description;
+                if (action < 35) {
+                    String item = randomItem(random);
+                    model.add(item);
+                    items.add(item);
+                    description = "add " + item;
+                } else if (action < 45) {
+                    List<String> batch = new ArrayList<>();
+                    for (int i = random.nextInt(6); i > 0; i--) {
+                        batch.add(randomItem(random));
+                    }
+                    model.addAll(batch);
+                    items.addAll(batch);
+                    description = "addAll " + batch;
+                } else if (action < 70 && !items.isEmpty()) {
+                    // Remove through a shown row when filtered, as the app does
+                    int position = model.getSize() > 0 && random.nextBoolean() ?
+                            model.getItemIndex(random.nextInt(model.getSize())) : random.nextInt(items.size());
+                    model.removeItem(position);
+                    items.remove(position);
+                    description = "remove " + position;
+                } else if (action < 97) {
+                    String query = QUERIES[random.nextInt(QUERIES.length)];
+                    model.setFilter(query);
+                    filter = query.isBlank() ? null : query;
+                    description = "filter '" + query + "'";
+                } else {
+                    model.clear();
+                    items.clear();
+                    description = "clear";
+                }
+                assertEquals(filter, model.getFilter());
+                assertView(model, counter, items, filter, "seed " + seed + " step " + step + " " + description);
+            }
+        }
+    }
+
+    @Test
+    void indexSearchMatchesBruteForce() {
+        Random random = new Random(42);
+        TodoSearchIndex index = new TodoSearchIndex();
+        List<String> texts = new ArrayList<>();
+        for (int id = 0; id < 2_000; id++) {
+            String text = randomItem(random);
+            texts.add(text);
+            index.add(id, text);
+        }
+        for (int id = 0; id < texts.size(); id += 3) {
+            index.remove(id);
+            texts.set(id, null);
+        }
+
+        for (String query : QUERIES) {
+            List<Integer> expected = new ArrayList<>();
+            for (int id = 0; id < texts.size(); id++) {
+                if (texts.get(id) != null && TodoSearchIndex.matches(texts.get(id), query)) {
+                    expected.add(id);
+                }
+            }
+            List<Integer> found = new ArrayList<>();
+            for (int id : index.search(query)) {
+                found.add(id);
+            }
+            assertEquals(expected, found, "query '" + query + "'");
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.weatherapp;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterTest {
+
+    private static long millisSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    @Test
+    void burstIsAvailableAtOnceThenTokensArriveAtTheRate() throws InterruptedIOException {
+        // 600 per minute is one token every 100 ms
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(600, 5);
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire();
+        }
+        assertTrue(millisSince(start) < 80, "Burst took " + millisSince(start) + " ms");
+        assertTrue(limiter.availableTokens() < 1);
+
+        long waitStart = System.nanoTime();
+        limiter.acquire();
+        limiter.acquire();
+        long waited = millisSince(waitStart);
+        assertTrue(waited >= 150 && waited < 1_000, "Two tokens took " + waited + " ms");
+    }
+
+    @Test
+    void refillStopsAtBurst() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(60_000, 3);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire();
+        }
+        Thread.sleep(50); // Long enough for 50 tokens at this rate
+        assertTrue(limiter.availableTokens() <= 3);
+        assertTrue(limiter.availableTokens() > 2);
+    }
+
+    @Test
+    void interruptAbortsTheWait() throws InterruptedIOException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1);
+        limiter.acquire();
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(InterruptedIOException.class, limiter::acquire);
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
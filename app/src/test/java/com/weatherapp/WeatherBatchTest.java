@@ -0,0 +1,88 @@
+package com.weatherapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import com.sun.net.httpserver.HttpHandler;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Both output formats of a batch run against the stub upstream, one city found and one not
+class WeatherBatchTest {
+    private static final WeatherTextFormatter FORMATTER = new WeatherTextFormatter(WeatherSymbols.WEATHER_MATCHER,
+            WeatherSymbols.DEFAULT_WEATHER_SYMBOL);
+
+    @TempDir
+    Path dir;
+
+    private StubWeatherApi api;
+    private WeatherExecutor executor;
+    private WeatherSuggestions suggestions;
+    private WeatherFetchPipeline pipeline;
+
+    @BeforeEach
+    void start() throws Exception {
+        api = new StubWeatherApi();
+        HttpHandler weather = StubWeatherApi.payload("/payloads/weather.json");
+        api.on("weather", exchange -> {
+            if ("Atlantis".equals(StubWeatherApi.queryParameter(exchange, "q"))) {
+                StubWeatherApi.status(404, null).handle(exchange);
+            } else {
+                weather.handle(exchange);
+            }
+        });
+        executor = WeatherExecutor.bounded(4, 64, "abort");
+        WeatherResponseCache cache = new WeatherResponseCache(64, Map.of(), Duration.ofMinutes(10), Duration.ZERO,
+                executor);
+        pipeline = new WeatherFetchPipeline(api.baseUrl(), "test-key", true,
+                new PooledWeatherHttpClient(Duration.ofSeconds(2), Duration.ofSeconds(5)), cache,
+                new GeocodingCache(dir.resolve("geocoding.json"), executor), executor, null);
+        suggestions = new WeatherSuggestions(dir.resolve("rules.json"), 0);
+        Files.writeString(dir.resolve("cities.txt"), "# comment\nLondon\n\nAtlantis\n");
+    }
+
+    @AfterEach
+    void stop() {
+        suggestions.close();
+        executor.shutdownNow();
+        api.close();
+    }
+
+    @Test
+    void writesJsonLines() throws Exception {
+        new WeatherBatch(pipeline, suggestions, 1, null).run(dir.resolve("cities.txt"), dir.resolve("out.jsonl"));
+
+        List<String> lines = Files.readAllLines(dir.resolve("out.jsonl"), StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        JSONObject london = new JSONObject(lines.get(0));
+        assertEquals("London", london.getString("city"));
+        assertTrue(london.has("suggestions"));
+        JSONObject atlantis = new JSONObject(lines.get(1));
+        assertEquals("Atlantis", atlantis.getString("city"));
+        assertTrue(atlantis.getString("error").contains("404"));
+    }
+
+    @Test
+    void writesDisplayText() throws Exception {
+        new WeatherBatch(pipeline, suggestions, 1, FORMATTER).run(dir.resolve("cities.txt"), dir.resolve("out.txt"));
+
+        WeatherSnapshot london = pipeline.fetch("London").join().getSnapshot();
+        StringBuilder expected = new StringBuilder(FORMATTER.format(london));
+        for (String suggestion : suggestions.forConditions(london.getCurrent())) {
+            expected.append("💡 ").append(suggestion).append('\n');
+        }
+        expected.append('\n');
+        expected.append("📍 Location: Atlantis\n\n❌ Error: API request failed with response code: 404\n\n");
+        assertEquals(expected.toString(), Files.readString(dir.resolve("out.txt"), StandardCharsets.UTF_8));
+    }
+}
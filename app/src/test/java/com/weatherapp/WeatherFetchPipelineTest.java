@@ -0,0 +1,209 @@
+package com.weatherapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.sun.net.httpserver.HttpHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Fan-out, chaining, sharing and cancellation of pipeline stages against the stub upstream
+class WeatherFetchPipelineTest {
+    @TempDir
+    Path dir;
+
+    private StubWeatherApi api;
+    private WeatherExecutor executor;
+    private WeatherMetrics metrics;
+    private WeatherFetchPipeline pipeline;
+
+    @BeforeEach
+    void start() throws IOException {
+        api = new StubWeatherApi();
+        executor = WeatherExecutor.bounded(8, 64, "abort");
+        metrics = new WeatherMetrics();
+        // Nothing is cached, so every fetch reaches the stub
+        WeatherResponseCache cache = new WeatherResponseCache(64, Map.of(), Duration.ZERO, Duration.ZERO, executor);
+        GeocodingCache geocoder = new GeocodingCache(dir.resolve("geocoding.json"), executor);
+        pipeline = new WeatherFetchPipeline(api.baseUrl(), "test-key", true,
+                new PooledWeatherHttpClient(Duration.ofSeconds(2), Duration.ofSeconds(10)), cache, geocoder,
+                executor, metrics);
+    }
+
+    @AfterEach
+    void stop() {
+        executor.shutdownNow();
+        api.close();
+    }
+
+    private WeatherSnapshot fetch(String city) throws Exception {
+        return pipeline.fetch(city).get(10, TimeUnit.SECONDS).getSnapshot();
+    }
+
+    // Serve the recorded payload once the latch opens
+    private static HttpHandler afterLatch(CountDownLatch latch, String endpoint) {
+        return exchange -> {
+            try {
+                latch.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            StubWeatherApi.payload("/payloads/" + endpoint + ".json").handle(exchange);
+        };
+    }
+
+    @Test
+    void weatherAndForecastRunConcurrently() throws Exception {
+        // Each request waits until the other has arrived too; run one after the other, they would time out
+        CountDownLatch both = new CountDownLatch(2);
+        AtomicBoolean overlapped = new AtomicBoolean(true);
+        for (String endpoint : new String[]{"weather", "forecast"}) {
+            HttpHandler served = StubWeatherApi.payload("/payloads/" + endpoint + ".json");
+            api.on(endpoint, exchange -> {
+                both.countDown();
+                try {
+                    if (!both.await(3, TimeUnit.SECONDS)) {
+                        overlapped.set(false);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                served.handle(exchange);
+            });
+        }
+
+        WeatherSnapshot snapshot = fetch("London");
+        assertTrue(overlapped.get());
+        assertEquals(5, snapshot.getForecast().size());
+    }
+
+    @Test
+    void airPollutionUsesCoordinatesFromWeatherResponse() throws Exception {
+        AtomicBoolean weatherAnswered = new AtomicBoolean();
+        AtomicBoolean airAfterWeather = new AtomicBoolean();
+        AtomicReference<String> airQuery = new AtomicReference<>();
+        HttpHandler weather = StubWeatherApi.payload("/payloads/weather.json");
+        HttpHandler air = StubWeatherApi.payload("/payloads/air_pollution.json");
+        api.on("weather", exchange -> {
+            weather.handle(exchange);
+            weatherAnswered.set(true);
+        });
+        api.on("air_pollution", exchange -> {
+            airAfterWeather.set(weatherAnswered.get());
+            airQuery.set(exchange.getRequestURI().getQuery());
+            air.handle(exchange);
+        });
+
+        WeatherSnapshot snapshot = fetch("London");
+        assertEquals(WeatherSnapshot.AirQualityStatus.AVAILABLE, snapshot.getAirQualityStatus());
+        assertNotNull(snapshot.getAirQuality());
+        assertTrue(airAfterWeather.get());
+        assertTrue(airQuery.get().startsWith("lat=51.5085&lon=-0.1257&"), airQuery.get());
+        assertEquals(1, api.calls("weather"));
+        assertEquals(1, api.calls("air_pollution"));
+
+        // Now geocoded, the next fetch does not wait for /weather and still calls it once
+        fetch("London");
+        assertEquals(2, api.calls("weather"));
+        assertEquals(2, api.calls("air_pollution"));
+    }
+
+    @Test
+    void concurrentCallsShareOneFetch() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        api.on("weather", afterLatch(release, "weather"));
+
+        CompletableFuture<WeatherReport> first = pipeline.fetch("London");
+        CompletableFuture<WeatherReport> second = pipeline.fetch(" london ");
+        assertSame(first, second);
+        release.countDown();
+
+        assertSame(first.get(10, TimeUnit.SECONDS), second.join());
+        assertEquals(1, api.calls("weather"));
+        assertEquals(1, api.calls("forecast"));
+        assertEquals(1, api.calls("air_pollution"));
+
+        // Once finished, the next call starts a new fetch
+        assertNotSame(first, pipeline.fetch("London"));
+    }
+
+    @Test
+    void cancelInterruptsStages() throws Exception {
+        CountDownLatch arrived = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        for (String endpoint : new String[]{"weather", "forecast"}) {
+            HttpHandler served = afterLatch(release, endpoint);
+            api.on(endpoint, exchange -> {
+                arrived.countDown();
+                served.handle(exchange);
+            });
+        }
+
+        CompletableFuture<WeatherReport> fetch = pipeline.fetch("London");
+        assertTrue(arrived.await(5, TimeUnit.SECONDS));
+        assertTrue(executor.getActiveCount() >= 2);
+        fetch.cancel(true);
+
+        // Both stages give up their HTTP exchange while the stub is still holding the responses
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (executor.getActiveCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, executor.getActiveCount());
+        assertThrows(CancellationException.class, fetch::join);
+        assertEquals(0, api.calls("air_pollution"));
+        release.countDown();
+
+        assertNotSame(fetch, pipeline.fetch("London"));
+    }
+
+    @Test
+    void airPollutionFailureOnlyChangesStatus() throws Exception {
+        api.on("air_pollution", StubWeatherApi.status(500, null));
+        WeatherSnapshot unavailable = fetch("London");
+        assertEquals(WeatherSnapshot.AirQualityStatus.UNAVAILABLE, unavailable.getAirQualityStatus());
+        assertEquals(5, unavailable.getForecast().size());
+
+        api.on("air_pollution", exchange -> StubWeatherApi.respond(exchange, 200, "{\"list\":[{\"components\":"));
+        assertEquals(WeatherSnapshot.AirQualityStatus.PARSE_ERROR, fetch("London").getAirQualityStatus());
+
+        api.on("air_pollution", exchange -> StubWeatherApi.respond(exchange, 200, "{\"coord\":{},\"list\":[]}"));
+        assertEquals(WeatherSnapshot.AirQualityStatus.NO_DATA, fetch("London").getAirQualityStatus());
+    }
+
+    @Test
+    void weatherFailureFailsFetch() {
+        api.on("weather", StubWeatherApi.status(404, null));
+        ExecutionException error = assertThrows(ExecutionException.class,
+                () -> pipeline.fetch("Atlantis").get(10, TimeUnit.SECONDS));
+        assertEquals(404, ((WeatherApiException) error.getCause()).getStatusCode());
+        assertEquals(0, api.calls("air_pollution"));
+    }
+
+    @Test
+    void recordsStageTimings() throws Exception {
+        fetch("London");
+        Map<String, LatencyHistogram> stages = metrics.getStages();
+        for (String stage : new String[]{"weather", "forecast", "air_pollution", "total"}) {
+            assertEquals(1, stages.get(stage).getCount(), stage);
+        }
+    }
+}
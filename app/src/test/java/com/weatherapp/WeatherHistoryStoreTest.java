@@ -0,0 +1,265 @@
+package com.weatherapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Binary per-city series: round trips through the mapped file, crash recovery and range queries
+class WeatherHistoryStoreTest {
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+    private static final long MIDNIGHT = 1728950400000L; // 2024-10-15T00:00Z
+
+    @TempDir
+    Path dir;
+
+    private static WeatherHistoryRecord record(long timestamp, float temperature) {
+        return new WeatherHistoryRecord(timestamp, temperature, 80, 3.5f, 500, true, 201.9f, 0.77f, 0.2f,
+                temperature / 2);
+    }
+
+    private static WeatherHistoryRecord withoutAirQuality(long timestamp, float temperature) {
+        return new WeatherHistoryRecord(timestamp, temperature, 65, 1.25f, 800, false, Float.NaN, Float.NaN,
+                Float.NaN, Float.NaN);
+    }
+
+    private static void assertSameRecord(WeatherHistoryRecord expected, WeatherHistoryRecord actual) {
+        assertEquals(expected.getTimestampMillis(), actual.getTimestampMillis());
+        assertEquals(expected.getTemperature(), actual.getTemperature());
+        assertEquals(expected.getHumidity(), actual.getHumidity());
+        assertEquals(expected.getWindSpeed(), actual.getWindSpeed());
+        assertEquals(expected.getConditionId(), actual.getConditionId());
+        assertEquals(expected.isAirQualityAvailable(), actual.isAirQualityAvailable());
+        assertEquals(expected.getCo(), actual.getCo());
+        assertEquals(expected.getNo2(), actual.getNo2());
+        assertEquals(expected.getSo2(), actual.getSo2());
+        assertEquals(expected.getPm25(), actual.getPm25());
+    }
+
+    private static List<Long> timestamps(List<WeatherHistoryRecord> records) {
+        List<Long> timestamps = new ArrayList<>();
+        for (WeatherHistoryRecord record : records) {
+            timestamps.add(record.getTimestampMillis());
+        }
+        return timestamps;
+    }
+
+    @Test
+    void roundTripsThroughMappedFile() throws IOException {
+        List<WeatherHistoryRecord> written = List.of(record(MIDNIGHT, 12.5f), withoutAirQuality(MIDNIGHT + 1, -3.75f),
+                record(MIDNIGHT + HOUR, 31f));
+        try (WeatherHistoryStore store = new WeatherHistoryStore(dir)) {
+            for (WeatherHistoryRecord record : written) {
+                assertTrue(store.append("London", record));
+            }
+            // Read back while open, then again after the file grew, which remaps it
+            assertEquals(3, store.range("London", Long.MIN_VALUE, Long.MAX_VALUE).size());
+            assertTrue(store.append("London", record(MIDNIGHT + 2 * HOUR, 0f)));
+            assertEquals(4, store.range("London", Long.MIN_VALUE, Long.MAX_VALUE).size());
+        }
+
+        try (WeatherHistoryStore store = new WeatherHistoryStore(dir)) {
+            List<WeatherHistoryRecord> read = store.range("London", Long.MIN_VALUE, Long.MAX_VALUE);
+            assertEquals(4, read.size());
+            for (int i = 0; i < written.size(); i++) {
+                assertSameRecord(written.get(i), read.get(i));
+            }
+            assertEquals(Files.size(dir.resolve("london.wxh")), 16 + 4 * WeatherHistoryStore.RECORD_SIZE);
+        }
+    }
+
+    @Test
+    void truncatesTornLastRecord() throws IOException {
+        try (WeatherHistoryStore store = new WeatherHistoryStore(dir)) {
+            for (int i = 0; i < 3; i++) {
+                store.append("London", record(MIDNIGHT + i * HOUR, i));
+            }
+        }
+        Path file = dir.resolve("london.wxh");
+        Files.write(file, new byte[WeatherHistoryStore.RECORD_SIZE - 3], StandardOpenOption.APPEND);
+
+        try (WeatherHistoryStore store = new WeatherHistoryStore(dir)) {
+            assertEquals(3, store.size("London"));
+            assertEquals(16 + 3 * WeatherHistoryStore.RECORD_SIZE, Files.size(file));
+            // The last good record still sets the bar for the next append
+            assertFalse(store.append("London", record(MIDNIGHT + 2 * HOUR, 9)));
+            assertTrue(store.append("London", record(MIDNIGHT + 3 * HOUR, 9)));
+            assertEquals(List.of(MIDNIGHT + 2 * HOUR, MIDNIGHT + 3 * HOUR),
+                    timestamps(store.range("London", MIDNIGHT + 2 * HOUR, Long.MAX_VALUE)));
+        }
+    }
+
+    @Test
+    void rejectsForeignFile() throws IOException {
+        Files.writeString(dir.resolve("london.wxh"), "{\"not\": \"a history file\"}");
+        try (WeatherHistoryStore store = new WeatherHistoryStore(dir)) {
+            assertThrows(IOException.class, () -> store.size("London"));
+        }
+    }
+
+    @Test
+    void rangeBoundsAreInclusiveExclusive() throws IOException {
+        try (WeatherHistoryStore store = new WeatherHistoryStore(dir)) {
+            assertTrue(store.range("London", Long.MIN_VALUE, Long.MAX_VALUE).isEmpty());
+            for (long t = 10; t <= 50; t += 10) {
+                store.append("London", record(t, 0));
+            }
+
+            assertEquals(List.of(10L, 20L, 30L, 40L, 50L), timestamps(store.range("London", 0, 100)));
+            assertEquals(List.of(10L, 20L), timestamps(store.range("London", 10, 30)));
+            assertEquals(List.of(20L, 30L), timestamps(store.range("London", 11, 31)));
+            assertEquals(List.of(50L), timestamps(store.range("London", 50, 51)));
+            assertEquals(List.of(50L), timestamps(store.range("London", 41, Long.MAX_VALUE)));
+            assertTrue(store.range("London", 51, 100).isEmpty());
+            assertTrue(store.range("London", 0, 10).isEmpty());
+            assertTrue(store.range("London", 30, 30).isEmpty());
+            assertTrue(store.range("London", 40, 20).isEmpty());
+            assertTrue(store.range("Paris", 0, 100).isEmpty());
+        }
+    }
+
+    @Test
+    void aggregatesIntoEpochAlignedBuckets() throws IOException {
+        try (WeatherHistoryStore store = new WeatherHistoryStore(dir)) {
+            // Every 20 minutes from 22:40 the day before to 01:20, which straddles midnight
+            for (long t = MIDNIGHT - 80 * 60_000; t <= MIDNIGHT + 80 * 60_000; t += 20 * 60_000) {
+                store.append("London", record(t, (t - MIDNIGHT) / 60_000f));
+            }
+            store.append("London", withoutAirQuality(MIDNIGHT + 90 * 60_000, 100f));
+
+            List<WeatherHistoryAggregate> hourly = store.aggregate("London", Long.MIN_VALUE, Long.MAX_VALUE,
+                    Duration.ofHours(1));
+            assertEquals(4, hourly.size());
+            long[] starts = {MIDNIGHT - 2 * HOUR, MIDNIGHT - HOUR, MIDNIGHT, MIDNIGHT + HOUR};
+            int[] counts = {1, 3, 3, 3};
+            for (int i = 0; i < starts.length; i++) {
+                assertEquals(starts[i], hourly.get(i).getBucketStartMillis());
+                assertEquals(counts[i], hourly.get(i).getCount());
+            }
+            WeatherHistoryAggregate firstHour = hourly.get(2);
+            assertEquals(0, firstHour.getTemperature().getMin());
+            assertEquals(40, firstHour.getTemperature().getMax());
+            assertEquals(20, firstHour.getTemperature().getMean(), 1e-9);
+            // The last record has no air quality, so it adds to the count but not to PM2.5
+            WeatherHistoryAggregate lastHour = hourly.get(3);
+            assertEquals(3, lastHour.getTemperature().getSamples());
+            assertEquals(2, lastHour.getPm25().getSamples());
+
+            List<WeatherHistoryAggregate> daily = store.aggregate("London", Long.MIN_VALUE, Long.MAX_VALUE,
+                    Duration.ofDays(1));
+            assertEquals(2, daily.size());
+            assertEquals(MIDNIGHT - DAY, daily.get(0).getBucketStartMillis());
+            assertEquals(4, daily.get(0).getCount());
+            assertEquals(MIDNIGHT, daily.get(1).getBucketStartMillis());
+            assertEquals(6, daily.get(1).getCount());
+
+            // A range starting mid-bucket still reports the bucket's aligned start
+            List<WeatherHistoryAggregate> partial = store.aggregate("London", MIDNIGHT + 30 * 60_000,
+                    MIDNIGHT + HOUR, Duration.ofHours(1));
+            assertEquals(1, partial.size());
+            assertEquals(MIDNIGHT, partial.get(0).getBucketStartMillis());
+            assertEquals(1, partial.get(0).getCount());
+        }
+    }
+
+    @Test
+    void rejectsTimestampsThatDoNotIncrease() throws IOException {
+        try (WeatherHistoryStore store = new WeatherHistoryStore(dir)) {
+            assertTrue(store.append("London", record(MIDNIGHT, 1)));
+            assertFalse(store.append("London", record(MIDNIGHT, 2)));
+            assertFalse(store.append("london ", record(MIDNIGHT - 1, 3)));
+            assertTrue(store.append("Paris", record(MIDNIGHT - 1, 3)));
+        }
+        try (WeatherHistoryStore store = new WeatherHistoryStore(dir)) {
+            assertFalse(store.append("London", record(MIDNIGHT, 4)));
+            assertTrue(store.append("London", record(MIDNIGHT + 1, 5)));
+            assertEquals(2, store.size("London"));
+            assertEquals(1, store.range("London", MIDNIGHT, MIDNIGHT + 1).get(0).getTemperature());
+        }
+    }
+
+    @Test
+    void escapesFileNames() throws IOException {
+        assertEquals("london.wxh", WeatherHistoryStore.fileName(" London "));
+        assertEquals("s_00e3o_0020paulo.wxh", WeatherHistoryStore.fileName("São Paulo"));
+        assertEquals("_002e_002e_002fetc.wxh", WeatherHistoryStore.fileName("../etc"));
+        assertEquals("_6771_4eac.wxh", WeatherHistoryStore.fileName("東京"));
+        // The escape character itself is escaped, so "a_b" and "a b" get different files
+        assertNotEquals(WeatherHistoryStore.fileName("a_b"), WeatherHistoryStore.fileName("a b"));
+        assertNotEquals(WeatherHistoryStore.fileName("a_0020b"), WeatherHistoryStore.fileName("a b"));
+
+        try (WeatherHistoryStore store = new WeatherHistoryStore(dir)) {
+            store.append("São Paulo", record(MIDNIGHT, 1));
+            store.append("a_b", record(MIDNIGHT, 1));
+            store.append("a b", record(MIDNIGHT, 1));
+        }
+        assertTrue(Files.exists(dir.resolve("s_00e3o_0020paulo.wxh")));
+        try (var files = Files.list(dir)) {
+            assertEquals(3, files.count());
+        }
+    }
+
+    @Test
+    void closedStoreRejectsCallsInsteadOfFailingOnNull() throws Exception {
+        WeatherHistoryStore store = new WeatherHistoryStore(dir);
+        store.append("London", record(MIDNIGHT, 1));
+        store.close();
+        assertThrows(IOException.class, () -> store.append("London", record(MIDNIGHT + 1, 1)));
+        assertThrows(IOException.class, () -> store.range("London", 0, Long.MAX_VALUE));
+        assertThrows(IOException.class, () -> store.aggregate("Paris", 0, Long.MAX_VALUE, Duration.ofHours(1)));
+    }
+
+    @Test
+    void closeRacingWithAppendsNeverThrowsNullPointer() throws Exception {
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 20; round++) {
+                WeatherHistoryStore store = new WeatherHistoryStore(dir.resolve("round" + round));
+                CountDownLatch running = new CountDownLatch(4);
+                List<Future<?>> results = new ArrayList<>();
+                for (int w = 0; w < 4; w++) {
+                    String city = "City" + (w % 2);
+                    results.add(writers.submit(() -> {
+                        for (long t = 1; t <= 2_000; t++) {
+                            try {
+                                store.append(city, record(t, 0));
+                                store.range(city, t - 1, t);
+                            } catch (IOException e) {
+                                return null; // Closed underneath us, as expected
+                            } finally {
+                                running.countDown();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                // Close while every writer is busy with the store
+                running.await();
+                store.close();
+                for (Future<?> result : results) {
+                    result.get(10, TimeUnit.SECONDS); // Rethrows anything but the expected IOException
+                }
+            }
+        } finally {
+            writers.shutdownNow();
+        }
+    }
+}
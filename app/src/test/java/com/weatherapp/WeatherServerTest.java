@@ -0,0 +1,217 @@
+package com.weatherapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Service mode end to end: a real WeatherServer and pipeline in front of the stub upstream
+class WeatherServerTest {
+    private static final HttpClient CLIENT = HttpClient.newHttpClient();
+
+    @TempDir
+    Path dir;
+
+    private final StubWeatherApi api;
+    private WeatherExecutor executor;
+    private WeatherSuggestions suggestions;
+    private WeatherServer server;
+
+    WeatherServerTest() throws IOException {
+        api = new StubWeatherApi();
+    }
+
+    @AfterEach
+    void stop() {
+        if (server != null) {
+            server.stop();
+        }
+        if (suggestions != null) {
+            suggestions.close();
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        api.close();
+    }
+
+    // Server over a pipeline with the given upstream resilience; a zero cache TTL sends
+    // every pipeline run upstream, so only the server's rendered responses are reused
+    private WeatherServer start(int attempts, int failureThreshold, Duration cacheTtl, long responseTtlMillis,
+                                long fetchTimeoutMillis) throws IOException {
+        executor = WeatherExecutor.bounded(8, 64, "abort");
+        ResilientWeatherHttpClient client = new ResilientWeatherHttpClient(
+                new PooledWeatherHttpClient(Duration.ofSeconds(2), Duration.ofSeconds(5)),
+                new TokenBucketRateLimiter(6_000, 100), new CircuitBreaker(failureThreshold, 30, TimeUnit.SECONDS),
+                attempts, 10, 1_000);
+        WeatherResponseCache cache = new WeatherResponseCache(64, Map.of(), cacheTtl, Duration.ZERO, executor);
+        GeocodingCache geocoder = new GeocodingCache(dir.resolve("geocoding.json"), executor);
+        WeatherFetchPipeline pipeline = new WeatherFetchPipeline(api.baseUrl(), "test-key", true, client, cache,
+                geocoder, executor, null);
+        WeatherDiagnostics diagnostics = new WeatherDiagnostics(new WeatherMetrics(), cache,
+                client.getCircuitBreaker(), null, executor);
+        suggestions = new WeatherSuggestions(dir.resolve("rules.json"), 0);
+        server = new WeatherServer(pipeline, suggestions, diagnostics, responseTtlMillis, fetchTimeoutMillis, 64);
+        server.start(new InetSocketAddress("127.0.0.1", 0), 4, 64);
+        return server;
+    }
+
+    private WeatherServer start() throws IOException {
+        return start(1, 5, Duration.ZERO, 60_000, 5_000);
+    }
+
+    private HttpResponse<String> get(String pathAndQuery) throws IOException, InterruptedException {
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + pathAndQuery);
+        return CLIENT.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    void answersWithSnapshotJson() throws IOException, InterruptedException {
+        start();
+        HttpResponse<String> response = get("/weather?city=London");
+        assertEquals(200, response.statusCode());
+        JSONObject body = new JSONObject(response.body());
+        assertEquals("London", body.getString("city"));
+        assertEquals(1, api.calls("weather"));
+        assertEquals(1, api.calls("forecast"));
+        assertEquals(1, api.calls("air_pollution"));
+    }
+
+    @Test
+    void unknownCityIs404() throws IOException, InterruptedException {
+        api.on("weather", StubWeatherApi.status(404, null));
+        start();
+        HttpResponse<String> response = get("/weather?city=Atlantis");
+        assertEquals(404, response.statusCode());
+        assertEquals("Atlantis", new JSONObject(response.body()).getString("city"));
+        assertFalse(response.headers().firstValue("Retry-After").isPresent());
+    }
+
+    @Test
+    void openCircuitIs503WithRetryAfter() throws IOException, InterruptedException {
+        api.on("weather", StubWeatherApi.status(500, null));
+        api.on("forecast", StubWeatherApi.status(500, null));
+        start(1, 1, Duration.ZERO, 60_000, 5_000);
+
+        assertEquals(502, get("/weather?city=London").statusCode());
+        HttpResponse<String> response = get("/weather?city=Paris");
+        assertEquals(503, response.statusCode());
+        long retryAfter = Long.parseLong(response.headers().firstValue("Retry-After").orElseThrow());
+        assertTrue(retryAfter >= 1 && retryAfter <= 30, "Retry-After " + retryAfter);
+    }
+
+    @Test
+    void upstreamRateLimitIs503WithItsRetryAfter() throws IOException, InterruptedException {
+        // Longer than the 1 s retry ceiling, so the client gives up at once
+        api.on("weather", StubWeatherApi.status(429, "120"));
+        start(3, 5, Duration.ZERO, 60_000, 5_000);
+
+        HttpResponse<String> response = get("/weather?city=London");
+        assertEquals(503, response.statusCode());
+        assertEquals("120", response.headers().firstValue("Retry-After").orElseThrow());
+        assertEquals(1, api.calls("weather"));
+    }
+
+    @Test
+    void slowUpstreamIs504AndFetchFinishesIntoCache() throws IOException, InterruptedException {
+        api.on("weather", exchange -> {
+            try {
+                Thread.sleep(700);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            StubWeatherApi.payload("/payloads/weather.json").handle(exchange);
+        });
+        start(1, 5, Duration.ofMinutes(10), 60_000, 200);
+
+        HttpResponse<String> response = get("/weather?city=London");
+        assertEquals(504, response.statusCode());
+        assertTrue(new JSONObject(response.body()).getString("error").contains("200 ms"), response.body());
+
+        // The timed-out fetch was not cancelled: it completes and the next request is served
+        // from the response cache without calling upstream again
+        Thread.sleep(1_000);
+        assertEquals(200, get("/weather?city=London").statusCode());
+        assertEquals(1, api.calls("weather"));
+        assertEquals(1, api.calls("forecast"));
+    }
+
+    @Test
+    void reusesRenderedResponseWithinTtl() throws IOException, InterruptedException {
+        start(1, 5, Duration.ZERO, 300, 5_000);
+
+        String first = get("/weather?city=London").body();
+        String second = get("/weather?city=london").body();
+        assertEquals(first, second);
+        assertEquals(1, server.getRenderedHits());
+        assertEquals(1, api.calls("weather"));
+
+        Thread.sleep(400);
+        assertEquals(200, get("/weather?city=London").statusCode());
+        assertEquals(1, server.getRenderedHits());
+        assertEquals(2, api.calls("weather"));
+    }
+
+    @Test
+    void decodesCityParameter() throws IOException, InterruptedException {
+        start();
+        HttpResponse<String> response = get("/weather?units=metric&city=S%C3%A3o+Paulo");
+        assertEquals(200, response.statusCode());
+        assertEquals("São Paulo", new JSONObject(response.body()).getString("city"));
+        assertEquals("São Paulo", api.cities("weather").get(0));
+    }
+
+    @Test
+    void rejectsMissingCityAndOtherMethods() throws IOException, InterruptedException {
+        start();
+        assertEquals(400, get("/weather").statusCode());
+        assertEquals(400, get("/weather?city=").statusCode());
+        assertEquals(400, get("/weather?city=+++").statusCode());
+        assertEquals(400, get("/weather?cityx=London").statusCode());
+
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/weather?city=London");
+        HttpResponse<String> post = CLIENT.send(HttpRequest.newBuilder(uri)
+                .POST(HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(405, post.statusCode());
+        assertEquals(0, api.calls("weather"));
+    }
+
+    @Test
+    void queryParameterDecoding() {
+        assertEquals("São Paulo", WeatherServer.queryParameter("city=S%C3%A3o+Paulo", "city"));
+        assertEquals("a+b", WeatherServer.queryParameter("city=a%2Bb", "city"));
+        assertEquals("London", WeatherServer.queryParameter("xcity=Paris&city=London", "city"));
+        assertEquals("first", WeatherServer.queryParameter("city=first&city=second", "city"));
+        assertEquals("", WeatherServer.queryParameter("a=1&city=", "city"));
+        assertEquals("a=b", WeatherServer.queryParameter("city=a=b", "city"));
+        assertNull(WeatherServer.queryParameter("cityx=London", "city"));
+        assertNull(WeatherServer.queryParameter("city", "city"));
+        assertNull(WeatherServer.queryParameter("city=%ZZ", "city"));
+        assertNull(WeatherServer.queryParameter("city=%E", "city"));
+        assertNull(WeatherServer.queryParameter(null, "city"));
+    }
+
+    @Test
+    void defaultTimeoutCoversWorstCaseFetch() {
+        WeatherConfig config = WeatherConfig.load();
+        assertTrue(config.getFetchWorstCaseMillis() > config.getRequestTimeout().toMillis() *
+                config.getRetryMaxAttempts() + config.getRetryMaxDelayMillis());
+        assertEquals(config.getFetchWorstCaseMillis(), config.getServeTimeoutMillis());
+    }
+}
@@ -0,0 +1,199 @@
+package com.weatherapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+// The streaming parsers must return exactly what the org.json DOM parsers return, and
+// reject the same incomplete responses
+class WeatherStreamParserTest {
+    private static final String WEATHER = payload("weather.json");
+    private static final String FORECAST = payload("forecast.json");
+    private static final String AIR_POLLUTION = payload("air_pollution.json");
+
+    private static String payload(String name) {
+        try (InputStream in = WeatherStreamParserTest.class.getResourceAsStream("/payloads/" + name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // A recorded payload with one change applied
+    private static String edit(String json, Consumer<JSONObject> change) {
+        JSONObject object = new JSONObject(json);
+        change.accept(object);
+        return object.toString();
+    }
+
+    private static void assertSameCurrent(CurrentConditions expected, CurrentConditions actual) {
+        assertEquals(expected.getTemperature(), actual.getTemperature());
+        assertEquals(expected.getHumidity(), actual.getHumidity());
+        assertEquals(expected.getWindSpeed(), actual.getWindSpeed());
+        assertEquals(expected.getConditionId(), actual.getConditionId());
+        assertEquals(expected.getConditionMain(), actual.getConditionMain());
+        assertEquals(expected.getConditionDescription(), actual.getConditionDescription());
+        assertEquals(expected.getLat(), actual.getLat());
+        assertEquals(expected.getLon(), actual.getLon());
+        assertEquals(expected.getObservedAtMillis(), actual.getObservedAtMillis());
+    }
+
+    private static void assertSameForecast(List<ForecastEntry> expected, List<ForecastEntry> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getTimestamp(), actual.get(i).getTimestamp());
+            assertEquals(expected.get(i).getTemperature(), actual.get(i).getTemperature());
+            assertEquals(expected.get(i).getConditionId(), actual.get(i).getConditionId());
+            assertEquals(expected.get(i).getConditionMain(), actual.get(i).getConditionMain());
+            assertEquals(expected.get(i).getConditionDescription(), actual.get(i).getConditionDescription());
+        }
+    }
+
+    private static void assertSameAir(AirQuality expected, AirQuality actual) {
+        assertEquals(expected.getCo(), actual.getCo());
+        assertEquals(expected.getNo2(), actual.getNo2());
+        assertEquals(expected.getSo2(), actual.getSo2());
+        assertEquals(expected.getPm25(), actual.getPm25());
+    }
+
+    @Test
+    void currentWeatherMatchesDom() throws IOException {
+        CurrentConditions current = WeatherStreamParser.parseCurrentWeather(stream(WEATHER));
+        assertSameCurrent(WeatherParser.parseCurrentWeather(new JSONObject(WEATHER)), current);
+        assertEquals(84, current.getHumidity());
+        assertEquals(1728987600000L, current.getObservedAtMillis());
+    }
+
+    @Test
+    void forecastMatchesDom() throws IOException {
+        List<ForecastEntry> forecast = WeatherStreamParser.parseForecast(stream(FORECAST));
+        assertSameForecast(WeatherParser.parseForecast(new JSONObject(FORECAST)), forecast);
+        assertEquals(WeatherParser.FORECAST_DAYS, forecast.size());
+    }
+
+    @Test
+    void airPollutionMatchesDom() throws IOException {
+        assertSameAir(WeatherParser.parseAirPollution(new JSONObject(AIR_POLLUTION)),
+                WeatherStreamParser.parseAirPollution(stream(AIR_POLLUTION)));
+    }
+
+    @Test
+    void emptyAirPollutionListIsNoData() throws IOException {
+        String empty = edit(AIR_POLLUTION, json -> json.put("list", new JSONArray()));
+        assertNull(WeatherParser.parseAirPollution(new JSONObject(empty)));
+        assertNull(WeatherStreamParser.parseAirPollution(stream(empty)));
+    }
+
+    // Valid responses written differently from the recorded ones
+    static Stream<String> currentWeatherVariants() {
+        return Stream.of(
+                edit(WEATHER, json -> json.getJSONArray("weather").getJSONObject(0)
+                        .put("description", "pluie \"légère\" \\ 🌧\n")),
+                WEATHER.replace("\"temp\":12.64", "\"temp\":1.264e1"),
+                WEATHER.replace("\"temp\":12.64", "\"temp\":\"12.64\""),
+                WEATHER.replace("\"speed\":5.14", "\"speed\":-0"),
+                WEATHER.replace("\"light rain\"", "\"light \\u0072ain \\ud83c\\udf27\""),
+                edit(WEATHER, json -> json.put("extra", new JSONObject("{\"a\":[1,{\"b\":\"}]\"}],\"c\":null}"))),
+                edit(WEATHER, json -> json.getJSONArray("weather").put(new JSONObject("{\"id\":800,\"main\":\"Clear\","
+                        + "\"description\":\"clear sky\"}"))),
+                edit(WEATHER, json -> json.remove("dt")),
+                WEATHER.replace(",", ",\n  ").replace(":", " : "));
+    }
+
+    @ParameterizedTest
+    @MethodSource("currentWeatherVariants")
+    void currentWeatherVariantsMatchDom(String json) throws IOException {
+        assertSameCurrent(WeatherParser.parseCurrentWeather(new JSONObject(json)),
+                WeatherStreamParser.parseCurrentWeather(stream(json)));
+    }
+
+    static Stream<Arguments> incompleteCurrentWeather() {
+        return Stream.of(
+                Arguments.of("no humidity", edit(WEATHER, json -> json.getJSONObject("main").remove("humidity"))),
+                Arguments.of("no temp", edit(WEATHER, json -> json.getJSONObject("main").remove("temp"))),
+                Arguments.of("no lat", edit(WEATHER, json -> json.getJSONObject("coord").remove("lat"))),
+                Arguments.of("no lon", edit(WEATHER, json -> json.getJSONObject("coord").remove("lon"))),
+                Arguments.of("no wind", edit(WEATHER, json -> json.remove("wind"))),
+                Arguments.of("no coord", edit(WEATHER, json -> json.remove("coord"))),
+                Arguments.of("empty weather", edit(WEATHER, json -> json.put("weather", new JSONArray()))),
+                Arguments.of("no description", edit(WEATHER, json -> json.getJSONArray("weather").getJSONObject(0)
+                        .remove("description"))),
+                Arguments.of("not a number", WEATHER.replace("\"temp\":12.64", "\"temp\":true")),
+                Arguments.of("truncated", WEATHER.substring(0, WEATHER.length() / 2)),
+                Arguments.of("truncated in a string", WEATHER.substring(0, WEATHER.indexOf("light") + 3)),
+                Arguments.of("not JSON", "<html>Bad gateway</html>"),
+                Arguments.of("empty", ""));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("incompleteCurrentWeather")
+    void bothParsersRejectIncompleteCurrentWeather(String name, String json) {
+        assertThrows(JSONException.class, () -> WeatherParser.parseCurrentWeather(new JSONObject(json)));
+        assertThrows(IOException.class, () -> WeatherStreamParser.parseCurrentWeather(stream(json)));
+    }
+
+    static Stream<Arguments> incompleteForecast() {
+        return Stream.of(
+                Arguments.of("no list", edit(FORECAST, json -> json.remove("list"))),
+                Arguments.of("entry without dt_txt", edit(FORECAST, json -> json.getJSONArray("list")
+                        .getJSONObject(0).remove("dt_txt"))),
+                Arguments.of("entry without temp", edit(FORECAST, json -> json.getJSONArray("list")
+                        .getJSONObject(8).getJSONObject("main").remove("temp"))),
+                Arguments.of("entry without weather", edit(FORECAST, json -> json.getJSONArray("list")
+                        .getJSONObject(16).remove("weather"))),
+                Arguments.of("truncated", FORECAST.substring(0, FORECAST.length() - 10)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("incompleteForecast")
+    void bothParsersRejectIncompleteForecast(String name, String json) {
+        assertThrows(JSONException.class, () -> WeatherParser.parseForecast(new JSONObject(json)));
+        assertThrows(IOException.class, () -> WeatherStreamParser.parseForecast(stream(json)));
+    }
+
+    @Test
+    void forecastEntriesThatAreNotShownMayBeIncomplete() throws IOException {
+        // Only every 8th entry is read; the others are skipped unchecked by both parsers
+        String json = edit(FORECAST, list -> list.getJSONArray("list").getJSONObject(1).remove("dt_txt"));
+        assertSameForecast(WeatherParser.parseForecast(new JSONObject(json)),
+                WeatherStreamParser.parseForecast(stream(json)));
+    }
+
+    static Stream<Arguments> incompleteAirPollution() {
+        return Stream.of(
+                Arguments.of("no list", edit(AIR_POLLUTION, json -> json.remove("list"))),
+                Arguments.of("no components", edit(AIR_POLLUTION, json -> json.getJSONArray("list")
+                        .getJSONObject(0).remove("components"))),
+                Arguments.of("no pm2_5", edit(AIR_POLLUTION, json -> json.getJSONArray("list").getJSONObject(0)
+                        .getJSONObject("components").remove("pm2_5"))),
+                Arguments.of("truncated", AIR_POLLUTION.substring(0, AIR_POLLUTION.indexOf("so2"))));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("incompleteAirPollution")
+    void bothParsersRejectIncompleteAirPollution(String name, String json) {
+        assertThrows(JSONException.class, () -> WeatherParser.parseAirPollution(new JSONObject(json)));
+        assertThrows(IOException.class, () -> WeatherStreamParser.parseAirPollution(stream(json)));
+    }
+}
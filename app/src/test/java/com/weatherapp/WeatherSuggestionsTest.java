@@ -0,0 +1,81 @@
+package com.weatherapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// Rule file reloading happens on the reloader thread; callers only read the published rules
+class WeatherSuggestionsTest {
+    private static final CurrentConditions RAIN = new CurrentConditions(12.0, 80, 3.0, 500, "Rain", "light rain",
+            0, 0);
+
+    @TempDir
+    Path dir;
+
+    private static String rules(String suggestion) {
+        return "{\"rules\":[{\"when\":{\"condition\":[\"rain\"]},\"suggest\":[\"" + suggestion + "\"]}]}";
+    }
+
+    private static void awaitReloads(WeatherSuggestions suggestions, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (suggestions.getReloadCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, suggestions.getReloadCount());
+    }
+
+    @Test
+    void loadsBeforeConstructorReturns() throws IOException {
+        Path file = dir.resolve("rules.json");
+        Files.writeString(file, rules("Umbrella"));
+        try (WeatherSuggestions suggestions = new WeatherSuggestions(file, 0)) {
+            assertEquals(List.of("Umbrella"), suggestions.forConditions(RAIN));
+            assertEquals(1, suggestions.getReloadCount());
+        }
+    }
+
+    @Test
+    void reloadsChangedFileInBackground() throws IOException, InterruptedException {
+        Path file = dir.resolve("rules.json");
+        Files.writeString(file, rules("Umbrella"));
+        try (WeatherSuggestions suggestions = new WeatherSuggestions(file, 20)) {
+            SuggestionRules first = suggestions.getRules();
+            assertSame(first, suggestions.getRules());
+
+            Files.writeString(file, rules("Raincoat and boots"));
+            awaitReloads(suggestions, 2);
+            assertEquals(List.of("Raincoat and boots"), suggestions.forConditions(RAIN));
+        }
+    }
+
+    @Test
+    void keepsPreviousRulesWhenFileBreaks() throws IOException, InterruptedException {
+        Path file = dir.resolve("rules.json");
+        Files.writeString(file, rules("Umbrella"));
+        try (WeatherSuggestions suggestions = new WeatherSuggestions(file, 20)) {
+            Files.writeString(file, "{\"rules\": [");
+            Thread.sleep(200);
+            assertEquals(List.of("Umbrella"), suggestions.forConditions(RAIN));
+
+            Files.writeString(file, rules("Fixed"));
+            awaitReloads(suggestions, 2);
+            assertEquals(List.of("Fixed"), suggestions.forConditions(RAIN));
+        }
+    }
+
+    @Test
+    void usesBundledRulesWithoutFile() {
+        try (WeatherSuggestions suggestions = new WeatherSuggestions(dir.resolve("missing.json"), 20)) {
+            assertTrue(suggestions.getRules().size() > 0);
+            assertEquals(0, suggestions.getReloadCount());
+        }
+    }
+}
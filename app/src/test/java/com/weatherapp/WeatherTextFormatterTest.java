@@ -0,0 +1,175 @@
+package com.weatherapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+// The one-pass formatter against the line-by-line formatter it replaced
+class WeatherTextFormatterTest {
+    private static final WeatherTextFormatter FORMATTER = new WeatherTextFormatter(WeatherSymbols.WEATHER_MATCHER,
+            WeatherSymbols.DEFAULT_WEATHER_SYMBOL);
+
+    // Fragments for condition fields, including every label, line breaks and dashes
+    private static final String[] PIECES = {"Rain", "light rain", "Clouds", "overcast clouds", "Clear", "snow",
+            "thunderstorm", "mist", "Haze", " ", "-", " - ", "\n", "é", "☀", "Temperature:", "Humidity:", "Wind:",
+            "Condition:", "Forecast:", "dt_txt", "Air Pollution Data:", "CO:", "NO₂:", "SO₂:", "PM2.5:",
+            "Temperature", "CO", ":", "_", "dt", "2024-10-15 12:00:00", ""};
+
+    private static String payload(String name) {
+        try (InputStream in = WeatherTextFormatterTest.class.getResourceAsStream(name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static InputStream stream(String resource) {
+        return new ByteArrayInputStream(payload(resource).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Snapshot of the recorded London payloads
+    private static WeatherSnapshot recordedSnapshot() throws IOException {
+        CurrentConditions current = WeatherStreamParser.parseCurrentWeather(stream("/payloads/weather.json"));
+        List<ForecastEntry> forecast = WeatherStreamParser.parseForecast(stream("/payloads/forecast.json"));
+        AirQuality airQuality = WeatherStreamParser.parseAirPollution(stream("/payloads/air_pollution.json"));
+        return new WeatherSnapshot("London", 1728987600000L, current, forecast, airQuality,
+                WeatherSnapshot.AirQualityStatus.AVAILABLE);
+    }
+
+    // formatWeatherTextWithSymbols and the text assembly from before the formatter, verbatim
+    private static String baseline(WeatherSnapshot snapshot) {
+        String weatherCondition = snapshot.getConditionSummary();
+        String currentWeather = WeatherParser.formatCurrentWeather(snapshot.getCurrent());
+        String forecast = WeatherParser.formatForecast(snapshot.getForecast());
+
+        return "📍 Location: " + snapshot.getCity() + "\n\n" +
+                formatWeatherTextWithSymbols(currentWeather, weatherCondition) + "\n" +
+                formatWeatherTextWithSymbols(forecast, weatherCondition) + "\n" +
+                snapshot.formatAirPollution();
+    }
+
+    private static String findWeatherSymbol(String weatherCondition) {
+        return WeatherSymbols.WEATHER_MATCHER.findBest(weatherCondition, WeatherSymbols.DEFAULT_WEATHER_SYMBOL);
+    }
+
+    private static String formatWeatherTextWithSymbols(String text, String weatherCondition) {
+        StringBuilder formatted = new StringBuilder();
+        String weatherSymbol = findWeatherSymbol(weatherCondition);
+        String[] lines = text.split("\n");
+
+        for (String line : lines) {
+            if (line.contains("Temperature:")) {
+                formatted.append("🌡 ").append(line).append("\n");
+            } else if (line.contains("Humidity:")) {
+                formatted.append("💧 ").append(line).append("\n");
+            } else if (line.contains("Wind:")) {
+                formatted.append("🌬 ").append(line).append("\n");
+            } else if (line.contains("Condition:")) {
+                formatted.append(weatherSymbol).append(" ").append(line).append("\n");
+            } else if (line.contains("Forecast:")) {
+                formatted.append("📅 ").append(line).append("\n");
+            } else if (line.contains("dt_txt")) {
+                String forecastSymbol;
+                if (line.contains("-")) {
+                    String forecastCondition = line.substring(line.lastIndexOf("-") + 1).trim();
+                    forecastSymbol = findWeatherSymbol(forecastCondition);
+                } else {
+                    forecastSymbol = "📆";
+                }
+                formatted.append(forecastSymbol).append(" ").append(line).append("\n");
+            } else if (line.contains("Air Pollution Data:")) {
+                formatted.append("\n🌍 Air Pollution Data:\n");
+            } else if (line.contains("CO:") || line.contains("NO₂:") ||
+                    line.contains("SO₂:") || line.contains("PM2.5:")) {
+                if (line.contains("CO:")) {
+                    formatted.append("⚗️ ").append(line).append("\n");
+                } else if (line.contains("NO₂:")) {
+                    formatted.append("🧪 ").append(line).append("\n");
+                } else if (line.contains("SO₂:")) {
+                    formatted.append("💨 ").append(line).append("\n");
+                } else {
+                    formatted.append("😷 ").append(line).append("\n");
+                }
+            } else {
+                formatted.append(line).append("\n");
+            }
+        }
+
+        return formatted.toString();
+    }
+
+    private static String randomField(Random random) {
+        StringBuilder field = new StringBuilder();
+        int pieces = random.nextInt(4);
+        for (int i = 0; i < pieces; i++) {
+            field.append(PIECES[random.nextInt(PIECES.length)]);
+        }
+        return field.toString();
+    }
+
+    private static WeatherSnapshot randomSnapshot(Random random) {
+        CurrentConditions current = new CurrentConditions(random.nextGaussian() * 20, random.nextInt(101),
+                random.nextDouble() * 30, 500, randomField(random), randomField(random), 51.5, -0.12);
+        List<ForecastEntry> forecast = new ArrayList<>();
+        int entries = random.nextInt(7);
+        for (int i = 0; i < entries; i++) {
+            String timestamp = random.nextBoolean() ? "2024-10-1" + i + " 12:00:00" : randomField(random);
+            forecast.add(new ForecastEntry(timestamp, random.nextGaussian() * 20, 800, randomField(random),
+                    randomField(random)));
+        }
+        WeatherSnapshot.AirQualityStatus[] statuses = WeatherSnapshot.AirQualityStatus.values();
+        WeatherSnapshot.AirQualityStatus status = statuses[random.nextInt(statuses.length)];
+        AirQuality airQuality = status == WeatherSnapshot.AirQualityStatus.AVAILABLE ?
+                new AirQuality(random.nextDouble() * 300, random.nextDouble() * 40, random.nextDouble() * 5,
+                        random.nextDouble() * 25) : null;
+        return new WeatherSnapshot("City" + random.nextInt(10), 0, current, forecast, airQuality, status);
+    }
+
+    private static String formatToWriter(WeatherSnapshot snapshot) throws IOException {
+        StringWriter out = new StringWriter();
+        FORMATTER.format(snapshot, out);
+        return out.toString();
+    }
+
+    @Test
+    void recordedSnapshotMatchesGoldenText() throws IOException {
+        WeatherSnapshot snapshot = recordedSnapshot();
+        String golden = payload("/golden/london.txt");
+        assertEquals(golden, baseline(snapshot));
+        assertEquals(golden, FORMATTER.format(snapshot));
+        assertEquals(golden, formatToWriter(snapshot));
+    }
+
+    @Test
+    void randomSnapshotsMatchBaseline() throws IOException {
+        Random random = new Random(18);
+        for (int i = 0; i < 20_000; i++) {
+            WeatherSnapshot snapshot = randomSnapshot(random);
+            String expected = baseline(snapshot);
+            assertEquals(expected, FORMATTER.format(snapshot), () -> "Snapshot " + snapshot.toJson());
+            assertEquals(expected, formatToWriter(snapshot), () -> "Snapshot " + snapshot.toJson());
+        }
+    }
+
+    @Test
+    void formatLinesMatchesBaseline() throws IOException {
+        Random random = new Random(19);
+        for (int i = 0; i < 5_000; i++) {
+            String text = randomField(random) + "\n" + randomField(random) + (random.nextBoolean() ? "\n\n" : "");
+            String condition = randomField(random);
+            StringBuilder out = new StringBuilder();
+            FORMATTER.formatLines(text, condition, out);
+            assertEquals(formatWeatherTextWithSymbols(text, condition), out.toString(), text);
+        }
+    }
+}
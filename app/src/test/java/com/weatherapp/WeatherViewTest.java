@@ -0,0 +1,73 @@
+package com.weatherapp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.awt.Font;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+// The view only touches components whose text or visibility actually changes
+class WeatherViewTest {
+    @BeforeAll
+    static void headless() {
+        System.setProperty("java.awt.headless", "true");
+    }
+
+    private static InputStream stream(String resource) {
+        return new ByteArrayInputStream(StubWeatherApi.resource(resource).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static WeatherSnapshot recordedSnapshot(WeatherSnapshot.AirQualityStatus status) throws IOException {
+        CurrentConditions current = WeatherStreamParser.parseCurrentWeather(stream("/payloads/weather.json"));
+        List<ForecastEntry> forecast = WeatherStreamParser.parseForecast(stream("/payloads/forecast.json"));
+        AirQuality airQuality = status == WeatherSnapshot.AirQualityStatus.AVAILABLE ?
+                WeatherStreamParser.parseAirPollution(stream("/payloads/air_pollution.json")) : null;
+        return new WeatherSnapshot("London", 1728987600000L, current, forecast, airQuality, status);
+    }
+
+    private static WeatherView view() {
+        return new WeatherView(WeatherSymbols.WEATHER_MATCHER, WeatherSymbols.DEFAULT_WEATHER_SYMBOL,
+                new Font(Font.MONOSPACED, Font.PLAIN, 12));
+    }
+
+    @Test
+    void repeatedSnapshotUpdatesNothing() throws IOException {
+        WeatherView view = view();
+        WeatherSnapshot snapshot = recordedSnapshot(WeatherSnapshot.AirQualityStatus.AVAILABLE);
+
+        // Current: location text and visibility, four lines, section shown (7). Forecast: five
+        // rows added and filled, section shown (11). Air quality: four pollutants, note hidden,
+        // section shown (6).
+        view.showSnapshot(snapshot);
+        assertEquals(24, view.getUpdates());
+
+        view.showSnapshot(recordedSnapshot(WeatherSnapshot.AirQualityStatus.AVAILABLE));
+        assertEquals(24, view.getUpdates());
+
+        // Pollutant rows give way to the note: four hidden, one note set and shown
+        view.showAirQuality(null, WeatherSnapshot.AirQualityStatus.NO_DATA);
+        assertEquals(30, view.getUpdates());
+        view.showAirQuality(null, WeatherSnapshot.AirQualityStatus.NO_DATA);
+        assertEquals(30, view.getUpdates());
+    }
+
+    @Test
+    void refetchOfSameCityKeepsRows() throws IOException {
+        WeatherView view = view();
+        WeatherSnapshot snapshot = recordedSnapshot(WeatherSnapshot.AirQualityStatus.AVAILABLE);
+        view.showSnapshot(snapshot);
+        long shown = view.getUpdates();
+
+        // The status line comes and goes; the weather underneath is left alone
+        view.beginFetch(" london");
+        assertEquals(shown + 2, view.getUpdates());
+        view.showSnapshot(snapshot);
+        assertEquals(shown + 3, view.getUpdates());
+    }
+}
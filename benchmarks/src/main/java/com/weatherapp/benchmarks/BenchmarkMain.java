@@ -0,0 +1,40 @@
+package com.weatherapp.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+
+// Runs JMH with the usual command line. Unless -rf or -rff is given, results are also
+// written as JSON to benchmarks/results/jmh-<timestamp>.json so runs can be compared later
+public final class BenchmarkMain {
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        boolean listOnly = options.contains("-l") || options.contains("-h") || options.contains("-lp");
+        if (!listOnly && !options.contains("-rf") && !options.contains("-rff")) {
+            Path results = resultsFile();
+            options.add("-rf");
+            options.add("json");
+            options.add("-rff");
+            options.add(results.toString());
+            System.out.println("JSON results: " + results);
+        }
+        Main.main(options.toArray(new String[0]));
+    }
+
+    private static Path resultsFile() throws IOException {
+        Path directory = Path.of(System.getProperty("weather.bench.resultsDir", "benchmarks/results"));
+        Files.createDirectories(directory);
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        return directory.resolve("jmh-" + timestamp + ".json");
+    }
+}
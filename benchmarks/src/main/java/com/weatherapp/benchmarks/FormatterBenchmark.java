@@ -0,0 +1,59 @@
+package com.weatherapp.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.weatherapp.WeatherParser;
+import com.weatherapp.WeatherSnapshot;
+import com.weatherapp.WeatherSymbols;
+import com.weatherapp.WeatherTextFormatter;
+
+// Weather display text for a full snapshot: the one-pass formatter against the original
+// approach of formatting WeatherParser's text and then prefixing it line by line
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FormatterBenchmark {
+    private final WeatherTextFormatter formatter =
+            new WeatherTextFormatter(WeatherSymbols.WEATHER_MATCHER, WeatherSymbols.DEFAULT_WEATHER_SYMBOL);
+    private final StringBuilder out = new StringBuilder(4096);
+    private WeatherSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        snapshot = Payloads.snapshot();
+    }
+
+    @Benchmark
+    public int onePass() {
+        out.setLength(0);
+        formatter.format(snapshot, out);
+        return out.length();
+    }
+
+    @Benchmark
+    public int lineByLine() throws IOException {
+        out.setLength(0);
+        String weatherCondition = snapshot.getConditionSummary();
+        out.append("📍 Location: ").append(snapshot.getCity()).append("\n\n");
+        formatter.formatLines(WeatherParser.formatCurrentWeather(snapshot.getCurrent()), weatherCondition, out);
+        out.append('\n');
+        formatter.formatLines(WeatherParser.formatForecast(snapshot.getForecast()), weatherCondition, out);
+        out.append('\n').append(snapshot.formatAirPollution());
+        return out.length();
+    }
+}
@@ -0,0 +1,68 @@
+package com.weatherapp.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.weatherapp.AirQuality;
+import com.weatherapp.CurrentConditions;
+import com.weatherapp.ForecastEntry;
+import com.weatherapp.WeatherParser;
+import com.weatherapp.WeatherStreamParser;
+
+// Response parsing from raw bytes, as the fetch pipeline does it: the streaming parser
+// (default) and the org.json DOM parser (-Dweather.parser=dom)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+    @Benchmark
+    public CurrentConditions currentStreaming() throws IOException {
+        return WeatherStreamParser.parseCurrentWeather(new ByteArrayInputStream(Payloads.WEATHER));
+    }
+
+    @Benchmark
+    public CurrentConditions currentDom() {
+        return WeatherParser.parseCurrentWeather(dom(Payloads.WEATHER));
+    }
+
+    @Benchmark
+    public List<ForecastEntry> forecastStreaming() throws IOException {
+        return WeatherStreamParser.parseForecast(new ByteArrayInputStream(Payloads.FORECAST));
+    }
+
+    @Benchmark
+    public List<ForecastEntry> forecastDom() {
+        return WeatherParser.parseForecast(dom(Payloads.FORECAST));
+    }
+
+    @Benchmark
+    public AirQuality airPollutionStreaming() throws IOException {
+        return WeatherStreamParser.parseAirPollution(new ByteArrayInputStream(Payloads.AIR_POLLUTION));
+    }
+
+    @Benchmark
+    public AirQuality airPollutionDom() {
+        return WeatherParser.parseAirPollution(dom(Payloads.AIR_POLLUTION));
+    }
+
+    private static JSONObject dom(byte[] body) {
+        return new JSONObject(new JSONTokener(new InputStreamReader(new ByteArrayInputStream(body),
+                StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,48 @@
+package com.weatherapp.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import com.weatherapp.AirQuality;
+import com.weatherapp.CurrentConditions;
+import com.weatherapp.ForecastEntry;
+import com.weatherapp.WeatherSnapshot;
+import com.weatherapp.WeatherStreamParser;
+
+// Recorded OpenWeather responses for London (one /weather, a 40-entry /forecast and one
+// /air_pollution), bundled with the benchmarks so every run parses the same bytes
+final class Payloads {
+    static final byte[] WEATHER = read("weather.json");
+    static final byte[] FORECAST = read("forecast.json");
+    static final byte[] AIR_POLLUTION = read("air_pollution.json");
+
+    private Payloads() {
+    }
+
+    // Snapshot as the fetch pipeline builds it from the three responses
+    static WeatherSnapshot snapshot() {
+        try {
+            CurrentConditions current = WeatherStreamParser.parseCurrentWeather(new ByteArrayInputStream(WEATHER));
+            List<ForecastEntry> forecast = WeatherStreamParser.parseForecast(new ByteArrayInputStream(FORECAST));
+            AirQuality air = WeatherStreamParser.parseAirPollution(new ByteArrayInputStream(AIR_POLLUTION));
+            return new WeatherSnapshot("London", 1728987600000L, current, forecast, air,
+                    WeatherSnapshot.AirQualityStatus.AVAILABLE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] read(String name) {
+        try (InputStream in = Payloads.class.getResourceAsStream("/payloads/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing payload " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
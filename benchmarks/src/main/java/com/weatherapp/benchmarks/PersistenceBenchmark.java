@@ -0,0 +1,120 @@
+package com.weatherapp.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.weatherapp.AppStateStore;
+import com.weatherapp.StateJournal;
+import com.weatherapp.WeatherSnapshot;
+
+// The save/load cycle of weather_data.json: snapshot JSON on its own, and the state store
+// writing (with fsync) and reading the state, either as one snapshot file rewritten on every
+// save or as a journal of mutations that is compacted into the snapshot now and then
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PersistenceBenchmark {
+    private WeatherSnapshot snapshot;
+    private String snapshotJson;
+
+    // A state file holding todoItems to-do items, the snapshot and two suggestions
+    @State(Scope.Thread)
+    public static class StoreState {
+        // Journal records folded into a new snapshot, as -Dweather.journal.compactRecords defaults to
+        private static final int COMPACT_THRESHOLD = 1_000;
+
+        @Param({"100", "10000"})
+        public int todoItems;
+
+        @Param({"snapshot", "journal"})
+        public String persistence;
+
+        private Path directory;
+        private AppStateStore store;
+        private final List<String> suggestions = new ArrayList<>(List.of("☔ Take an umbrella", "🧥 Wear a warm jacket"));
+        private int saves;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            directory = Files.createTempDirectory("weather-bench");
+            Path file = directory.resolve("weather_data.json");
+            store = persistence.equals("journal") ?
+                    new AppStateStore(file, 0, Long.MAX_VALUE, new StateJournal(Path.of(file + ".journal")),
+                            COMPACT_THRESHOLD) :
+                    new AppStateStore(file, 0, Long.MAX_VALUE);
+            store.load();
+            for (int i = 0; i < todoItems; i++) {
+                store.addTodoItem("To-do item number " + i);
+            }
+            store.setWeather(Payloads.snapshot());
+            store.setSuggestions(suggestions);
+            store.flush();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            store.close();
+            try (var files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        snapshot = Payloads.snapshot();
+        snapshotJson = snapshot.toJson().toString();
+    }
+
+    @Benchmark
+    public String snapshotToJson() {
+        return snapshot.toJson().toString();
+    }
+
+    @Benchmark
+    public WeatherSnapshot snapshotFromJson() {
+        return WeatherSnapshot.fromJson(new JSONObject(snapshotJson));
+    }
+
+    // One mutation written to disk and fsynced, as a flush after any change does. In journal
+    // mode this should stay flat as todoItems grows, compactions included.
+    @Benchmark
+    public long save(StoreState state) {
+        state.suggestions.set(1, "🧥 Wear a warm jacket " + state.saves++);
+        state.store.setSuggestions(state.suggestions);
+        state.store.flush();
+        return state.store.getWriteCount();
+    }
+
+    // Read the snapshot and, in journal mode, replay the records written since it
+    @Benchmark
+    public int load(StoreState state) {
+        state.store.load();
+        return state.store.getTodoItems().size();
+    }
+}
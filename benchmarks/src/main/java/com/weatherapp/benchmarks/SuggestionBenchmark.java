@@ -0,0 +1,63 @@
+package com.weatherapp.benchmarks;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.weatherapp.CurrentConditions;
+import com.weatherapp.WeatherSuggestions;
+
+// Suggestions for current conditions from the bundled rule file, cycling through weather
+// that fires different rules. With no rule file the bundled rules are used, and the file
+// is checked for at most once an hour, so nearly all the time goes to evaluation.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SuggestionBenchmark {
+    private final List<String> out = new ArrayList<>();
+    private WeatherSuggestions suggestions;
+    private CurrentConditions[] conditions;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        suggestions = new WeatherSuggestions(Path.of("no-such-rules-file.json"), TimeUnit.HOURS.toMillis(1));
+        conditions = new CurrentConditions[]{
+                Payloads.snapshot().getCurrent(),
+                new CurrentConditions(31.5, 40, 2.1, 800, "Clear", "clear sky", 0, 0),
+                new CurrentConditions(-4.0, 85, 7.5, 601, "Snow", "snow", 0, 0),
+                new CurrentConditions(18.0, 92, 12.4, 211, "Thunderstorm", "thunderstorm", 0, 0),
+                new CurrentConditions(9.0, 99, 1.0, 741, "Fog", "fog", 0, 0)
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        suggestions.close();
+    }
+
+    @Benchmark
+    public int forConditions() {
+        CurrentConditions current = conditions[next];
+        next = (next + 1) % conditions.length;
+        out.clear();
+        suggestions.forConditions(current, out);
+        return out.size();
+    }
+}
@@ -0,0 +1,82 @@
+package com.weatherapp.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.weatherapp.WeatherSymbols;
+
+// Keyword lookup of the symbol for a to-do item or suggestion, and of the weather symbol
+// for a condition; texts cycle so no single branch is trained. The containsLoop benchmarks
+// run the per-keyword lowercase-and-contains() scan the matcher replaced, as a baseline.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SymbolBenchmark {
+    private static final String[] ITEMS = {
+            "Buy groceries for the week", "Go for a run before it rains", "Finish the quarterly report",
+            "Call the doctor about the appointment", "Water the garden", "Read two chapters",
+            "Reply to every email from Monday", "Pick up the dry cleaning", "Plan the summer vacation",
+            "Fix the bike chain", "Walk the dog", "Something with no keyword at all"
+    };
+    private static final String[] CONDITIONS = {
+            "Rain - light rain", "Clouds - overcast clouds", "Clear - clear sky", "Snow - heavy snow",
+            "Mist - mist", "Thunderstorm - thunderstorm with drizzle", "Drizzle - light intensity drizzle"
+    };
+
+    private static final Map<String, String> SUGGESTION_SYMBOLS = WeatherSymbols.suggestionSymbols();
+    private static final Map<String, String> WEATHER_SYMBOLS = WeatherSymbols.weatherSymbols();
+
+    private int nextItem;
+    private int nextCondition;
+
+    @Benchmark
+    public String findMostRelevantSymbol() {
+        String item = ITEMS[nextItem];
+        nextItem = (nextItem + 1) % ITEMS.length;
+        return WeatherSymbols.findMostRelevantSymbol(item);
+    }
+
+    @Benchmark
+    public String weatherSymbol() {
+        String condition = CONDITIONS[nextCondition];
+        nextCondition = (nextCondition + 1) % CONDITIONS.length;
+        return WeatherSymbols.WEATHER_MATCHER.findBest(condition, WeatherSymbols.DEFAULT_WEATHER_SYMBOL);
+    }
+
+    @Benchmark
+    public String findMostRelevantSymbolContainsLoop() {
+        String item = ITEMS[nextItem];
+        nextItem = (nextItem + 1) % ITEMS.length;
+        return containsLoop(SUGGESTION_SYMBOLS, item, null);
+    }
+
+    @Benchmark
+    public String weatherSymbolContainsLoop() {
+        String condition = CONDITIONS[nextCondition];
+        nextCondition = (nextCondition + 1) % CONDITIONS.length;
+        return containsLoop(WEATHER_SYMBOLS, condition, WeatherSymbols.DEFAULT_WEATHER_SYMBOL);
+    }
+
+    private static String containsLoop(Map<String, String> symbols, String text, String fallback) {
+        String lower = text.toLowerCase();
+        for (Map.Entry<String, String> entry : symbols.entrySet()) {
+            if (lower.contains(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return fallback;
+    }
+}
@@ -0,0 +1,86 @@
+package com.weatherapp.benchmarks;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JList;
+import javax.swing.JScrollPane;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.weatherapp.TodoListModel;
+import com.weatherapp.WeatherSymbols;
+
+// Loading a saved to-do list into a fresh model, alone and followed by the first layout and
+// paint of a 400x500 scroll pane set up like the app's (fixed cell size), headless. Every
+// invocation starts from a new model, so no symbol has been looked up yet.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class TodoListBenchmark {
+    private static final String[] ITEMS = {
+            "Buy groceries for the week", "Go for a run before it rains", "Finish the quarterly report",
+            "Call the doctor about the appointment", "Water the garden", "Read two chapters",
+            "Reply to every email from Monday", "Pick up the dry cleaning", "Plan the summer vacation",
+            "Fix the bike chain", "Walk the dog", "Something with no keyword at all"
+    };
+
+    @Param({"10000", "100000"})
+    public int items;
+
+    private List<String> saved;
+    private BufferedImage image;
+
+    @Setup
+    public void setUp() {
+        saved = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            saved.add(ITEMS[i % ITEMS.length] + " #" + i);
+        }
+        image = new BufferedImage(400, 500, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    @Benchmark
+    public TodoListModel load() {
+        TodoListModel model = new TodoListModel(WeatherSymbols::forTodo);
+        model.addAll(saved);
+        return model;
+    }
+
+    @Benchmark
+    public long loadAndPaint() {
+        TodoListModel model = load();
+        JList<String> list = new JList<>(model);
+        list.setFont(new Font("Segoe UI Emoji", Font.PLAIN, 18));
+        list.setFixedCellHeight(list.getFontMetrics(list.getFont()).getHeight() + 4);
+        list.setFixedCellWidth(320);
+        JScrollPane scrollPane = new JScrollPane(list);
+        scrollPane.setSize(400, 500);
+        scrollPane.validate();
+
+        Graphics2D g = image.createGraphics();
+        try {
+            scrollPane.paint(g);
+        } finally {
+            g.dispose();
+        }
+        return model.getSymbolLookups();
+    }
+}
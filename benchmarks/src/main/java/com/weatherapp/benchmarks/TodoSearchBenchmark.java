@@ -0,0 +1,79 @@
+package com.weatherapp.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.weatherapp.TodoSearchIndex;
+
+// Searching 100k to-do items as the search box does, cycling through word-prefix and
+// substring queries from common to absent. The scan benchmark checks every item with
+// TodoSearchIndex.matches, which is what filtering cost without the index, as a baseline.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TodoSearchBenchmark {
+    private static final String[] WORDS = {
+            "buy", "groceries", "for", "the", "week", "go", "run", "before", "it", "rains", "finish",
+            "quarterly", "report", "call", "doctor", "about", "appointment", "water", "garden", "read",
+            "two", "chapters", "reply", "email", "monday", "pick", "up", "dry", "cleaning", "plan",
+            "summer", "vacation", "fix", "bike", "chain", "walk", "dog"
+    };
+    private static final String[] QUERIES = {"r", "ga", "rain", "doctor", "bike chain", "vacation plan", "zebra"};
+
+    @Param({"100000"})
+    public int items;
+
+    private TodoSearchIndex index;
+    private String[] texts;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        index = new TodoSearchIndex();
+        texts = new String[items];
+        for (int id = 0; id < items; id++) {
+            StringBuilder text = new StringBuilder();
+            for (int words = 2 + random.nextInt(5); words > 0; words--) {
+                text.append(WORDS[random.nextInt(WORDS.length)]).append(words > 1 ? " " : "");
+            }
+            texts[id] = text.toString();
+            index.add(id, texts[id]);
+        }
+    }
+
+    @Benchmark
+    public int search() {
+        String query = QUERIES[next];
+        next = (next + 1) % QUERIES.length;
+        return index.search(query).length;
+    }
+
+    @Benchmark
+    public int scan() {
+        String query = QUERIES[next];
+        next = (next + 1) % QUERIES.length;
+        int found = 0;
+        for (String text : texts) {
+            if (TodoSearchIndex.matches(text, query)) {
+                found++;
+            }
+        }
+        return found;
+    }
+}